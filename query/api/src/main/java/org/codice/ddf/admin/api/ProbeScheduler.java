@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Schedules the outbound probes of the admin console, such as the requests sent to discover a
+ * source. A single instance is shared through the service registry, so its concurrency limits apply
+ * to the probes of all callers.
+ */
+public interface ProbeScheduler {
+
+  /**
+   * Creates a queue for the probes a single caller sends to a host. Queues are served in turn, so a
+   * caller submitting many probes does not hold back the probes of other callers. Probes submitted
+   * to the queue may be cancelled through their {@link java.util.concurrent.Future} once the caller
+   * no longer needs their results.
+   *
+   * <p>Probes of a queue are started in the order they were submitted, and at most {@code
+   * maxConcurrentProbes} of them run at once.
+   *
+   * @param host host the probes are sent to, used to limit the amount of concurrent probes per host
+   * @param maxConcurrentProbes maximum amount of probes of the queue running at once, must be
+   *     positive
+   * @return an executor queuing the probes of the caller
+   */
+  Executor newProbeQueue(String host, int maxConcurrentProbes);
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api;
+
+import java.util.function.Supplier;
+
+/**
+ * Memoizes lookups, such as service registry or configuration reads, for the duration of a single
+ * request. Functions executed by the same request share the cache, so identical lookups are only
+ * performed once per request.
+ */
+public interface RequestCache {
+
+  /**
+   * Returns the value cached for the {@code key}, loading it with the {@code loader} if the key has
+   * not been looked up yet during the request.
+   *
+   * @param key identifies the lookup, must implement {@code equals} and {@code hashCode}
+   * @param loader performs the lookup
+   * @param <T> type of the value
+   * @return the cached or loaded value, which may be null
+   */
+  <T> T get(Object key, Supplier<T> loader);
+}
@@ -16,7 +16,11 @@ package org.codice.ddf.admin.api.fields;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.RequestCache;
 import org.codice.ddf.admin.api.report.FunctionReport;
 
 /**
@@ -38,6 +42,30 @@ public interface FunctionField<T extends Field> {
 
   FunctionReport<T> execute(Map<String, Object> args, List<Object> functionPath);
 
+  /**
+   * Executes the function as part of a request. Lookups memoized in the {@code requestCache} are
+   * shared with the other functions executed by the same request.
+   */
+  default FunctionReport<T> execute(
+      Map<String, Object> args, List<Object> functionPath, RequestCache requestCache) {
+    return execute(args, functionPath);
+  }
+
+  /**
+   * Executes the function asynchronously as part of a request. The work of the function is run on
+   * the {@code executor}, so independent functions of the same request can run concurrently.
+   *
+   * @param executor executor to run the function on
+   * @return a stage completed with the report of the execution
+   */
+  default CompletionStage<FunctionReport<T>> executeAsync(
+      Map<String, Object> args,
+      List<Object> functionPath,
+      RequestCache requestCache,
+      Executor executor) {
+    return CompletableFuture.supplyAsync(() -> execute(args, functionPath, requestCache), executor);
+  }
+
   FunctionField<T> newInstance();
 
   List<Object> getPath();
@@ -15,4 +15,18 @@ package org.codice.ddf.admin.api.report;
 
 import org.codice.ddf.admin.api.Field;
 
-public interface FunctionReport<T extends Field> extends Report<T> {}
+/**
+ * The {@link Report} of a function execution. In addition to the result or errors, it records how
+ * long the phases of the execution took.
+ */
+public interface FunctionReport<T extends Field> extends Report<T> {
+
+  /** @return the time spent setting and validating the arguments, in nanoseconds */
+  long getValidationTimeNanos();
+
+  /**
+   * @return the time spent performing the function, in nanoseconds. 0 if the function was not
+   *     performed because the arguments were invalid.
+   */
+  long getPerformFunctionTimeNanos();
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import java.io.IOException;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, accepting the same arguments as {@link org.openjdk.jmh.Main}. Unless a
+ * different result format or file is requested, the results are written as JSON to {@value
+ * #DEFAULT_RESULT_FILE} so they can be compared between builds.
+ */
+public class BenchmarkRunner {
+
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  private BenchmarkRunner() {}
+
+  public static void main(String[] args)
+      throws CommandLineOptionException, RunnerException, IOException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+    if (commandLineOptions.shouldHelp()) {
+      commandLineOptions.showHelp();
+      return;
+    }
+
+    if (commandLineOptions.shouldList()) {
+      new Runner(commandLineOptions).list();
+      return;
+    }
+
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(commandLineOptions);
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (!commandLineOptions.getResult().hasValue()) {
+      options.result(DEFAULT_RESULT_FILE);
+    }
+
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.admin.common.fields.test.TestObjectField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures setting, validating and sanitizing the values of nested {@link
+ * org.codice.ddf.admin.common.fields.base.BaseObjectField}s, and setting the values of large {@link
+ * org.codice.ddf.admin.common.fields.base.BaseListField}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldModelBenchmark {
+
+  private Map<String, Object> objectValue;
+
+  private TestObjectField populatedObject;
+
+  @Setup
+  public void setup() {
+    populatedObject = TestObjectField.createSampleTestObject();
+    populatedObject.setPath(FunctionInvocationBenchmark.FUNCTION_PATH);
+    objectValue = populatedObject.getValue();
+  }
+
+  @Benchmark
+  public TestObjectField objectSetValue() {
+    TestObjectField field = new TestObjectField();
+    field.setValue(objectValue);
+    return field;
+  }
+
+  @Benchmark
+  public List objectValidate() {
+    return populatedObject.validate();
+  }
+
+  @Benchmark
+  public Map<String, Object> objectGetSanitizedValue() {
+    return populatedObject.getSanitizedValue();
+  }
+
+  @Benchmark
+  public TestObjectField.ListImpl listSetValue(ListValue listValue) {
+    TestObjectField.ListImpl field = new TestObjectField.ListImpl();
+    field.setValue(listValue.entries);
+    return field;
+  }
+
+  @State(Scope.Benchmark)
+  public static class ListValue {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private List<Object> entries;
+
+    @Setup
+    public void setup() {
+      Map<String, Object> entry = TestObjectField.createSampleTestObject().getValue();
+
+      entries = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        entries.add(entry);
+      }
+    }
+  }
+}
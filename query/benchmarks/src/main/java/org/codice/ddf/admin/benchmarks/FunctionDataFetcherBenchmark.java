@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import graphql.execution.ExecutionPath;
+import graphql.execution.ExecutionTypeInfo;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentBuilder;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.servlet.GraphQLContext;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.graphql.AdminGraphQLContext;
+import org.codice.ddf.admin.graphql.transform.GraphQLTransformOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link GraphQLTransformOutput#functionDataFetcher(DataFetchingEnvironment,
+ * FunctionField)} end to end, from the GraphQL arguments to the sanitized result, for a function
+ * reading services from a {@link StubConfiguratorSuite}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionDataFetcherBenchmark {
+
+  @Param({"10", "100"})
+  private int serviceCount;
+
+  private GraphQLTransformOutput transformOutput;
+
+  private FunctionField<Field> function;
+
+  private GraphQLObjectType queryType;
+
+  private GraphQLSchema schema;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    Set<String> services = new TreeSet<>();
+    for (int i = 0; i < serviceCount; i++) {
+      services.add("service" + i);
+    }
+
+    function = (FunctionField) new ServiceLookupFunction(new StubConfiguratorSuite(services));
+    transformOutput = new GraphQLTransformOutput();
+
+    GraphQLFieldDefinition functionDefinition =
+        transformOutput.functionToGraphQLFieldDefinition(function);
+    queryType = GraphQLObjectType.newObject().name("Query").field(functionDefinition).build();
+    schema = GraphQLSchema.newSchema().query(queryType).build();
+  }
+
+  @Benchmark
+  public Object functionDataFetcher() {
+    return transformOutput
+        .functionDataFetcher(newEnvironment(), function)
+        .toCompletableFuture()
+        .join();
+  }
+
+  // The context holds the request cache, so every invocation gets a new one like every operation
+  private DataFetchingEnvironment newEnvironment() {
+    return DataFetchingEnvironmentBuilder.newDataFetchingEnvironment()
+        .arguments(Collections.emptyMap())
+        .context(new AdminGraphQLContext(new GraphQLContext(Optional.empty(), Optional.empty())))
+        .parentType(queryType)
+        .graphQLSchema(schema)
+        .fieldTypeInfo(
+            ExecutionTypeInfo.newTypeInfo()
+                .type(queryType.getFieldDefinition(ServiceLookupFunction.FUNCTION_NAME).getType())
+                .path(ExecutionPath.rootPath().segment(ServiceLookupFunction.FUNCTION_NAME))
+                .build())
+        .build();
+  }
+}
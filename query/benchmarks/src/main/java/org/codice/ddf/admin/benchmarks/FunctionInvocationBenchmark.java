@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.api.report.FunctionReport;
+import org.codice.ddf.admin.common.fields.test.TestFieldProvider;
+import org.codice.ddf.admin.common.fields.test.TestObjectField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a single function invocation the way the GraphQL data fetcher performs it: creating a
+ * new instance of the function, then setting the arguments and path, validating and performing it.
+ *
+ * <p>Run with the GC profiler to see the bytes allocated per invocation ({@code
+ * gc.alloc.rate.norm}):
+ *
+ * <pre>
+ * mvn install -P benchmarks
+ * java -jar query/benchmarks/target/benchmarks.jar FunctionInvocationBenchmark -prof gc
+ * </pre>
+ *
+ * <p>The results are written to {@code jmh-result.json} in the working directory, see {@link
+ * BenchmarkRunner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FunctionInvocationBenchmark {
+
+  static final List<Object> FUNCTION_PATH = Arrays.asList("testing", "function");
+
+  private FunctionField objectArgFunction;
+
+  private FunctionField multipleArgsFunction;
+
+  private Map<String, Object> objectArgs;
+
+  private Map<String, Object> missingObjectArgs;
+
+  private Map<String, Object> multipleArgs;
+
+  @Setup
+  public void setup() {
+    objectArgFunction = new TestFieldProvider.RequiredArgsFunction();
+    multipleArgsFunction = new TestFieldProvider.MultiArgFunction();
+
+    TestObjectField sample = TestObjectField.createSampleTestObject();
+    objectArgs = ImmutableMap.of(TestObjectField.FIELD_NAME, sample.getValue());
+    missingObjectArgs = Collections.emptyMap();
+    multipleArgs =
+        ImmutableMap.<String, Object>builder()
+            .put(sample.getStringField().getFieldName(), TestObjectField.SAMPLE_STRING_VALUE)
+            .put(sample.getIntegerField().getFieldName(), TestObjectField.SAMPLE_INTEGER_VALUE)
+            .put(sample.getBooleanField().getFieldName(), TestObjectField.SAMPLE_BOOLEAN_VALUE)
+            .put(TestFieldProvider.LIST_FIELD_NAME, TestObjectField.SAMPLE_LIST_VALUE)
+            .put(sample.getEnumField().getFieldName(), TestObjectField.SAMPLE_ENUM)
+            .build();
+  }
+
+  @Benchmark
+  public FunctionReport objectArgument() {
+    return objectArgFunction.newInstance().execute(objectArgs, FUNCTION_PATH);
+  }
+
+  @Benchmark
+  public FunctionReport missingRequiredArguments() {
+    return objectArgFunction.newInstance().execute(missingObjectArgs, FUNCTION_PATH);
+  }
+
+  @Benchmark
+  public FunctionReport multipleArguments() {
+    return multipleArgsFunction.newInstance().execute(multipleArgs, FUNCTION_PATH);
+  }
+}
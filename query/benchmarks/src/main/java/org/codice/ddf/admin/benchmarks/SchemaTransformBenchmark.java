@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import graphql.schema.GraphQLFieldDefinition;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.admin.common.fields.test.TestFieldProvider;
+import org.codice.ddf.admin.graphql.transform.GraphQLTransformCommons;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures transforming a field provider to its GraphQL query definitions, both when every type has
+ * to be transformed and when the types are already cached from a previous transformation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaTransformBenchmark {
+
+  private TestFieldProvider fieldProvider;
+
+  private GraphQLTransformCommons transformCommons;
+
+  @Setup
+  public void setup() {
+    fieldProvider = new TestFieldProvider();
+    transformCommons = new GraphQLTransformCommons();
+    transformCommons.fieldProviderToQueries(fieldProvider);
+  }
+
+  @Benchmark
+  public List<GraphQLFieldDefinition> fieldProviderToQueriesUncached() {
+    return new GraphQLTransformCommons().fieldProviderToQueries(fieldProvider);
+  }
+
+  @Benchmark
+  public List<GraphQLFieldDefinition> fieldProviderToQueriesCached() {
+    return transformCommons.fieldProviderToQueries(fieldProvider);
+  }
+}
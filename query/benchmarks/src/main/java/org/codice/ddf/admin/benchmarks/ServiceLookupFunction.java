@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.common.fields.base.function.GetFunctionField;
+import org.codice.ddf.admin.common.fields.base.scalar.StringField;
+import org.codice.ddf.admin.common.services.CachingServiceReader;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
+
+/**
+ * Looks up the same services twice the way the source and security functions do, returning their
+ * string representations. The second lookup is served by the request cache.
+ */
+public class ServiceLookupFunction extends GetFunctionField<StringField.ListImpl> {
+
+  public static final String FUNCTION_NAME = "services";
+
+  public static final StringField.ListImpl RETURN_TYPE = new StringField.ListImpl();
+
+  private final ConfiguratorSuite configuratorSuite;
+
+  public ServiceLookupFunction(ConfiguratorSuite configuratorSuite) {
+    super(FUNCTION_NAME, "Returns the string representations of all services.");
+    this.configuratorSuite = configuratorSuite;
+  }
+
+  @Override
+  public StringField.ListImpl performFunction() {
+    ServiceReader serviceReader =
+        new CachingServiceReader(configuratorSuite.getServiceReader(), getRequestCache());
+
+    Set<Object> services = serviceReader.getServices(Object.class, null);
+    if (!serviceReader.getServices(Object.class, null).equals(services)) {
+      throw new IllegalStateException("Services changed during the request.");
+    }
+
+    List<String> values = services.stream().map(Object::toString).collect(Collectors.toList());
+
+    StringField.ListImpl result = new StringField.ListImpl();
+    result.setValue(values);
+    return result;
+  }
+
+  @Override
+  public StringField.ListImpl getReturnType() {
+    return RETURN_TYPE;
+  }
+
+  @Override
+  public Set<String> getFunctionErrorCodes() {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public FunctionField<StringField.ListImpl> newInstance() {
+    return new ServiceLookupFunction(configuratorSuite);
+  }
+}
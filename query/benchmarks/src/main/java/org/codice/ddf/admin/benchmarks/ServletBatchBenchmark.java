@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.net.HttpHeaders;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.ServletException;
+import org.codice.ddf.admin.common.fields.test.TestFieldProvider;
+import org.codice.ddf.admin.graphql.servlet.ExtendedOsgiGraphQLServlet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Measures a batched POST to the {@link ExtendedOsgiGraphQLServlet}, from parsing the request body
+ * to writing the response, for batches of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServletBatchBenchmark {
+
+  private static final String QUERY =
+      "query TestGetBaseValues { testing { getInteger getBoolean getString "
+          + "getList { integer boolean string list enumeration "
+          + "innerObjectField { testSubField testHidden } testHidden } getEnum } }";
+
+  private static final long SCHEMA_REFRESH_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+  @Param({"1", "10"})
+  private int batchSize;
+
+  private ExtendedOsgiGraphQLServlet servlet;
+
+  private byte[] requestContent;
+
+  @Setup
+  public void setup() throws JsonProcessingException, InterruptedException {
+    TestFieldProvider fieldProvider = new TestFieldProvider();
+
+    servlet = new ExtendedOsgiGraphQLServlet();
+    servlet.setFieldProviders(Collections.singletonList(fieldProvider));
+    servlet.setSchemaRefreshQuietPeriodMillis(1);
+    servlet.bindFieldProvider(fieldProvider);
+    awaitSchema();
+
+    List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      batch.add(ImmutableMap.of("query", QUERY));
+    }
+    requestContent = new ObjectMapper().writeValueAsBytes(batch);
+  }
+
+  @TearDown
+  public void tearDown() {
+    servlet.destroy();
+  }
+
+  @Benchmark
+  public MockHttpServletResponse doPost() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+    request.setContent(requestContent);
+    request.addHeader(HttpHeaders.CONTENT_LENGTH, requestContent.length);
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    servlet.service(request, response);
+    return response;
+  }
+
+  private void awaitSchema() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + SCHEMA_REFRESH_TIMEOUT_MILLIS;
+    while (servlet.getSchemaRebuildCount() == 0) {
+      if (System.currentTimeMillis() > deadline) {
+        throw new IllegalStateException("The GraphQL schema was not built in time.");
+      }
+      Thread.sleep(10);
+    }
+  }
+}
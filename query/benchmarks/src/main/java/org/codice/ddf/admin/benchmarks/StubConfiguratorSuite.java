@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.benchmarks;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.configurator.ConfiguratorFactory;
+import org.codice.ddf.internal.admin.configurator.actions.BundleActions;
+import org.codice.ddf.internal.admin.configurator.actions.FeatureActions;
+import org.codice.ddf.internal.admin.configurator.actions.ManagedServiceActions;
+import org.codice.ddf.internal.admin.configurator.actions.PropertyActions;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceActions;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
+
+/**
+ * A {@link ConfiguratorSuite} whose {@link ServiceReader} returns a fixed set of services, so that
+ * functions can be benchmarked without an OSGi container. All other actions are unavailable.
+ */
+public class StubConfiguratorSuite implements ConfiguratorSuite {
+
+  private final ServiceReader serviceReader;
+
+  public StubConfiguratorSuite(Set<?> services) {
+    Set<?> fixedServices = Collections.unmodifiableSet(new LinkedHashSet<>(services));
+    serviceReader =
+        new ServiceReader() {
+          @Override
+          @SuppressWarnings("unchecked")
+          public <S> Set<S> getServices(Class<S> serviceClass, String filter) {
+            return (Set<S>) fixedServices;
+          }
+
+          @Override
+          public <S> S getServiceReference(Class<S> serviceClass) {
+            return null;
+          }
+        };
+  }
+
+  @Override
+  public ConfiguratorFactory getConfiguratorFactory() {
+    return null;
+  }
+
+  @Override
+  public BundleActions getBundleActions() {
+    return null;
+  }
+
+  @Override
+  public FeatureActions getFeatureActions() {
+    return null;
+  }
+
+  @Override
+  public ManagedServiceActions getManagedServiceActions() {
+    return null;
+  }
+
+  @Override
+  public PropertyActions getPropertyActions() {
+    return null;
+  }
+
+  @Override
+  public ServiceActions getServiceActions() {
+    return null;
+  }
+
+  @Override
+  public ServiceReader getServiceReader() {
+    return serviceReader;
+  }
+}
@@ -19,13 +19,15 @@ import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apache.commons.lang.Validate;
+import org.codice.ddf.admin.common.concurrent.TaskExecutorFactory;
+import org.codice.ddf.admin.common.concurrent.TaskExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,12 +45,19 @@ public class PrioritizedBatchExecutor<T, R> {
 
   private static final int DEFAULT_WAIT_TIME_SEC = 60;
 
+  private static final String THREAD_NAME = "prioritized-batch";
+
+  private final Executor executor;
+
+  // Only set when the executor is owned by this instance
   private final ExecutorService threadPool;
 
   private final List<List<Callable<T>>> tasks;
 
   private final Function<T, R> taskHandler;
 
+  private final List<Future<T>> taskFutures = new ArrayList<>();
+
   /**
    * Creates a new {@code PrioritizedBatchExecutor}.
    *
@@ -63,9 +72,26 @@ public class PrioritizedBatchExecutor<T, R> {
    *     argument higher than 64 is detected, it will default to the max number of threads.
    * @param tasks a non-null {@code List} of tasks that will be executed in order
    * @param taskHandler a non-null task handler that determines if a task result is valid to return
+   * @see TaskExecutors#getDefault()
    */
   public PrioritizedBatchExecutor(
       int threadPoolSize, List<List<Callable<T>>> tasks, Function<T, R> taskHandler) {
+    this(TaskExecutors.getDefault(), threadPoolSize, tasks, taskHandler);
+  }
+
+  /**
+   * Creates a new {@code PrioritizedBatchExecutor} running its tasks on an executor created by the
+   * given factory. The {@code threadPoolSize} bounds the amount of tasks running at once.
+   *
+   * @param executorFactory a non-null factory creating the underlying {@code ExecutorService}
+   * @see #PrioritizedBatchExecutor(int, List, Function)
+   */
+  public PrioritizedBatchExecutor(
+      TaskExecutorFactory executorFactory,
+      int threadPoolSize,
+      List<List<Callable<T>>> tasks,
+      Function<T, R> taskHandler) {
+    Validate.notNull(executorFactory, "Argument {executorFactory} cannot be null.");
     Validate.notNull(tasks, "Argument {tasks} cannot be null.");
     Validate.notNull(taskHandler, "Argument {taskHandler} cannot be null.");
 
@@ -81,7 +107,33 @@ public class PrioritizedBatchExecutor<T, R> {
     this.tasks = tasks;
     this.taskHandler = taskHandler;
 
-    threadPool = Executors.newFixedThreadPool(threadPoolSize);
+    threadPool = executorFactory.newExecutor(THREAD_NAME, threadPoolSize);
+    executor = threadPool;
+  }
+
+  /**
+   * Creates a new {@code PrioritizedBatchExecutor} submitting its tasks to a shared executor, such
+   * as a queue of the {@link org.codice.ddf.admin.api.ProbeScheduler}. The executor is not shut
+   * down, instead the tasks still pending once a result is found are cancelled.
+   *
+   * <p>Each batch is only submitted once every task of the previous batch completed without a valid
+   * result, so lower priority tasks never run once a higher priority task succeeded. Batches not
+   * submitted before the wait time is exceeded are skipped.
+   *
+   * @param executor a non-null executor running the tasks
+   * @param tasks a non-null {@code List} of tasks that will be executed in order
+   * @param taskHandler a non-null task handler that determines if a task result is valid to return
+   */
+  public PrioritizedBatchExecutor(
+      Executor executor, List<List<Callable<T>>> tasks, Function<T, R> taskHandler) {
+    Validate.notNull(executor, "Argument {executor} cannot be null.");
+    Validate.notNull(tasks, "Argument {tasks} cannot be null.");
+    Validate.notNull(taskHandler, "Argument {taskHandler} cannot be null.");
+
+    this.executor = executor;
+    this.tasks = tasks;
+    this.taskHandler = taskHandler;
+    threadPool = null;
   }
 
   /**
@@ -116,10 +168,30 @@ public class PrioritizedBatchExecutor<T, R> {
       long totalWaitTimeMillis = TimeUnit.MILLISECONDS.convert(totalWaitTime, timeUnit);
       long endTime = System.currentTimeMillis() + totalWaitTimeMillis;
 
+      // An owned pool runs every batch at once, a shared executor one batch after the other
+      if (threadPool != null) {
+        for (int i = 0; i < tasks.size(); i++) {
+          submitBatch(i, prioritizedCompletionServices.get(i));
+        }
+      }
+
       for (int i = 0; i < tasks.size(); i++) {
         LOGGER.debug("Executing batch {}.", i + 1);
 
         CompletionService<T> completionService = prioritizedCompletionServices.get(i);
+        if (threadPool == null) {
+          if (System.currentTimeMillis() >= endTime) {
+            LOGGER.debug(
+                "\tExceeded max wait time of {} {}. Skipping remaining batches.",
+                totalWaitTime,
+                timeUnit.toString());
+
+            return Optional.empty();
+          }
+
+          submitBatch(i, completionService);
+        }
+
         int currentBatchSize = tasks.get(i).size();
 
         long lastBatchPollTime = System.currentTimeMillis();
@@ -183,19 +255,19 @@ public class PrioritizedBatchExecutor<T, R> {
   private List<CompletionService<T>> getPrioritizedCompletionServices() {
     List<CompletionService<T>> prioritizedCompletionServices = new ArrayList<>();
 
-    for (List<Callable<T>> taskBatch : tasks) {
-      CompletionService<T> completionService = new ExecutorCompletionService<>(threadPool);
-
-      for (Callable<T> task : taskBatch) {
-        completionService.submit(task);
-      }
-
-      prioritizedCompletionServices.add(completionService);
+    for (int i = 0; i < tasks.size(); i++) {
+      prioritizedCompletionServices.add(new ExecutorCompletionService<>(executor));
     }
 
     return prioritizedCompletionServices;
   }
 
+  private void submitBatch(int batchIndex, CompletionService<T> completionService) {
+    for (Callable<T> task : tasks.get(batchIndex)) {
+      taskFutures.add(completionService.submit(task));
+    }
+  }
+
   private Optional<R> handleTaskResult(Future<T> future) {
     if (future == null) {
       return Optional.empty();
@@ -218,7 +290,12 @@ public class PrioritizedBatchExecutor<T, R> {
   }
 
   private void cleanUp() {
-    LOGGER.debug("Shutting down ExecutionService.");
-    threadPool.shutdownNow();
+    if (threadPool != null) {
+      LOGGER.debug("Shutting down ExecutionService.");
+      threadPool.shutdownNow();
+    } else {
+      LOGGER.debug("Cancelling remaining tasks.");
+      taskFutures.forEach(future -> future.cancel(true));
+    }
   }
 }
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs at most {@code parallelism} tasks of a delegate executor at once. Further tasks wait in an
+ * unbounded queue, the same way they wait for a thread of a fixed size thread pool. Used to bound
+ * executors that create a new thread per task.
+ */
+final class BoundedExecutorService extends AbstractExecutorService {
+
+  private final ExecutorService delegate;
+
+  private final Semaphore permits;
+
+  private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+
+  private volatile boolean shutdown;
+
+  BoundedExecutorService(ExecutorService delegate, int parallelism) {
+    this.delegate = delegate;
+    this.permits = new Semaphore(parallelism);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Executor has been shut down.");
+    }
+
+    pendingTasks.add(command);
+    submitPendingTasks();
+  }
+
+  // Tasks are queued before a permit is acquired and permits are released before the queue is
+  // checked, so a queued task is always picked up by either the caller or a completing task
+  private void submitPendingTasks() {
+    while (!pendingTasks.isEmpty() && permits.tryAcquire()) {
+      Runnable task = pendingTasks.poll();
+      if (task == null) {
+        permits.release();
+        continue;
+      }
+
+      try {
+        delegate.execute(() -> runAndSubmitPendingTasks(task));
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+    }
+
+    if (shutdown && pendingTasks.isEmpty()) {
+      delegate.shutdown();
+    }
+  }
+
+  private void runAndSubmitPendingTasks(Runnable task) {
+    try {
+      task.run();
+    } finally {
+      permits.release();
+      submitPendingTasks();
+    }
+  }
+
+  /** Previously submitted tasks are still executed, the delegate is shut down once they started. */
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    submitPendingTasks();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> tasks = new ArrayList<>();
+    for (Runnable task = pendingTasks.poll(); task != null; task = pendingTasks.poll()) {
+      tasks.add(task);
+    }
+    tasks.addAll(delegate.shutdownNow());
+    return tasks;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && pendingTasks.isEmpty() && delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
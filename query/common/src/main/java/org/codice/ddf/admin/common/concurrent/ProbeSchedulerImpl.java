@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.commons.lang.Validate;
+import org.codice.ddf.admin.api.ProbeScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-lived {@link ProbeScheduler} running probes on an executor created by a {@link
+ * TaskExecutorFactory}. At most {@code maxConcurrentProbes} probes run at once, and at most {@code
+ * maxConcurrentProbesPerHost} of them against the same host. Waiting probes are kept in the queue
+ * of their caller, and the queues are served round-robin. A queue that is at its own limit, or
+ * whose host is at its limit, is skipped until one of the probes holding that limit completes.
+ */
+public class ProbeSchedulerImpl implements ProbeScheduler, ProbeSchedulerMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProbeSchedulerImpl.class);
+
+  private static final String OBJECT_NAME = "org.codice.ddf.admin:type=ProbeScheduler";
+
+  private static final String THREAD_NAME = "admin-probe";
+
+  public static final int DEFAULT_MAX_CONCURRENT_PROBES = 64;
+
+  public static final int DEFAULT_MAX_CONCURRENT_PROBES_PER_HOST = 8;
+
+  private final Object lock = new Object();
+
+  private final ExecutorService executor;
+
+  private final String backend;
+
+  private final int maxConcurrentProbes;
+
+  private final int maxConcurrentProbesPerHost;
+
+  private final MBeanServer mBeanServer;
+
+  private final LongAdder completedProbeCount = new LongAdder();
+
+  // Guarded by lock. Only queues with waiting probes are ready.
+  private final Deque<ProbeQueue> readyQueues = new ArrayDeque<>();
+
+  private final Map<String, Integer> activeProbeCountByHost = new HashMap<>();
+
+  private int activeProbeCount;
+
+  private int queuedProbeCount;
+
+  private boolean closed;
+
+  public ProbeSchedulerImpl() {
+    this(null);
+  }
+
+  public ProbeSchedulerImpl(MBeanServer mBeanServer) {
+    this(
+        TaskExecutors.getDefault(),
+        DEFAULT_MAX_CONCURRENT_PROBES,
+        DEFAULT_MAX_CONCURRENT_PROBES_PER_HOST,
+        mBeanServer);
+  }
+
+  public ProbeSchedulerImpl(
+      TaskExecutorFactory executorFactory,
+      int maxConcurrentProbes,
+      int maxConcurrentProbesPerHost,
+      MBeanServer mBeanServer) {
+    Validate.notNull(executorFactory, "Argument {executorFactory} cannot be null.");
+    Validate.isTrue(maxConcurrentProbes > 0, "Argument {maxConcurrentProbes} must be positive.");
+    Validate.isTrue(
+        maxConcurrentProbesPerHost > 0, "Argument {maxConcurrentProbesPerHost} must be positive.");
+
+    this.backend = executorFactory.getName();
+    this.maxConcurrentProbes = maxConcurrentProbes;
+    this.maxConcurrentProbesPerHost = maxConcurrentProbesPerHost;
+    this.mBeanServer = mBeanServer;
+    executor = executorFactory.newExecutor(THREAD_NAME, maxConcurrentProbes);
+
+    registerMBean();
+  }
+
+  @Override
+  public Executor newProbeQueue(String host, int maxConcurrentProbes) {
+    Validate.isTrue(maxConcurrentProbes > 0, "Argument {maxConcurrentProbes} must be positive.");
+    return new ProbeQueue(host == null ? "" : host, maxConcurrentProbes);
+  }
+
+  /** Cancels the waiting probes, interrupts the running ones and unregisters the MBean. */
+  public void close() {
+    synchronized (lock) {
+      closed = true;
+      for (ProbeQueue queue : readyQueues) {
+        for (Runnable probe : queue.probes) {
+          if (probe instanceof Future) {
+            ((Future<?>) probe).cancel(false);
+          }
+        }
+        queue.probes.clear();
+      }
+      readyQueues.clear();
+      queuedProbeCount = 0;
+    }
+
+    executor.shutdownNow();
+    unregisterMBean();
+  }
+
+  @Override
+  public String getBackend() {
+    return backend;
+  }
+
+  @Override
+  public int getMaxConcurrentProbes() {
+    return maxConcurrentProbes;
+  }
+
+  @Override
+  public int getMaxConcurrentProbesPerHost() {
+    return maxConcurrentProbesPerHost;
+  }
+
+  @Override
+  public int getActiveProbeCount() {
+    synchronized (lock) {
+      return activeProbeCount;
+    }
+  }
+
+  @Override
+  public int getQueuedProbeCount() {
+    synchronized (lock) {
+      return queuedProbeCount;
+    }
+  }
+
+  @Override
+  public long getCompletedProbeCount() {
+    return completedProbeCount.sum();
+  }
+
+  @Override
+  public Map<String, Integer> getActiveProbeCountByHost() {
+    synchronized (lock) {
+      return new TreeMap<>(activeProbeCountByHost);
+    }
+  }
+
+  private void enqueue(ProbeQueue queue, Runnable probe) {
+    synchronized (lock) {
+      if (closed) {
+        throw new RejectedExecutionException("The probe scheduler has been closed.");
+      }
+
+      queue.probes.add(probe);
+      queuedProbeCount++;
+      if (!queue.ready) {
+        queue.ready = true;
+        readyQueues.add(queue);
+      }
+
+      dispatch();
+    }
+  }
+
+  // Must be called while holding the lock
+  private void dispatch() {
+    int skippedQueues = 0;
+    while (activeProbeCount < maxConcurrentProbes && skippedQueues < readyQueues.size()) {
+      ProbeQueue queue = readyQueues.poll();
+
+      if (queue.activeProbeCount >= queue.maxConcurrentProbes
+          || activeProbeCountByHost.getOrDefault(queue.host, 0) >= maxConcurrentProbesPerHost) {
+        readyQueues.add(queue);
+        skippedQueues++;
+        continue;
+      }
+
+      skippedQueues = 0;
+      Runnable probe = queue.probes.poll();
+      queuedProbeCount--;
+      if (queue.probes.isEmpty()) {
+        queue.ready = false;
+      } else {
+        readyQueues.add(queue);
+      }
+
+      // Probes cancelled while waiting, such as the remaining probes of a caller that already got
+      // its result, are dropped without taking a slot
+      if (probe instanceof Future && ((Future<?>) probe).isCancelled()) {
+        continue;
+      }
+
+      start(queue, probe);
+    }
+  }
+
+  // Must be called while holding the lock
+  private void start(ProbeQueue queue, Runnable probe) {
+    String host = queue.host;
+    activeProbeCount++;
+    queue.activeProbeCount++;
+    activeProbeCountByHost.merge(host, 1, Integer::sum);
+
+    try {
+      executor.execute(
+          () -> {
+            try {
+              probe.run();
+            } finally {
+              complete(queue);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Probe against {} was rejected since the scheduler is closing.", host);
+      release(queue);
+      if (probe instanceof Future) {
+        ((Future<?>) probe).cancel(false);
+      }
+    }
+  }
+
+  private void complete(ProbeQueue queue) {
+    completedProbeCount.increment();
+    synchronized (lock) {
+      release(queue);
+      dispatch();
+    }
+  }
+
+  // Must be called while holding the lock
+  private void release(ProbeQueue queue) {
+    activeProbeCount--;
+    queue.activeProbeCount--;
+    activeProbeCountByHost.computeIfPresent(
+        queue.host, (key, count) -> count > 1 ? count - 1 : null);
+  }
+
+  private void registerMBean() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+      try {
+        mBeanServer.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        // Left behind by a previous instance of the scheduler
+        mBeanServer.unregisterMBean(objectName);
+        mBeanServer.registerMBean(this, objectName);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Failed to register probe scheduler MBean.", e);
+    }
+  }
+
+  private void unregisterMBean() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      mBeanServer.unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (InstanceNotFoundException e) {
+      LOGGER.trace("Probe scheduler MBean was already unregistered.");
+    } catch (JMException e) {
+      LOGGER.debug("Failed to unregister probe scheduler MBean.", e);
+    }
+  }
+
+  private class ProbeQueue implements Executor {
+
+    private final String host;
+
+    private final int maxConcurrentProbes;
+
+    // Guarded by the lock of the scheduler
+    private final Deque<Runnable> probes = new ArrayDeque<>();
+
+    private boolean ready;
+
+    private int activeProbeCount;
+
+    private ProbeQueue(String host, int maxConcurrentProbes) {
+      this.host = host;
+      this.maxConcurrentProbes = maxConcurrentProbes;
+    }
+
+    @Override
+    public void execute(Runnable probe) {
+      enqueue(this, probe);
+    }
+  }
+}
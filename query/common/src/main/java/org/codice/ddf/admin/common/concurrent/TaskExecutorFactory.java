@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the executors running the tasks of the admin console, such as the probes of discovery
+ * functions and the functions of GraphQL requests. Implementations decide which kind of threads the
+ * tasks run on.
+ *
+ * @see TaskExecutors
+ */
+public interface TaskExecutorFactory {
+
+  /** @return the name of the kind of threads the created executors use */
+  String getName();
+
+  /**
+   * Creates a new executor. Callers are responsible for shutting the executor down.
+   *
+   * @param name prefix of the names of the threads of the executor
+   * @param parallelism maximum amount of tasks the executor runs at once. Must be greater than 0.
+   * @return a new executor
+   */
+  ExecutorService newExecutor(String name, int parallelism);
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The available {@link TaskExecutorFactory}s.
+ *
+ * <p>Tasks run on pools of platform threads by default. Most tasks of the admin console block on
+ * network I/O, so virtual threads can be enabled by setting the {@value #BACKEND_PROPERTY} system
+ * property to {@code virtual}. A virtual thread is then created per task, while the parallelism of
+ * every executor is still enforced. Virtual threads have no permissions when a security manager is
+ * installed, so they are never used in that case.
+ */
+public final class TaskExecutors {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TaskExecutors.class);
+
+  public static final String BACKEND_PROPERTY = "org.codice.ddf.admin.taskExecutor";
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  /** Runs tasks on a pool of daemon platform threads bounded by the requested parallelism. */
+  public static final TaskExecutorFactory PLATFORM_THREADS =
+      new TaskExecutorFactory() {
+        @Override
+        public String getName() {
+          return "platform";
+        }
+
+        @Override
+        public ExecutorService newExecutor(String name, int parallelism) {
+          Validate.isTrue(parallelism > 0, "Argument {parallelism} must be greater than 0.");
+          ThreadPoolExecutor executor =
+              new ThreadPoolExecutor(
+                  parallelism,
+                  parallelism,
+                  KEEP_ALIVE_SECONDS,
+                  TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<>(),
+                  new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build());
+          executor.allowCoreThreadTimeOut(true);
+          return executor;
+        }
+      };
+
+  /**
+   * Runs every task on a new virtual thread, at most as many at once as the requested parallelism,
+   * or null if the JDK does not support virtual threads.
+   */
+  public static final TaskExecutorFactory VIRTUAL_THREADS = VirtualThreads.createFactory();
+
+  private static final TaskExecutorFactory DEFAULT = selectDefault();
+
+  private TaskExecutors() {}
+
+  /** @return the factory used by the admin console unless a caller provides its own */
+  public static TaskExecutorFactory getDefault() {
+    return DEFAULT;
+  }
+
+  private static TaskExecutorFactory selectDefault() {
+    String backend = System.getProperty(BACKEND_PROPERTY);
+
+    if (backend == null || PLATFORM_THREADS.getName().equals(backend)) {
+      return PLATFORM_THREADS;
+    }
+
+    if (VIRTUAL_THREADS == null || !VIRTUAL_THREADS.getName().equals(backend)) {
+      LOGGER.debug("Task executor {} is not supported, defaulting to platform threads.", backend);
+      return PLATFORM_THREADS;
+    }
+
+    if (System.getSecurityManager() != null) {
+      LOGGER.debug(
+          "Virtual threads have no permissions under a security manager, "
+              + "defaulting to platform threads.");
+      return PLATFORM_THREADS;
+    }
+
+    return VIRTUAL_THREADS;
+  }
+
+  /**
+   * The virtual thread API is looked up reflectively, since the admin console is built for JDKs
+   * that predate it.
+   */
+  private static class VirtualThreads implements TaskExecutorFactory {
+
+    private final Method ofVirtual;
+
+    private final Method name;
+
+    private final Method factory;
+
+    private final Method newThreadPerTaskExecutor;
+
+    private VirtualThreads() throws ReflectiveOperationException {
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      name = builderType.getMethod("name", String.class, long.class);
+      factory = builderType.getMethod("factory");
+      newThreadPerTaskExecutor =
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    }
+
+    static TaskExecutorFactory createFactory() {
+      try {
+        return new VirtualThreads();
+      } catch (ReflectiveOperationException e) {
+        LOGGER.trace("Virtual threads are not supported by this JDK.");
+        return null;
+      }
+    }
+
+    @Override
+    public String getName() {
+      return "virtual";
+    }
+
+    @Override
+    public ExecutorService newExecutor(String threadName, int parallelism) {
+      Validate.isTrue(parallelism > 0, "Argument {parallelism} must be greater than 0.");
+      try {
+        Object builder = name.invoke(ofVirtual.invoke(null), threadName + "-", 0L);
+        ExecutorService executor =
+            (ExecutorService)
+                newThreadPerTaskExecutor.invoke(null, (ThreadFactory) factory.invoke(builder));
+        return new BoundedExecutorService(executor, parallelism);
+      } catch (IllegalAccessException | InvocationTargetException e) {
+        LOGGER.debug("Failed to create virtual thread executor, using platform threads.", e);
+        return PLATFORM_THREADS.newExecutor(threadName, parallelism);
+      }
+    }
+  }
+}
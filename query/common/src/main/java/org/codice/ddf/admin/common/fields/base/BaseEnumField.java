@@ -30,6 +30,8 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
 
   private List<EnumValue<S>> enumValues;
 
+  private EnumValueSnapshot<S> enumValueSnapshot;
+
   /**
    * When this constructor is used, make sure the getEnumValues is overridden
    *
@@ -63,6 +65,19 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
     return enumValues;
   }
 
+  /**
+   * Returns the enum values indexed for lookups. The snapshot is taken once per field, so fields
+   * whose enum values change while the field is in use must override this.
+   *
+   * @return a snapshot of the enum values
+   */
+  protected EnumValueSnapshot<S> getEnumValueSnapshot() {
+    if (enumValueSnapshot == null) {
+      enumValueSnapshot = EnumValueSnapshot.of(getEnumValues());
+    }
+    return enumValueSnapshot;
+  }
+
   @Override
   public S getValue() {
     return enumValue;
@@ -76,17 +91,8 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
   @Override
   public void setValue(S value) {
     if (value != null) {
-      enumValue =
-          getEnumValues()
-              .stream()
-              .map(EnumValue::getValue)
-              .filter(
-                  o ->
-                      o.equals(value)
-                          || (o instanceof String
-                              && o.toString().equalsIgnoreCase(value.toString())))
-              .findFirst()
-              .orElse(value);
+      S enumValueMatch = getEnumValueSnapshot().find(value);
+      enumValue = enumValueMatch == null ? value : enumValueMatch;
     }
   }
 
@@ -95,7 +101,7 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
     List<ErrorMessage> validationMsgs = super.validate();
 
     if (validationMsgs.isEmpty() && getValue() != null) {
-      if (getEnumValues().stream().map(EnumValue::getValue).noneMatch(v -> v.equals(getValue()))) {
+      if (!getEnumValueSnapshot().contains(getValue())) {
         validationMsgs.add(unsupportedEnum(getPath()));
       }
     }
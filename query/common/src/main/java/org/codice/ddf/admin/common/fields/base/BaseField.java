@@ -15,7 +15,6 @@ package org.codice.ddf.admin.common.fields.base;
 
 import static org.codice.ddf.admin.common.report.message.DefaultMessages.missingRequiredFieldError;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.List;
@@ -32,7 +31,7 @@ public abstract class BaseField<T> implements Field<T> {
 
   private String description;
 
-  private List<Object> path;
+  private FieldPath path;
 
   private boolean isRequired;
 
@@ -42,7 +41,7 @@ public abstract class BaseField<T> implements Field<T> {
     this.name = name;
     this.typeName = typeName;
     this.description = description;
-    path = new ArrayList<>();
+    path = FieldPath.EMPTY;
     isRequired = false;
   }
 
@@ -91,25 +90,32 @@ public abstract class BaseField<T> implements Field<T> {
   public List<ErrorMessage> validate() {
     List<ErrorMessage> errors = new ArrayList<>();
 
-    if (isRequired()) {
-      if (getValue() == null) {
-        errors.add(missingRequiredFieldError(getPath()));
-      } else if (getValue() instanceof List && ((List) getValue()).isEmpty()) {
-        errors.add(missingRequiredFieldError(getPath()));
-      }
+    if (isRequired() && isValueMissing()) {
+      errors.add(missingRequiredFieldError(getPath()));
     }
 
     return errors;
   }
 
+  /**
+   * Checks whether a required value is missing. Fields whose value is built from other fields
+   * override this, so that validation does not need to build the value.
+   *
+   * @return true if the value is null or an empty list
+   */
+  protected boolean isValueMissing() {
+    T value = getValue();
+    return value == null || (value instanceof List && ((List) value).isEmpty());
+  }
+
+  /** @return the path of this field. The path is immutable, so it is returned without a copy. */
   @Override
-  public List<Object> getPath() {
-    return new ImmutableList.Builder().addAll(path).build();
+  public FieldPath getPath() {
+    return path;
   }
 
   @Override
   public void setPath(List<Object> path) {
-    this.path.clear();
-    this.path.addAll(path);
+    this.path = FieldPath.of(path);
   }
 }
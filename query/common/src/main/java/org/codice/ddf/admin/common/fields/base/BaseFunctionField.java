@@ -13,16 +13,20 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.RequestCache;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.admin.api.report.FunctionReport;
@@ -32,18 +36,44 @@ import org.codice.ddf.admin.common.report.message.ErrorMessageImpl;
 
 public abstract class BaseFunctionField<T extends Field> implements FunctionField<T> {
 
+  private static final RequestCache NO_REQUEST_CACHE =
+      new RequestCache() {
+        @Override
+        public <V> V get(Object key, Supplier<V> loader) {
+          return loader.get();
+        }
+      };
+
+  /**
+   * Error codes of every function type by function name. The error codes are derived from the
+   * definition of the function and its arguments only, so they are computed once per type. A
+   * redefined type is a new class, and the values of a class do not keep the class from being
+   * unloaded.
+   */
+  private static final ClassValue<ConcurrentMap<String, Set<String>>> ERROR_CODES =
+      new ClassValue<ConcurrentMap<String, Set<String>>>() {
+        @Override
+        protected ConcurrentMap<String, Set<String>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   private FunctionReportImpl<T> report;
 
+  private RequestCache requestCache;
+
   private String name;
 
   private String description;
 
-  private List<Object> path;
+  private String descriptionWithErrorCodes;
+
+  private FieldPath path;
 
   public BaseFunctionField(String name, String description) {
     this.name = name;
     this.description = description;
-    path = new ArrayList<>();
+    path = FieldPath.EMPTY;
     report = new FunctionReportImpl<>();
   }
 
@@ -54,12 +84,15 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
 
   @Override
   public String getDescription() {
-    Set<String> errors = getErrorCodes();
-    if (!errors.isEmpty()) {
-      return String.format(
-          "%s %n%n The possible errors are: %n- %s", description, formatErrorCodes(errors));
+    if (descriptionWithErrorCodes == null) {
+      Set<String> errors = getErrorCodes();
+      descriptionWithErrorCodes =
+          errors.isEmpty()
+              ? description
+              : String.format(
+                  "%s %n%n The possible errors are: %n- %s", description, formatErrorCodes(errors));
     }
-    return description;
+    return descriptionWithErrorCodes;
   }
 
   public abstract T performFunction();
@@ -68,6 +101,10 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
 
   @Override
   public Set<String> getErrorCodes() {
+    return ERROR_CODES.get(getClass()).computeIfAbsent(name, k -> collectErrorCodes());
+  }
+
+  private Set<String> collectErrorCodes() {
     Set<String> errorCodes = new HashSet<>();
     for (Field field : getArguments()) {
       errorCodes.addAll(field.getErrorCodes());
@@ -83,51 +120,100 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
       return;
     }
 
-    getArguments()
-        .stream()
-        .filter(field -> args.containsKey(field.getFieldName()))
-        .forEach(field -> field.setValue(args.get(field.getFieldName())));
+    for (Field field : getArguments()) {
+      String fieldName = field.getFieldName();
+      if (args.containsKey(fieldName)) {
+        field.setValue(args.get(fieldName));
+      }
+    }
   }
 
   @Override
   public FunctionReport<T> execute(Map<String, Object> args, List<Object> functionPath) {
+    if (prepareExecution(args, functionPath)) {
+      performExecution();
+    }
+
+    return report;
+  }
+
+  @Override
+  public FunctionReport<T> execute(
+      Map<String, Object> args, List<Object> functionPath, RequestCache requestCache) {
+    this.requestCache = requestCache;
+    return execute(args, functionPath);
+  }
+
+  /**
+   * Validates the arguments on the calling thread and only hands {@link #performFunction()} over to
+   * the {@code executor}, so invalid requests are answered without waiting for an executor thread.
+   */
+  @Override
+  public CompletionStage<FunctionReport<T>> executeAsync(
+      Map<String, Object> args,
+      List<Object> functionPath,
+      RequestCache requestCache,
+      Executor executor) {
+    this.requestCache = requestCache;
+    if (!prepareExecution(args, functionPath)) {
+      return CompletableFuture.completedFuture(report);
+    }
+
+    return CompletableFuture.supplyAsync(
+        () -> {
+          performExecution();
+          return report;
+        },
+        executor);
+  }
+
+  /** @return true if the arguments are valid and the function can be performed */
+  private boolean prepareExecution(Map<String, Object> args, List<Object> functionPath) {
+    long validationStart = System.nanoTime();
     setArguments(args);
     setPath(functionPath);
     validate();
-    if (!report.containsErrorMessages()) {
-      report.setResult(performFunction());
-    }
+    report.setValidationTimeNanos(System.nanoTime() - validationStart);
+    return !report.containsErrorMessages();
+  }
 
-    return report;
+  private void performExecution() {
+    long performFunctionStart = System.nanoTime();
+    report.setResult(performFunction());
+    report.setPerformFunctionTimeNanos(System.nanoTime() - performFunctionStart);
+  }
+
+  /**
+   * @return the cache shared by the functions of the current request. Lookups are not memoized if
+   *     the function is not executed as part of a request.
+   */
+  protected RequestCache getRequestCache() {
+    return requestCache == null ? NO_REQUEST_CACHE : requestCache;
   }
 
+  /** @return the path of this function. The path is immutable, so it is returned without a copy. */
   @Override
-  public List<Object> getPath() {
-    return new ImmutableList.Builder<>().addAll(path).build();
+  public FieldPath getPath() {
+    return path;
   }
 
   protected void setPath(List<Object> path) {
     if (path == null) {
       return;
     }
-    this.path.clear();
-    this.path.addAll(path);
-    getArguments()
-        .forEach(
-            arg ->
-                arg.setPath(
-                    new ImmutableList.Builder<>()
-                        .addAll(getPath())
-                        .add(arg.getFieldName())
-                        .build()));
+    this.path = FieldPath.of(path);
+    for (Field arg : getArguments()) {
+      arg.setPath(this.path.child(arg.getFieldName()));
+    }
   }
 
   public void validate() {
-    getArguments()
-        .stream()
-        .map(Field::validate)
-        .flatMap(Collection<ErrorMessage>::stream)
-        .forEach(this::addErrorMessage);
+    for (Field arg : getArguments()) {
+      List<ErrorMessage> errors = arg.validate();
+      for (ErrorMessage error : errors) {
+        addErrorMessage(error);
+      }
+    }
   }
 
   protected boolean containsErrorMsgs() {
@@ -140,12 +226,15 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
   }
 
   protected BaseFunctionField addErrorMessage(ErrorMessage msg) {
-    ErrorMessage message = new ErrorMessageImpl(msg.getCode(), msg.getPath());
-    if (message.getPath().isEmpty()) {
-      message.setPath(getPath());
+    List<Object> msgPath = msg.getPath();
+    if (msgPath instanceof FieldPath && !msgPath.isEmpty()) {
+      // The path of the message is immutable, so the message can be reported as is
+      report.addErrorMessage(msg);
+    } else {
+      report.addErrorMessage(
+          new ErrorMessageImpl(
+              msg.getCode(), msgPath == null || msgPath.isEmpty() ? getPath() : msgPath));
     }
-
-    report.addErrorMessage(message);
     return this;
   }
 
@@ -13,7 +13,6 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -34,6 +33,10 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
 
   protected List<T> elements;
 
+  // The paths of the elements are only set once the elements are read, since many lists are never
+  // validated and the paths of new elements would otherwise be recomputed on every change
+  private boolean elementPathsStale;
+
   public BaseListField(String fieldName) {
     super(fieldName, null, null);
     this.elements = new ArrayList<>();
@@ -43,6 +46,7 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
 
   @Override
   public List<T> getList() {
+    updateElementPaths();
     return elements;
   }
 
@@ -63,17 +67,26 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
       return;
     }
 
+    if (elements instanceof ArrayList) {
+      ((ArrayList<T>) elements).ensureCapacity(elements.size() + values.size());
+    }
+
+    Callable<T> createListEntry = getCreateListEntryCallable();
     for (Object val : values) {
-      T newField = createListEntry();
+      T newField = createListEntry(createListEntry);
       newField.setValue(val);
-      add(newField);
+      addEntry(newField);
     }
   }
 
   @Override
   public T createListEntry() {
+    return createListEntry(getCreateListEntryCallable());
+  }
+
+  private T createListEntry(Callable<T> createListEntry) {
     try {
-      return getCreateListEntryCallable().call();
+      return createListEntry.call();
     } catch (Exception e) {
       throw new RuntimeException(
           "Unable to create new instance of list content for field: " + getFieldName());
@@ -84,12 +97,27 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
   public BaseListField<T> add(T value) {
     T newElem = createListEntry();
     newElem.setValue(value.getValue());
-    elements.add(newElem);
+    addEntry(newElem);
     return this;
   }
 
+  /**
+   * Adds an entry created by this list to the end of the list. Unlike {@link #add(Field)}, the
+   * entry itself is added instead of a copy, so it must not be shared with other fields.
+   *
+   * @param entry entry created by {@link #createListEntry()}
+   */
+  protected void addEntry(T entry) {
+    elements.add(entry);
+    // Lists without a path, such as function results, never set the paths of their elements
+    elementPathsStale |= !getPath().isEmpty();
+  }
+
   @Override
   public BaseListField<T> addAll(Collection<T> values) {
+    if (elements instanceof ArrayList) {
+      ((ArrayList<T>) elements).ensureCapacity(elements.size() + values.size());
+    }
     values.forEach(field -> add(field));
     return this;
   }
@@ -98,19 +126,22 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
   public List<ErrorMessage> validate() {
     List<ErrorMessage> validationMsgs = super.validate();
 
-    if (validationMsgs.isEmpty() && (getList() != null)) {
-      List<ErrorMessage> fieldValidationMsgs =
-          getList()
-              .stream()
-              .map(field -> (List<ErrorMessage>) field.validate())
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      validationMsgs.addAll(fieldValidationMsgs);
+    if (!validationMsgs.isEmpty() || getList() == null) {
+      return validationMsgs;
+    }
+
+    for (T field : getList()) {
+      validationMsgs.addAll(field.validate());
     }
 
     return validationMsgs;
   }
 
+  @Override
+  protected boolean isValueMissing() {
+    return elements.isEmpty();
+  }
+
   @Override
   public BaseListField<T> isRequired(boolean required) {
     super.isRequired(required);
@@ -120,9 +151,19 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
   @Override
   public void setPath(List<Object> path) {
     super.setPath(path);
-    for (int i = 0; i < getList().size(); i++) {
-      getList().get(i).setPath(createElemPath(getPath(), i));
+    elementPathsStale = true;
+  }
+
+  private void updateElementPaths() {
+    if (!elementPathsStale) {
+      return;
+    }
+
+    FieldPath fieldPath = getPath();
+    for (int i = 0; i < elements.size(); i++) {
+      elements.get(i).setPath(fieldPath.child(i));
     }
+    elementPathsStale = false;
   }
 
   @Override
@@ -133,10 +174,6 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
         .build();
   }
 
-  private List<Object> createElemPath(List<Object> path, int index) {
-    return new ImmutableList.Builder<>().addAll(path).add(index).build();
-  }
-
   public BaseListField<T> useDefaultRequired() {
     return this;
   }
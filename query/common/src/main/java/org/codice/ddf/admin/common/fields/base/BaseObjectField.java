@@ -13,13 +13,11 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
@@ -61,10 +59,18 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
       return;
     }
 
-    getFields()
-        .stream()
-        .filter(field -> values.containsKey(field.getFieldName()))
-        .forEach(field -> field.setValue(values.get(field.getFieldName())));
+    for (Field field : getFields()) {
+      String fieldName = field.getFieldName();
+      if (values.containsKey(fieldName)) {
+        field.setValue(values.get(fieldName));
+      }
+    }
+  }
+
+  // The value is a map of the inner fields, which is never missing
+  @Override
+  protected boolean isValueMissing() {
+    return false;
   }
 
   @Override
@@ -75,22 +81,21 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
       return validationErrors;
     }
 
-    validationErrors.addAll(
-        getFields()
-            .stream()
-            .map(field -> (List<ErrorMessage>) field.validate())
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList()));
+    for (Field field : getFields()) {
+      validationErrors.addAll(field.validate());
+    }
     return validationErrors;
   }
 
   @Override
   public void setPath(List<Object> path) {
     super.setPath(path);
-    getFields()
-        .stream()
-        .filter(Objects::nonNull)
-        .forEach(child -> child.setPath(createInnerFieldPath(getPath(), child.getFieldName())));
+    FieldPath fieldPath = getPath();
+    for (Field child : getFields()) {
+      if (child != null) {
+        child.setPath(fieldPath.child(child.getFieldName()));
+      }
+    }
   }
 
   @Override
@@ -105,8 +110,4 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
                 .collect(Collectors.toList()))
         .build();
   }
-
-  private List<Object> createInnerFieldPath(List<Object> path, String childName) {
-    return new ImmutableList.Builder<>().addAll(path).add(childName).build();
-  }
 }
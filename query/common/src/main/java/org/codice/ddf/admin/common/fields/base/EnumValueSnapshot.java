@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.codice.ddf.admin.api.fields.EnumValue;
+
+/**
+ * An immutable snapshot of the values of an enum field, indexed so that values can be looked up in
+ * constant time.
+ *
+ * @param <T> type of the enum values
+ */
+public final class EnumValueSnapshot<T> {
+
+  private static final EnumValueSnapshot EMPTY = new EnumValueSnapshot<>(Collections.emptyList());
+
+  private final List<EnumValue<T>> enumValues;
+
+  private final List<T> values;
+
+  private final Map<Object, Integer> indexByValue;
+
+  private final Map<String, Integer> indexByLowerCaseValue;
+
+  private EnumValueSnapshot(List<EnumValue<T>> enumValues) {
+    this.enumValues = Collections.unmodifiableList(new ArrayList<>(enumValues));
+    values = new ArrayList<>(enumValues.size());
+    indexByValue = new HashMap<>();
+    indexByLowerCaseValue = new HashMap<>();
+
+    for (int i = 0; i < enumValues.size(); i++) {
+      T value = enumValues.get(i).getValue();
+      values.add(value);
+      indexByValue.putIfAbsent(value, i);
+      if (value instanceof String) {
+        indexByLowerCaseValue.putIfAbsent(((String) value).toLowerCase(Locale.ROOT), i);
+      }
+    }
+  }
+
+  public static <T> EnumValueSnapshot<T> of(List<EnumValue<T>> enumValues) {
+    return enumValues == null || enumValues.isEmpty()
+        ? empty()
+        : new EnumValueSnapshot<>(enumValues);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> EnumValueSnapshot<T> empty() {
+    return (EnumValueSnapshot<T>) EMPTY;
+  }
+
+  public List<EnumValue<T>> getEnumValues() {
+    return enumValues;
+  }
+
+  /**
+   * Finds the first enum value that is equal to the given value, or that is a string equal to the
+   * given value ignoring case.
+   *
+   * @param value value to look up
+   * @return the matching enum value, or null if there is none
+   */
+  public T find(Object value) {
+    if (value == null) {
+      return null;
+    }
+
+    Integer index = indexByValue.get(value);
+    Integer lowerCaseIndex = indexByLowerCaseValue.get(value.toString().toLowerCase(Locale.ROOT));
+    if (index == null || (lowerCaseIndex != null && lowerCaseIndex < index)) {
+      index = lowerCaseIndex;
+    }
+
+    return index == null ? null : values.get(index);
+  }
+
+  /**
+   * @param value value to check
+   * @return true if one of the enum values is equal to the given value
+   */
+  public boolean contains(Object value) {
+    return indexByValue.containsKey(value);
+  }
+}
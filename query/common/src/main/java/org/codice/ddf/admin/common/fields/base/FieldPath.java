@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Immutable path of a field, stored as a node that references the path of its parent field. Child
+ * paths share their prefix with the parent path, so creating the path of a child field is a single
+ * allocation and paths can be handed out without copying them.
+ *
+ * <p>Accessing a segment by its index walks the parent links, so iterating over the path copies the
+ * segments into an array once instead of looking up every index.
+ */
+public final class FieldPath extends AbstractList<Object> {
+
+  public static final FieldPath EMPTY = new FieldPath(null, null, 0);
+
+  private final FieldPath parent;
+
+  private final Object segment;
+
+  private final int size;
+
+  private FieldPath(FieldPath parent, Object segment, int size) {
+    this.parent = parent;
+    this.segment = segment;
+    this.size = size;
+  }
+
+  /**
+   * @param path path to convert
+   * @return the {@code path} itself if it already is a {@code FieldPath}, otherwise a {@code
+   *     FieldPath} with the same segments
+   */
+  public static FieldPath of(List<Object> path) {
+    if (path instanceof FieldPath) {
+      return (FieldPath) path;
+    }
+
+    FieldPath fieldPath = EMPTY;
+    if (path != null) {
+      for (Object segment : path) {
+        fieldPath = fieldPath.child(segment);
+      }
+    }
+    return fieldPath;
+  }
+
+  /**
+   * @param segment field name or list index to append
+   * @return the path of the child, sharing this path as its prefix
+   */
+  public FieldPath child(Object segment) {
+    return new FieldPath(this, segment, size + 1);
+  }
+
+  @Override
+  public Object get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    FieldPath node = this;
+    for (int i = size - 1; i > index; i--) {
+      node = node.parent;
+    }
+    return node.segment;
+  }
+
+  @Override
+  public Iterator<Object> iterator() {
+    return listIterator(0);
+  }
+
+  @Override
+  public ListIterator<Object> listIterator(int index) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    return Collections.unmodifiableList(Arrays.asList(toArray())).listIterator(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Object[] toArray() {
+    Object[] segments = new Object[size];
+    FieldPath node = this;
+    for (int i = size - 1; i >= 0; i--) {
+      segments[i] = node.segment;
+      node = node.parent;
+    }
+    return segments;
+  }
+}
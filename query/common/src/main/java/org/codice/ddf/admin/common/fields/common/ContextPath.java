@@ -18,6 +18,7 @@ import static org.codice.ddf.admin.common.report.message.DefaultMessages.invalid
 import com.google.common.collect.ImmutableSet;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -36,6 +37,8 @@ public class ContextPath extends StringField {
   public static final String DESCRIPTION =
       "The context path is the suffix of a URL path that is used to select the context(s) to which an incoming request is passed. For example, http://hostname.com/<contextPath>.";
 
+  private static final UriPathValidator PATH_VALIDATOR = new UriPathValidator();
+
   public ContextPath() {
     super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
   }
@@ -56,8 +59,7 @@ public class ContextPath extends StringField {
     if (!msgs.isEmpty()) {
       return msgs;
     } else if (getValue() != null && !getValue().isEmpty()) {
-      final UriPathValidator validator = new UriPathValidator();
-      if (!validator.isValidPath(getValue())) {
+      if (!PATH_VALIDATOR.isValidPath(getValue())) {
         msgs.add(invalidContextPathError(getPath()));
       }
     }
@@ -131,6 +133,9 @@ public class ContextPath extends StringField {
 
     public static final String DEFAULT_NAME = "paths";
 
+    // Values of the elements, so that duplicates are found without scanning the elements
+    private final Set<String> values = new HashSet<>();
+
     public ListImpl() {
       super(DEFAULT_NAME);
     }
@@ -141,14 +146,18 @@ public class ContextPath extends StringField {
     }
 
     @Override
-    public ListImpl add(ContextPath value) {
+    protected void addEntry(ContextPath value) {
       // TODO: tbatie - 8/17/17 - Temporary work around, there should be SetField implemented here
       // instead
-      boolean match = elements.stream().anyMatch(path -> path.getValue().equals(value.getValue()));
-      if (!match) {
-        super.add(value);
+      if (values.size() != elements.size()) {
+        // The elements were changed without adding them, e.g. by clearing the list
+        values.clear();
+        elements.forEach(path -> values.add(path.getValue()));
+      }
+
+      if (values.add(value.getValue())) {
+        super.addEntry(value);
       }
-      return this;
     }
   }
 }
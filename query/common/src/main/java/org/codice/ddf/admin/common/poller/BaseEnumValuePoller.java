@@ -13,7 +13,9 @@
  */
 package org.codice.ddf.admin.common.poller;
 
+import java.util.concurrent.atomic.AtomicLong;
 import org.codice.ddf.admin.api.poller.EnumValuePoller;
+import org.codice.ddf.admin.common.fields.base.EnumValueSnapshot;
 import org.codice.ddf.admin.common.services.ServiceCommons;
 
 public abstract class BaseEnumValuePoller<V, T> implements EnumValuePoller<V, T> {
@@ -22,13 +24,51 @@ public abstract class BaseEnumValuePoller<V, T> implements EnumValuePoller<V, T>
 
   private static final String UNBINDING_ENUM_VALUE = "Unbinding enum value for %s";
 
+  // Incremented whenever the enum values change, so that snapshots taken concurrently with a change
+  // are never served afterwards
+  private final AtomicLong valuesVersion = new AtomicLong();
+
+  private volatile VersionedSnapshot<T> enumValueSnapshot;
+
   @Override
   public void bindValue(V value) {
+    refreshEnumValues();
     ServiceCommons.updateGraphQLSchema(getClass(), String.format(BINDING_ENUM_VALUE, getClass()));
   }
 
   @Override
   public void unbindValue(V value) {
+    refreshEnumValues();
     ServiceCommons.updateGraphQLSchema(getClass(), String.format(UNBINDING_ENUM_VALUE, getClass()));
   }
+
+  /** @return a snapshot of the current enum values, taken after the values last changed */
+  public EnumValueSnapshot<T> getEnumValueSnapshot() {
+    long version = valuesVersion.get();
+    VersionedSnapshot<T> snapshot = enumValueSnapshot;
+    if (snapshot != null && snapshot.version == version) {
+      return snapshot.snapshot;
+    }
+
+    EnumValueSnapshot<T> newSnapshot = EnumValueSnapshot.of(getEnumValues());
+    enumValueSnapshot = new VersionedSnapshot<>(version, newSnapshot);
+    return newSnapshot;
+  }
+
+  /** Discards the snapshot of the enum values. Must be called whenever the enum values change. */
+  protected void refreshEnumValues() {
+    valuesVersion.incrementAndGet();
+  }
+
+  private static class VersionedSnapshot<T> {
+
+    private final long version;
+
+    private final EnumValueSnapshot<T> snapshot;
+
+    private VersionedSnapshot(long version, EnumValueSnapshot<T> snapshot) {
+      this.version = version;
+      this.snapshot = snapshot;
+    }
+  }
 }
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.poller;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.codice.ddf.admin.api.poller.EnumValuePoller;
+import org.codice.ddf.admin.common.fields.base.EnumValueSnapshot;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up the enum values of {@link EnumValuePoller} services by their service filter. The pollers
+ * are looked up once per {@link ServiceReader} and filter instead of every time an enum value is
+ * set or validated. The values themselves are snapshots kept by the pollers, which are refreshed
+ * when the values of the pollers change.
+ *
+ * <p>The looked up pollers are discarded whenever a poller service is registered, modified or
+ * unregistered, so that pollers of restarted bundles are not served. Pollers are only cached when
+ * this class can listen for these changes, i.e. when it is loaded by an active bundle.
+ */
+public class EnumValuePollers {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EnumValuePollers.class);
+
+  private static final String POLLER_SERVICE_FILTER =
+      "(objectClass=" + EnumValuePoller.class.getName() + ")";
+
+  private static final Cache<ServiceReader, ConcurrentMap<String, EnumValuePoller>> POLLERS =
+      CacheBuilder.newBuilder().weakKeys().build();
+
+  private static final boolean CACHE_POLLERS = listenForPollerChanges();
+
+  private EnumValuePollers() {}
+
+  /**
+   * @param serviceReader reader to look up the poller with
+   * @param filter service filter of the poller
+   * @return the current enum values of the poller, or an empty snapshot if there is no poller
+   */
+  public static <T> EnumValueSnapshot<T> getEnumValueSnapshot(
+      ServiceReader serviceReader, String filter) {
+    EnumValuePoller poller;
+    if (CACHE_POLLERS) {
+      ConcurrentMap<String, EnumValuePoller> pollers =
+          POLLERS.asMap().computeIfAbsent(serviceReader, reader -> new ConcurrentHashMap<>());
+
+      // A missing poller is not cached, since the poller may be registered later
+      poller = pollers.computeIfAbsent(filter, f -> findPoller(serviceReader, filter));
+    } else {
+      poller = findPoller(serviceReader, filter);
+    }
+
+    if (poller == null) {
+      return EnumValueSnapshot.empty();
+    }
+
+    if (poller instanceof BaseEnumValuePoller) {
+      return ((BaseEnumValuePoller) poller).getEnumValueSnapshot();
+    }
+
+    return EnumValueSnapshot.of(poller.getEnumValues());
+  }
+
+  private static EnumValuePoller findPoller(ServiceReader serviceReader, String filter) {
+    Set<EnumValuePoller> pollers = serviceReader.getServices(EnumValuePoller.class, filter);
+    return pollers == null || pollers.isEmpty() ? null : pollers.iterator().next();
+  }
+
+  // The listener is removed by the framework once the bundle that loaded this class stops
+  private static boolean listenForPollerChanges() {
+    Bundle bundle = FrameworkUtil.getBundle(EnumValuePollers.class);
+    BundleContext bundleContext = bundle == null ? null : bundle.getBundleContext();
+    if (bundleContext == null) {
+      return false;
+    }
+
+    try {
+      bundleContext.addServiceListener(event -> POLLERS.invalidateAll(), POLLER_SERVICE_FILTER);
+      return true;
+    } catch (InvalidSyntaxException | IllegalStateException e) {
+      LOGGER.debug(
+          "Unable to listen for enum value poller changes, pollers will not be cached.", e);
+      return false;
+    }
+  }
+}
@@ -17,4 +17,29 @@ import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.report.FunctionReport;
 
 public class FunctionReportImpl<T extends Field> extends ReportImpl<T>
-    implements FunctionReport<T> {}
+    implements FunctionReport<T> {
+
+  private long validationTimeNanos;
+
+  private long performFunctionTimeNanos;
+
+  @Override
+  public long getValidationTimeNanos() {
+    return validationTimeNanos;
+  }
+
+  public FunctionReportImpl<T> setValidationTimeNanos(long validationTimeNanos) {
+    this.validationTimeNanos = validationTimeNanos;
+    return this;
+  }
+
+  @Override
+  public long getPerformFunctionTimeNanos() {
+    return performFunctionTimeNanos;
+  }
+
+  public FunctionReportImpl<T> setPerformFunctionTimeNanos(long performFunctionTimeNanos) {
+    this.performFunctionTimeNanos = performFunctionTimeNanos;
+    return this;
+  }
+}
@@ -13,9 +13,9 @@
  */
 package org.codice.ddf.admin.common.report.message;
 
-import java.util.LinkedList;
 import java.util.List;
 import org.codice.ddf.admin.api.report.ErrorMessage;
+import org.codice.ddf.admin.common.fields.base.FieldPath;
 
 public class ErrorMessageImpl implements ErrorMessage {
 
@@ -25,17 +25,22 @@ public class ErrorMessageImpl implements ErrorMessage {
 
   public ErrorMessageImpl(String code) {
     this.code = code;
-    path = new LinkedList<>();
+    path = FieldPath.EMPTY;
   }
 
   public ErrorMessageImpl(String code, String pathOrigin) {
-    this(code);
-    path.add(pathOrigin);
+    this.code = code;
+    path = FieldPath.EMPTY.child(pathOrigin);
   }
 
+  /**
+   * @param code error code
+   * @param path path of the error. Paths of fields are immutable and shared, any other path is
+   *     copied.
+   */
   public ErrorMessageImpl(String code, List<Object> path) {
-    this(code);
-    this.path.addAll(path);
+    this.code = code;
+    this.path = FieldPath.of(path);
   }
 
   @Override
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.services;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.codice.ddf.admin.api.RequestCache;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
+
+/**
+ * A {@link ServiceReader} that memoizes service lookups in a {@link RequestCache}, so that the
+ * service registry is only queried once per request for the same lookup.
+ */
+public class CachingServiceReader implements ServiceReader {
+
+  private static final String SERVICE_REFERENCE = "serviceReference";
+
+  private static final String SERVICES = "services";
+
+  private final ServiceReader serviceReader;
+
+  private final RequestCache requestCache;
+
+  public CachingServiceReader(ServiceReader serviceReader, RequestCache requestCache) {
+    this.serviceReader = serviceReader;
+    this.requestCache = requestCache;
+  }
+
+  @Override
+  public <S> S getServiceReference(Class<S> serviceClass) {
+    return requestCache.get(
+        Arrays.asList(SERVICE_REFERENCE, serviceClass),
+        () -> serviceReader.getServiceReference(serviceClass));
+  }
+
+  /**
+   * Returns a copy of the cached services, so callers are free to modify the returned set.
+   *
+   * @see ServiceReader#getServices(Class, String)
+   */
+  @Override
+  public <S> Set<S> getServices(Class<S> serviceClass, String filter) {
+    Set<S> services =
+        requestCache.get(
+            Arrays.asList(SERVICES, serviceClass, filter),
+            () -> serviceReader.getServices(serviceClass, filter));
+    return services == null ? null : new LinkedHashSet<>(services);
+  }
+}
@@ -13,9 +13,12 @@
  **/
 package org.codice.ddf.admin.common
 
+import org.codice.ddf.admin.common.concurrent.TaskExecutorFactory
+import org.codice.ddf.admin.common.concurrent.TaskExecutors
 import spock.lang.Specification
 
 import java.util.concurrent.Callable
+import java.util.concurrent.Executor
 import java.util.concurrent.ThreadPoolExecutor
 import java.util.concurrent.TimeUnit
 import java.util.function.Function
@@ -60,6 +63,73 @@ class PrioritizedBatchExecutorSpec extends Specification {
         thrown(IllegalArgumentException)
     }
 
+    def 'Tasks are executed on an executor created by the given factory'() {
+        setup:
+        def executorFactory = Mock(TaskExecutorFactory)
+        def taskResults = [[NOT_EXPECTED_RESULT, EXPECTED_RESULT]]
+
+        when:
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(executorFactory, 2, createTaskList(taskResults), createTaskHandler([EXPECTED_RESULT]))
+        def result = prioritizedBatchExecutor.getFirst(500, TimeUnit.MILLISECONDS)
+
+        then:
+        1 * executorFactory.newExecutor(_, 2) >> TaskExecutors.PLATFORM_THREADS.newExecutor('test', 2)
+        result.get() == EXPECTED_RESULT
+    }
+
+    def 'Remaining tasks are cancelled instead of shutting down a shared executor'() {
+        setup:
+        def sharedExecutor = TaskExecutors.PLATFORM_THREADS.newExecutor('test', 2)
+        def taskResults = [[EXPECTED_RESULT], [NOT_EXPECTED_RESULT]]
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(sharedExecutor, createTaskList(taskResults), createTaskHandler([EXPECTED_RESULT]))
+
+        when:
+        def result = prioritizedBatchExecutor.getFirst(500, TimeUnit.MILLISECONDS)
+
+        then:
+        result.get() == EXPECTED_RESULT
+        !sharedExecutor.isShutdown()
+
+        cleanup:
+        sharedExecutor.shutdownNow()
+    }
+
+    def 'Lower priority batches are not submitted to a shared executor once a result is found'() {
+        setup:
+        def submittedTasks = []
+        def sharedExecutor = { Runnable task ->
+            submittedTasks.add(task)
+            task.run()
+        } as Executor
+        def taskResults = [[NOT_EXPECTED_RESULT, EXPECTED_RESULT], [EXPECTED_RESULT]]
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(sharedExecutor, createTaskList(taskResults), createTaskHandler([EXPECTED_RESULT]))
+
+        when:
+        def result = prioritizedBatchExecutor.getFirst(500, TimeUnit.MILLISECONDS)
+
+        then:
+        result.get() == EXPECTED_RESULT
+        submittedTasks.size() == 2
+    }
+
+    def 'Next batch is submitted to a shared executor once the previous batch has no result'() {
+        setup:
+        def submittedTasks = []
+        def sharedExecutor = { Runnable task ->
+            submittedTasks.add(task)
+            task.run()
+        } as Executor
+        def taskResults = [[NOT_EXPECTED_RESULT, NOT_EXPECTED_RESULT], [EXPECTED_RESULT]]
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(sharedExecutor, createTaskList(taskResults), createTaskHandler([EXPECTED_RESULT]))
+
+        when:
+        def result = prioritizedBatchExecutor.getFirst(500, TimeUnit.MILLISECONDS)
+
+        then:
+        result.get() == EXPECTED_RESULT
+        submittedTasks.size() == 3
+    }
+
     def 'Result is successfully retrieved from single batch'() {
         setup:
         def taskResults = [[NOT_EXPECTED_RESULT, EXPECTED_RESULT]]
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.concurrent
+
+import spock.lang.Specification
+
+import java.util.concurrent.AbstractExecutorService
+import java.util.concurrent.FutureTask
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class ProbeSchedulerImplSpec extends Specification {
+
+    ManualExecutor executor = new ManualExecutor()
+
+    List<String> executedProbes = []
+
+    ProbeSchedulerImpl scheduler
+
+    def cleanup() {
+        scheduler?.close()
+    }
+
+    def 'Probes beyond the global limit wait until a running probe completes'() {
+        setup:
+        scheduler = createScheduler(2, 2)
+        def queue = scheduler.newProbeQueue('host', 4)
+
+        when:
+        3.times { queue.execute(probe("probe$it")) }
+
+        then:
+        executor.tasks.size() == 2
+        scheduler.getActiveProbeCount() == 2
+        scheduler.getQueuedProbeCount() == 1
+
+        when:
+        executor.runNext()
+
+        then:
+        executor.tasks.size() == 2
+        scheduler.getActiveProbeCount() == 2
+        scheduler.getQueuedProbeCount() == 0
+        scheduler.getCompletedProbeCount() == 1
+    }
+
+    def 'Probes against a host at its limit wait while probes against other hosts run'() {
+        setup:
+        scheduler = createScheduler(4, 1)
+        def firstHostQueue = scheduler.newProbeQueue('first', 4)
+        def secondHostQueue = scheduler.newProbeQueue('second', 4)
+
+        when:
+        firstHostQueue.execute(probe('first0'))
+        firstHostQueue.execute(probe('first1'))
+        secondHostQueue.execute(probe('second0'))
+
+        then:
+        executor.tasks.size() == 2
+        scheduler.getActiveProbeCountByHost() == [first: 1, second: 1]
+        scheduler.getQueuedProbeCount() == 1
+    }
+
+    def 'Queues of different callers are served in turn'() {
+        setup:
+        scheduler = createScheduler(1, 4)
+        def busyQueue = scheduler.newProbeQueue('host', 4)
+        def otherQueue = scheduler.newProbeQueue('host', 4)
+        scheduler.newProbeQueue('host', 4).execute(probe('running'))
+
+        when:
+        3.times { busyQueue.execute(probe("busy$it")) }
+        otherQueue.execute(probe('other0'))
+        5.times { executor.runNext() }
+
+        then:
+        executedProbes == ['running', 'busy0', 'other0', 'busy1', 'busy2']
+    }
+
+    def 'Probes of a queue at its limit wait while probes of other queues run'() {
+        setup:
+        scheduler = createScheduler(4, 4)
+        def limitedQueue = scheduler.newProbeQueue('host', 1)
+        def otherQueue = scheduler.newProbeQueue('host', 4)
+
+        when:
+        limitedQueue.execute(probe('limited0'))
+        limitedQueue.execute(probe('limited1'))
+        otherQueue.execute(probe('other0'))
+
+        then:
+        executor.tasks.size() == 2
+        scheduler.getQueuedProbeCount() == 1
+
+        when:
+        3.times { executor.runNext() }
+
+        then:
+        executedProbes == ['limited0', 'other0', 'limited1']
+    }
+
+    def 'Cancelled probes are dropped without being started'() {
+        setup:
+        scheduler = createScheduler(1, 1)
+        def queue = scheduler.newProbeQueue('host', 1)
+        def cancelledProbe = new FutureTask<String>({ executedProbes.add('cancelled') })
+        queue.execute(probe('running'))
+        queue.execute(cancelledProbe)
+        queue.execute(probe('waiting'))
+
+        when:
+        cancelledProbe.cancel(false)
+        executor.runNext()
+
+        then:
+        executor.tasks.size() == 1
+        scheduler.getQueuedProbeCount() == 0
+
+        when:
+        executor.runNext()
+
+        then:
+        executedProbes == ['running', 'waiting']
+        scheduler.getCompletedProbeCount() == 2
+    }
+
+    def 'Creating a queue without a positive limit throws IllegalArgumentException'() {
+        setup:
+        scheduler = createScheduler(1, 1)
+
+        when:
+        scheduler.newProbeQueue('host', 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def 'Closing the scheduler cancels waiting probes and rejects new ones'() {
+        setup:
+        scheduler = createScheduler(1, 1)
+        def queue = scheduler.newProbeQueue('host', 4)
+        def waitingProbe = new FutureTask<String>({ 'result' })
+        queue.execute(probe('running'))
+        queue.execute(waitingProbe)
+
+        when:
+        scheduler.close()
+
+        then:
+        waitingProbe.isCancelled()
+        scheduler.getQueuedProbeCount() == 0
+
+        when:
+        queue.execute(probe('rejected'))
+
+        then:
+        thrown(RejectedExecutionException)
+    }
+
+    ProbeSchedulerImpl createScheduler(int maxConcurrentProbes, int maxConcurrentProbesPerHost) {
+        def executorFactory = Stub(TaskExecutorFactory) {
+            getName() >> 'manual'
+            newExecutor(_, _) >> executor
+        }
+        return new ProbeSchedulerImpl(executorFactory, maxConcurrentProbes, maxConcurrentProbesPerHost, null)
+    }
+
+    Runnable probe(String name) {
+        return { executedProbes.add(name) }
+    }
+
+    static class ManualExecutor extends AbstractExecutorService {
+
+        List<Runnable> tasks = []
+
+        boolean shutdown
+
+        void runNext() {
+            tasks.remove(0).run()
+        }
+
+        @Override
+        void execute(Runnable command) {
+            tasks.add(command)
+        }
+
+        @Override
+        void shutdown() {
+            shutdown = true
+        }
+
+        @Override
+        List<Runnable> shutdownNow() {
+            shutdown = true
+            return tasks
+        }
+
+        @Override
+        boolean isShutdown() {
+            return shutdown
+        }
+
+        @Override
+        boolean isTerminated() {
+            return shutdown
+        }
+
+        @Override
+        boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.concurrent
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class TaskExecutorsSpec extends Specification {
+
+    ExecutorService executor
+
+    def cleanup() {
+        executor?.shutdownNow()
+    }
+
+    def 'Platform threads are used unless virtual threads are enabled'() {
+        expect:
+        TaskExecutors.getDefault() == TaskExecutors.PLATFORM_THREADS
+    }
+
+    def 'Platform thread executors run tasks on named daemon threads'() {
+        setup:
+        executor = TaskExecutors.PLATFORM_THREADS.newExecutor('test-task', 1)
+
+        when:
+        Thread thread = executor.submit({ Thread.currentThread() } as Callable).get(5, TimeUnit.SECONDS)
+
+        then:
+        thread.getName() == 'test-task-0'
+        thread.isDaemon()
+    }
+
+    def 'Bounded executors run at most as many tasks at once as their parallelism'() {
+        setup:
+        executor = new BoundedExecutorService(Executors.newCachedThreadPool(), 2)
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def release = new CountDownLatch(1)
+
+        when:
+        def futures = (1..6).collect {
+            executor.submit({
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math.&max)
+                release.await(5, TimeUnit.SECONDS)
+                running.decrementAndGet()
+            } as Callable)
+        }
+        sleep(100)
+        def runningBeforeRelease = running.get()
+        release.countDown()
+        futures*.get(5, TimeUnit.SECONDS)
+
+        then:
+        runningBeforeRelease == 2
+        maxRunning.get() == 2
+    }
+
+    def 'Bounded executors run queued tasks after they were shut down'() {
+        setup:
+        executor = new BoundedExecutorService(Executors.newCachedThreadPool(), 1)
+        def completed = new AtomicInteger()
+
+        when:
+        3.times { executor.execute({ sleep(20); completed.incrementAndGet() }) }
+        executor.shutdown()
+
+        then:
+        executor.awaitTermination(5, TimeUnit.SECONDS)
+        completed.get() == 3
+
+        when:
+        executor.execute({})
+
+        then:
+        thrown(RejectedExecutionException)
+    }
+
+    def 'Non-positive parallelism throws IllegalArgumentException'() {
+        when:
+        TaskExecutors.getDefault().newExecutor('test-task', 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -21,6 +21,8 @@ import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import spock.lang.Specification
 
+import java.util.concurrent.Executor
+
 class BaseFunctionFieldTest extends Specification {
 
     final List<Object> FUNCTION_PATH = [TestBaseFunctionField.DEFAULT_FIELD_NAME]
@@ -88,6 +90,62 @@ class BaseFunctionFieldTest extends Specification {
         errorCodes.containsAll(functionError)
     }
 
+    def 'Error codes and description are computed once per function type'() {
+        when:
+        def otherFunctionField = functionField.newInstance()
+
+        then:
+        functionField.getErrorCodes().is(otherFunctionField.getErrorCodes())
+        functionField.getDescription().is(functionField.getDescription())
+        functionField.getDescription() == otherFunctionField.getDescription()
+        functionField.getDescription().contains(TestBaseFunctionField.FUNCTION_TEST_ERROR)
+    }
+
+    def 'Error codes are computed separately for functions of the same type with different names'() {
+        when:
+        def otherFunctionField = new TestBaseFunctionField('otherFunction')
+
+        then:
+        !functionField.getErrorCodes().is(otherFunctionField.getErrorCodes())
+        functionField.getErrorCodes() == otherFunctionField.getErrorCodes()
+    }
+
+    def 'Asynchronous execution reports invalid arguments without using the executor'() {
+        setup:
+        functionField.failValidation(true)
+        def executor = Mock(Executor)
+
+        when:
+        def report = functionField.executeAsync(null, FUNCTION_PATH, null, executor).toCompletableFuture().getNow(null)
+
+        then:
+        0 * executor.execute(_)
+        report.getErrorMessages().size() == 1
+        report.getErrorMessages()[0].getCode() == DefaultMessages.EMPTY_FIELD
+    }
+
+    def 'Asynchronous execution performs the function on the executor'() {
+        setup:
+        functionField.failValidation(false)
+        List<Runnable> tasks = []
+        Executor executor = { Runnable task -> tasks.add(task) }
+
+        when:
+        def execution = functionField.executeAsync(null, FUNCTION_PATH, null, executor).toCompletableFuture()
+
+        then:
+        tasks.size() == 1
+        !execution.isDone()
+
+        when:
+        tasks[0].run()
+
+        then:
+        execution.isDone()
+        !execution.get().containsErrorMessages()
+        execution.get().isResultPresent()
+    }
+
     class TestBaseFunctionField extends BaseFunctionField<StringField> {
 
         static String DEFAULT_FIELD_NAME = 'testBaseFunctionField'
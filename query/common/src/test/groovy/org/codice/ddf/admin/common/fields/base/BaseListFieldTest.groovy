@@ -19,6 +19,8 @@ import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import spock.lang.Specification
 
+import java.util.concurrent.Callable
+
 class BaseListFieldTest extends Specification {
 
     static final String TEST_LIST_FIELD_NAME = "testListFieldName"
@@ -131,6 +133,75 @@ class BaseListFieldTest extends Specification {
         listField.getList()[1].getPath() == [TEST_LIST_FIELD_NAME, 1]
     }
 
+    def 'Setting list values creates a single entry per value'() {
+        setup:
+        def createdEntries = 0
+        def countingListField = new StringField.ListImpl(TEST_LIST_FIELD_NAME) {
+            @Override
+            Callable<StringField> getCreateListEntryCallable() {
+                return { createdEntries++; new StringField() }
+            }
+        }
+
+        when:
+        countingListField.setValue(['string1', 'string2', 'string3'])
+
+        then:
+        createdEntries == 3
+        countingListField.getValue() == ['string1', 'string2', 'string3']
+    }
+
+    def 'Elements added after the path was set get the path of their index'() {
+        when:
+        listField.setValue(['string1'])
+        listField.add(new StringField())
+
+        then:
+        listField.getList()[0].getPath() == [TEST_LIST_FIELD_NAME, 0]
+        listField.getList()[1].getPath() == [TEST_LIST_FIELD_NAME, 1]
+    }
+
+    def 'Validation messages of large lists are in the order of the elements'() {
+        setup:
+        def values = (0..<1024).collect {
+            it % 100 == 0 ? '' : 'valid'
+        }
+        listField.setValue(values)
+
+        when:
+        def validationMsgs = listField.validate()
+
+        then:
+        validationMsgs.size() == values.count('')
+        validationMsgs*.getCode().every { it == DefaultMessages.EMPTY_FIELD }
+        validationMsgs*.getPath() == values.findIndexValues { it == '' }.collect {
+            [TEST_LIST_FIELD_NAME, it.intValue()]
+        }
+    }
+
+    def 'Validating a required list does not build the value of the list'() {
+        setup:
+        def requiredListField = new StringField.ListImpl(TEST_LIST_FIELD_NAME) {
+            @Override
+            List getValue() {
+                throw new UnsupportedOperationException()
+            }
+        }
+        requiredListField.isRequired(true)
+        requiredListField.setPath(LIST_FIELD_PATH)
+
+        when:
+        def missingValueMsgs = requiredListField.validate()
+        requiredListField.setValue(['string1'])
+        def validMsgs = requiredListField.validate()
+
+        then:
+        missingValueMsgs.size() == 1
+        missingValueMsgs[0].getCode() == DefaultMessages.MISSING_REQUIRED_FIELD
+        missingValueMsgs[0].getPath() == [TEST_LIST_FIELD_NAME]
+        validMsgs.isEmpty()
+    }
+
     def 'Returns all the possible error codes correctly'(){
         setup:
         def emptyFieldElement = new StringField('emptyFieldElement')
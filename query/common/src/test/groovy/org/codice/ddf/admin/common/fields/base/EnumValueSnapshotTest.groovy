@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.fields.base
+
+import org.codice.ddf.admin.api.fields.EnumValue
+import spock.lang.Specification
+
+class EnumValueSnapshotTest extends Specification {
+
+    def 'Finds enum values equal to the value'() {
+        setup:
+        def snapshot = EnumValueSnapshot.of([enumValue('ENUM_A'), enumValue('ENUM_B')])
+
+        expect:
+        snapshot.find('ENUM_B') == 'ENUM_B'
+        snapshot.contains('ENUM_B')
+        snapshot.find('ENUM_C') == null
+        !snapshot.contains('ENUM_C')
+        snapshot.find(null) == null
+    }
+
+    def 'Finds the first string enum value that is equal to the value ignoring case'() {
+        setup:
+        def snapshot = EnumValueSnapshot.of([enumValue('basic'), enumValue('BASIC'), enumValue('PKI')])
+
+        expect:
+        snapshot.find('Basic') == 'basic'
+        snapshot.find('BASIC') == 'basic'
+        snapshot.find('pki') == 'PKI'
+        !snapshot.contains('pki')
+    }
+
+    def 'Missing enum values give an empty snapshot'() {
+        expect:
+        EnumValueSnapshot.of(values).getEnumValues().isEmpty()
+        EnumValueSnapshot.of(values).find('ENUM_A') == null
+
+        where:
+        values << [null, []]
+    }
+
+    def 'The enum values of a snapshot do not change with the source list'() {
+        setup:
+        def values = [enumValue('ENUM_A')]
+        def snapshot = EnumValueSnapshot.of(values)
+
+        when:
+        values.add(enumValue('ENUM_B'))
+
+        then:
+        snapshot.getEnumValues()*.getValue() == ['ENUM_A']
+        !snapshot.contains('ENUM_B')
+    }
+
+    EnumValue<String> enumValue(String value) {
+        return new EnumValue<String>() {
+            @Override
+            String getEnumTitle() {
+                return value
+            }
+
+            @Override
+            String getDescription() {
+                return value
+            }
+
+            @Override
+            String getValue() {
+                return value
+            }
+        }
+    }
+}
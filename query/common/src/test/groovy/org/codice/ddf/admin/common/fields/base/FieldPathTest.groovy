@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.fields.base
+
+import spock.lang.Specification
+
+class FieldPathTest extends Specification {
+
+    def 'Child paths contain the segments of their parent path'() {
+        when:
+        def parent = FieldPath.of(['function', 'arg'])
+        def child = parent.child(0).child('field')
+
+        then:
+        parent == ['function', 'arg']
+        child == ['function', 'arg', 0, 'field']
+        child.size() == 4
+        child.get(2) == 0
+        child.toArray() == ['function', 'arg', 0, 'field'].toArray()
+    }
+
+    def 'Field paths are iterated without looking up every index'() {
+        setup:
+        def path = FieldPath.EMPTY
+        (0..<5_000).each { path = path.child(it) }
+
+        expect:
+        !(path instanceof RandomAccess)
+        path.iterator().collect() == (0..<5_000).toList()
+        path.listIterator(5_000).previous() == 4_999
+        path == FieldPath.of((0..<5_000).toList())
+        path.hashCode() == (0..<5_000).toList().hashCode()
+    }
+
+    def 'Converting a field path returns the same instance'() {
+        setup:
+        def path = FieldPath.EMPTY.child('function')
+
+        expect:
+        FieldPath.of(path).is(path)
+        FieldPath.of(null).isEmpty()
+    }
+
+    def 'Field paths cannot be modified'() {
+        when:
+        FieldPath.of(['function']).add('arg')
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def 'Accessing a segment outside of the path fails'() {
+        when:
+        FieldPath.of(['function']).get(1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+}
@@ -93,4 +93,24 @@ class ContextPathTest extends Specification {
         errorCodes.contains(missingContextPathValidation.get(0).getCode())
         errorCodes.contains(invalidContextPathValidation.get(0).getCode())
     }
+
+    def 'Context path lists ignore duplicate paths'() {
+        setup:
+        def contextPaths = new ContextPath.ListImpl()
+
+        when:
+        contextPaths.setValue(['/a', '/b', '/a'])
+        contextPaths.add(new ContextPath('/b'))
+        contextPaths.add(new ContextPath('/c'))
+
+        then:
+        contextPaths.getValue() == ['/a', '/b', '/c']
+
+        when:
+        contextPaths.setValue(null)
+        contextPaths.setValue(['/c', '/a', '/c'])
+
+        then:
+        contextPaths.getValue() == ['/c', '/a']
+    }
 }
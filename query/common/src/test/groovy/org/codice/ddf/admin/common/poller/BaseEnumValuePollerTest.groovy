@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.poller
+
+import org.codice.ddf.admin.api.fields.EnumValue
+import spock.lang.Specification
+
+class BaseEnumValuePollerTest extends Specification {
+
+    TestPoller poller = new TestPoller()
+
+    def 'Snapshots are reused until the enum values change'() {
+        setup:
+        poller.values = ['ENUM_A']
+
+        when:
+        def snapshot = poller.getEnumValueSnapshot()
+
+        then:
+        poller.getEnumValueSnapshot().is(snapshot)
+        poller.polls == 1
+
+        when:
+        poller.values = ['ENUM_A', 'ENUM_B']
+        poller.refreshEnumValues()
+
+        then:
+        poller.getEnumValueSnapshot().contains('ENUM_B')
+        poller.polls == 2
+    }
+
+    def 'Snapshots taken while the enum values change are not reused'() {
+        setup:
+        poller.values = ['ENUM_A']
+        // The values change after they were polled, but before the snapshot is published
+        poller.onPoll = {
+            poller.values = ['ENUM_B']
+            poller.refreshEnumValues()
+        }
+
+        when:
+        def staleSnapshot = poller.getEnumValueSnapshot()
+        poller.onPoll = null
+        def snapshot = poller.getEnumValueSnapshot()
+
+        then:
+        staleSnapshot.contains('ENUM_A')
+        snapshot.contains('ENUM_B')
+        !snapshot.contains('ENUM_A')
+    }
+
+    static class TestPoller extends BaseEnumValuePoller<Object, String> {
+
+        List<String> values = []
+
+        int polls
+
+        Closure onPoll
+
+        @Override
+        List<EnumValue<String>> getEnumValues() {
+            polls++
+            List<EnumValue<String>> enumValues = values.collect { enumValue(it) }
+            onPoll?.call()
+            return enumValues
+        }
+
+        static EnumValue<String> enumValue(String value) {
+            return new EnumValue<String>() {
+                @Override
+                String getEnumTitle() {
+                    return value
+                }
+
+                @Override
+                String getDescription() {
+                    return value
+                }
+
+                @Override
+                String getValue() {
+                    return value
+                }
+            }
+        }
+    }
+}
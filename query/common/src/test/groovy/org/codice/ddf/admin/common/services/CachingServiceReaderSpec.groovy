@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.services
+
+import org.codice.ddf.admin.api.RequestCache
+import org.codice.ddf.internal.admin.configurator.actions.ServiceReader
+import spock.lang.Specification
+
+import java.util.function.Supplier
+
+class CachingServiceReaderSpec extends Specification {
+
+    ServiceReader serviceReader
+
+    CachingServiceReader cachingServiceReader
+
+    def setup() {
+        serviceReader = Mock(ServiceReader)
+        cachingServiceReader = new CachingServiceReader(serviceReader, new MapRequestCache())
+    }
+
+    def 'Identical service lookups only query the service registry once'() {
+        when:
+        def first = cachingServiceReader.getServices(String, '(filter=a)')
+        def second = cachingServiceReader.getServices(String, '(filter=a)')
+
+        then:
+        1 * serviceReader.getServices(String, '(filter=a)') >> (['service'] as Set)
+        first == ['service'] as Set
+        second == ['service'] as Set
+    }
+
+    def 'Service lookups with different filters are not shared'() {
+        when:
+        cachingServiceReader.getServices(String, '(filter=a)')
+        cachingServiceReader.getServices(String, '(filter=b)')
+        cachingServiceReader.getServices(String, null)
+
+        then:
+        3 * serviceReader.getServices(String, _) >> ([] as Set)
+    }
+
+    def 'Modifying the returned services does not modify the cached services'() {
+        setup:
+        serviceReader.getServices(String, null) >> (['service'] as Set)
+
+        when:
+        cachingServiceReader.getServices(String, null).clear()
+
+        then:
+        cachingServiceReader.getServices(String, null) == ['service'] as Set
+    }
+
+    def 'Missing service references are cached'() {
+        when:
+        def first = cachingServiceReader.getServiceReference(String)
+        def second = cachingServiceReader.getServiceReference(String)
+
+        then:
+        1 * serviceReader.getServiceReference(String) >> null
+        first == null
+        second == null
+    }
+
+    static class MapRequestCache implements RequestCache {
+
+        Map<Object, Object> values = [:]
+
+        @Override
+        def <T> T get(Object key, Supplier<T> loader) {
+            if (!values.containsKey(key)) {
+                values.put(key, loader.get())
+            }
+            return values.get(key)
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql;
+
+import graphql.servlet.GraphQLContext;
+
+/**
+ * {@link GraphQLContext} that additionally carries the {@link RequestCacheImpl} shared by the data
+ * fetchers of one GraphQL operation.
+ */
+public class AdminGraphQLContext extends GraphQLContext {
+
+  private final RequestCacheImpl requestCache = new RequestCacheImpl();
+
+  public AdminGraphQLContext(GraphQLContext context) {
+    super(context.getRequest(), context.getResponse());
+    setSubject(context.getSubject());
+    setFiles(context.getFiles());
+  }
+
+  public RequestCacheImpl getRequestCache() {
+    return requestCache;
+  }
+}
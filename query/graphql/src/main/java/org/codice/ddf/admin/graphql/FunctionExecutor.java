@@ -0,0 +1,287 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql;
+
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.codice.ddf.admin.common.concurrent.TaskExecutorFactory;
+import org.codice.ddf.admin.common.concurrent.TaskExecutors;
+import org.codice.ddf.admin.graphql.metrics.LatencyReservoir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded executor running the functions of GraphQL requests on an executor created by a {@link
+ * TaskExecutorFactory}. Tasks are run with the security context and class loader of the thread
+ * submitting them. At most {@code threadCount + queueCapacity} tasks are in flight. Further tasks
+ * are run on the submitting thread instead of being rejected, which slows callers down rather than
+ * failing their requests.
+ */
+public class FunctionExecutor implements Executor, FunctionExecutorMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FunctionExecutor.class);
+
+  private static final String OBJECT_NAME = "org.codice.ddf.admin.graphql:type=FunctionExecutor";
+
+  public static final int DEFAULT_THREAD_COUNT = 16;
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+  public static final long DEFAULT_SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  private static final String THREAD_NAME = "graphql-function";
+
+  private static final double P50 = 0.5;
+
+  private static final double P99 = 0.99;
+
+  private final ExecutorService executor;
+
+  private final String backend;
+
+  private final int threadCount;
+
+  private final int queueCapacity;
+
+  private final Semaphore inFlightPermits;
+
+  private final AtomicInteger activeCount = new AtomicInteger();
+
+  private final LongAdder submittedCount = new LongAdder();
+
+  private final LongAdder completedCount = new LongAdder();
+
+  private final LongAdder callerRunsCount = new LongAdder();
+
+  private final LatencyReservoir queueWait = new LatencyReservoir();
+
+  private final MBeanServer mBeanServer;
+
+  public FunctionExecutor() {
+    this(TaskExecutors.getDefault(), DEFAULT_THREAD_COUNT, DEFAULT_QUEUE_CAPACITY, null);
+  }
+
+  public FunctionExecutor(
+      TaskExecutorFactory executorFactory,
+      int threadCount,
+      int queueCapacity,
+      MBeanServer mBeanServer) {
+    this.backend = executorFactory.getName();
+    this.threadCount = threadCount;
+    this.queueCapacity = queueCapacity;
+    this.mBeanServer = mBeanServer;
+
+    executor = executorFactory.newExecutor(THREAD_NAME, threadCount);
+    inFlightPermits = new Semaphore(threadCount + queueCapacity);
+
+    registerMBean();
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    submittedCount.increment();
+
+    AccessControlContext accessControlContext = AccessController.getContext();
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    long submitTime = System.nanoTime();
+
+    Runnable task = () -> runWithContext(command, accessControlContext, contextClassLoader);
+
+    if (!inFlightPermits.tryAcquire()) {
+      runOnCaller(task);
+      return;
+    }
+
+    try {
+      executor.execute(
+          () -> {
+            try {
+              // Only tasks that were queued for the executor waited, so the queue wait of tasks run
+              // on the caller is not recorded
+              queueWait.record(System.nanoTime() - submitTime);
+              task.run();
+            } finally {
+              inFlightPermits.release();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      inFlightPermits.release();
+      runOnCaller(task);
+    }
+  }
+
+  /**
+   * Stops the executor, waiting up to {@link #DEFAULT_SHUTDOWN_TIMEOUT_SECONDS} for the submitted
+   * functions to complete, and unregisters its MBean.
+   *
+   * @see #close(long, TimeUnit)
+   */
+  public void close() {
+    close(DEFAULT_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Stops the executor and unregisters its MBean. The submitted functions are given the timeout to
+   * complete. Once it has elapsed, the running functions are interrupted and the functions that are
+   * still queued are run on the calling thread, so that the result of every submitted function
+   * completes and no request waits for it forever. Functions submitted after the executor has been
+   * closed are run on the submitting thread.
+   *
+   * @param timeout maximum time to wait for the submitted functions to complete
+   * @param unit unit of the timeout
+   */
+  public void close(long timeout, TimeUnit unit) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(timeout, unit)) {
+        runQueuedTasks(executor.shutdownNow());
+      }
+    } catch (InterruptedException e) {
+      runQueuedTasks(executor.shutdownNow());
+      Thread.currentThread().interrupt();
+    }
+
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      mBeanServer.unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (InstanceNotFoundException e) {
+      LOGGER.trace("Function executor MBean was already unregistered.");
+    } catch (JMException e) {
+      LOGGER.debug("Failed to unregister function executor MBean.", e);
+    }
+  }
+
+  @Override
+  public String getBackend() {
+    return backend;
+  }
+
+  @Override
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  @Override
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  @Override
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  @Override
+  public int getQueueSize() {
+    int inFlight = threadCount + queueCapacity - inFlightPermits.availablePermits();
+    return Math.max(0, inFlight - activeCount.get());
+  }
+
+  @Override
+  public long getSubmittedCount() {
+    return submittedCount.sum();
+  }
+
+  @Override
+  public long getCompletedCount() {
+    return completedCount.sum();
+  }
+
+  @Override
+  public long getCallerRunsCount() {
+    return callerRunsCount.sum();
+  }
+
+  @Override
+  public double getQueueWaitP50Millis() {
+    return queueWait.getPercentileMillis(P50);
+  }
+
+  @Override
+  public double getQueueWaitP99Millis() {
+    return queueWait.getPercentileMillis(P99);
+  }
+
+  private void runQueuedTasks(List<Runnable> queuedTasks) {
+    if (!queuedTasks.isEmpty()) {
+      LOGGER.debug(
+          "Running {} queued functions on the caller since the executor was closed.",
+          queuedTasks.size());
+    }
+    queuedTasks.forEach(this::runOnCaller);
+  }
+
+  // Also used once the executor is shut down, so that no submitted function is left incomplete
+  private void runOnCaller(Runnable task) {
+    callerRunsCount.increment();
+    task.run();
+  }
+
+  private void runWithContext(
+      Runnable command, AccessControlContext accessControlContext, ClassLoader classLoader) {
+    Thread thread = Thread.currentThread();
+    ClassLoader originalClassLoader = thread.getContextClassLoader();
+    thread.setContextClassLoader(classLoader);
+    activeCount.incrementAndGet();
+    try {
+      AccessController.doPrivileged(
+          (PrivilegedAction<Void>)
+              () -> {
+                command.run();
+                return null;
+              },
+          accessControlContext);
+    } finally {
+      thread.setContextClassLoader(originalClassLoader);
+      activeCount.decrementAndGet();
+      completedCount.increment();
+    }
+  }
+
+  private void registerMBean() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+      try {
+        mBeanServer.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        // Left behind by a previous instance of the servlet
+        mBeanServer.unregisterMBean(objectName);
+        mBeanServer.registerMBean(this, objectName);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Failed to register function executor MBean.", e);
+    }
+  }
+}
@@ -46,4 +46,10 @@ public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLT
   public T getType(String typeName) {
     return types.get(typeName);
   }
+
+  public void removeType(String typeName) {
+    if (typeName != null) {
+      types.remove(typeName);
+    }
+  }
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.codice.ddf.admin.api.RequestCache;
+
+/**
+ * {@link RequestCache} of a single GraphQL request. Loaders are invoked outside of any lock, so a
+ * loader may itself look up other keys. Concurrent loads of the same key may both invoke the
+ * loader, but only the first loaded value is kept and returned.
+ */
+public class RequestCacheImpl implements RequestCache {
+
+  private static final Object NULL_VALUE = new Object();
+
+  private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Supplier<T> loader) {
+    Object value = values.get(key);
+    if (value == null) {
+      T loaded = loader.get();
+      value = values.putIfAbsent(key, loaded == null ? NULL_VALUE : loaded);
+      if (value == null) {
+        return loaded;
+      }
+    }
+
+    return value == NULL_VALUE ? null : (T) value;
+  }
+
+  /** Discards all cached values, for instance after a function changed the configuration. */
+  public void invalidateAll() {
+    values.clear();
+  }
+
+  public int size() {
+    return values.size();
+  }
+}
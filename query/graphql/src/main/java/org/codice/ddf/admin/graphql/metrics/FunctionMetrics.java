@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.codice.ddf.admin.api.report.ErrorMessage;
+import org.codice.ddf.admin.api.report.FunctionReport;
+
+public class FunctionMetrics implements FunctionMetricsMXBean {
+
+  private static final double P50 = 0.5;
+
+  private static final double P99 = 0.99;
+
+  private final String name;
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder errorCount = new LongAdder();
+
+  private final Map<String, LongAdder> errorCodeCounts = new ConcurrentHashMap<>();
+
+  private final LatencyReservoir latency = new LatencyReservoir();
+
+  // The reservoir only keeps the most recent samples, so the maximum of all executions is tracked
+  // separately
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  private final LatencyReservoir validationLatency = new LatencyReservoir();
+
+  private final LatencyReservoir performFunctionLatency = new LatencyReservoir();
+
+  public FunctionMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Records a function execution.
+   *
+   * @param latencyNanos total time the execution took
+   * @param report report of the execution, or null if the execution failed with an exception
+   */
+  public void record(long latencyNanos, FunctionReport<?> report) {
+    count.increment();
+    latency.record(latencyNanos);
+    maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+
+    if (report == null) {
+      errorCount.increment();
+      return;
+    }
+
+    validationLatency.record(report.getValidationTimeNanos());
+    if (report.containsErrorMessages()) {
+      errorCount.increment();
+      for (ErrorMessage message : report.getErrorMessages()) {
+        errorCodeCounts.computeIfAbsent(message.getCode(), code -> new LongAdder()).increment();
+      }
+    } else {
+      performFunctionLatency.record(report.getPerformFunctionTimeNanos());
+    }
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public long getCount() {
+    return count.sum();
+  }
+
+  @Override
+  public long getErrorCount() {
+    return errorCount.sum();
+  }
+
+  @Override
+  public double getLatencyP50Millis() {
+    return latency.getPercentileMillis(P50);
+  }
+
+  @Override
+  public double getLatencyP99Millis() {
+    return latency.getPercentileMillis(P99);
+  }
+
+  @Override
+  public double getMaxLatencyMillis() {
+    return maxLatencyNanos.get() / 1_000_000d;
+  }
+
+  @Override
+  public double getValidationP50Millis() {
+    return validationLatency.getPercentileMillis(P50);
+  }
+
+  @Override
+  public double getValidationP99Millis() {
+    return validationLatency.getPercentileMillis(P99);
+  }
+
+  @Override
+  public double getPerformFunctionP50Millis() {
+    return performFunctionLatency.getPercentileMillis(P50);
+  }
+
+  @Override
+  public double getPerformFunctionP99Millis() {
+    return performFunctionLatency.getPercentileMillis(P99);
+  }
+
+  @Override
+  public Map<String, Long> getErrorCodeCounts() {
+    Map<String, Long> counts = new TreeMap<>();
+    errorCodeCounts.forEach((code, codeCount) -> counts.put(code, codeCount.sum()));
+    return counts;
+  }
+
+  /** @return the metrics as a map whose keys match the fields of the GraphQL metrics type */
+  public Map<String, Object> toMap() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("name", getName());
+    metrics.put("count", getCount());
+    metrics.put("errorCount", getErrorCount());
+    metrics.put("latencyP50Millis", getLatencyP50Millis());
+    metrics.put("latencyP99Millis", getLatencyP99Millis());
+    metrics.put("maxLatencyMillis", getMaxLatencyMillis());
+    metrics.put("validationP50Millis", getValidationP50Millis());
+    metrics.put("validationP99Millis", getValidationP99Millis());
+    metrics.put("performFunctionP50Millis", getPerformFunctionP50Millis());
+    metrics.put("performFunctionP99Millis", getPerformFunctionP99Millis());
+
+    List<Map<String, Object>> errorCodes = new ArrayList<>();
+    getErrorCodeCounts()
+        .forEach(
+            (code, codeCount) -> {
+              Map<String, Object> errorCode = new HashMap<>();
+              errorCode.put("code", code);
+              errorCode.put("count", codeCount);
+              errorCodes.add(errorCode);
+            });
+    metrics.put("errorCodes", errorCodes);
+    return metrics;
+  }
+}
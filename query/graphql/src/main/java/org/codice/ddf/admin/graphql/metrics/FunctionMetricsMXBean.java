@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.metrics;
+
+import java.util.Map;
+
+/**
+ * Execution metrics of a single GraphQL function. Latency percentiles cover the most recent
+ * executions, the maximum latency covers all executions.
+ */
+public interface FunctionMetricsMXBean {
+
+  String getName();
+
+  long getCount();
+
+  long getErrorCount();
+
+  double getLatencyP50Millis();
+
+  double getLatencyP99Millis();
+
+  double getMaxLatencyMillis();
+
+  double getValidationP50Millis();
+
+  double getValidationP99Millis();
+
+  double getPerformFunctionP50Millis();
+
+  double getPerformFunctionP99Millis();
+
+  Map<String, Long> getErrorCodeCounts();
+}
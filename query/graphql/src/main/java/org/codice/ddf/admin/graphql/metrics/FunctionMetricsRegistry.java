@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.codice.ddf.admin.api.report.FunctionReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the {@link FunctionMetrics} of every executed function. When created with an {@link
+ * MBeanServer}, the metrics of each function are also registered as an MBean.
+ */
+public class FunctionMetricsRegistry {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FunctionMetricsRegistry.class);
+
+  private static final String OBJECT_NAME_FORMAT =
+      "org.codice.ddf.admin.graphql:type=FunctionMetrics,name=%s";
+
+  private final Map<String, FunctionMetrics> metrics = new ConcurrentHashMap<>();
+
+  private final MBeanServer mBeanServer;
+
+  public FunctionMetricsRegistry() {
+    this(null);
+  }
+
+  public FunctionMetricsRegistry(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+  }
+
+  /**
+   * Records a function execution.
+   *
+   * @param functionName name identifying the function
+   * @param latencyNanos total time the execution took
+   * @param report report of the execution, or null if the execution failed with an exception
+   */
+  public void record(String functionName, long latencyNanos, FunctionReport<?> report) {
+    metrics.computeIfAbsent(functionName, this::createMetrics).record(latencyNanos, report);
+  }
+
+  /** @return the metrics of all functions executed so far, ordered by name */
+  public List<FunctionMetrics> getMetrics() {
+    List<FunctionMetrics> allMetrics = new ArrayList<>(metrics.values());
+    allMetrics.sort(Comparator.comparing(FunctionMetrics::getName));
+    return allMetrics;
+  }
+
+  /** Unregisters all MBeans registered by this registry. */
+  public void close() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    for (String functionName : metrics.keySet()) {
+      try {
+        mBeanServer.unregisterMBean(objectName(functionName));
+      } catch (InstanceNotFoundException e) {
+        LOGGER.trace("Function metrics MBean of {} was already unregistered.", functionName);
+      } catch (JMException e) {
+        LOGGER.debug("Failed to unregister function metrics MBean of {}.", functionName, e);
+      }
+    }
+  }
+
+  private FunctionMetrics createMetrics(String functionName) {
+    FunctionMetrics functionMetrics = new FunctionMetrics(functionName);
+
+    if (mBeanServer != null) {
+      try {
+        ObjectName objectName = objectName(functionName);
+        try {
+          mBeanServer.registerMBean(functionMetrics, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+          // Left behind by a previous instance of the servlet
+          mBeanServer.unregisterMBean(objectName);
+          mBeanServer.registerMBean(functionMetrics, objectName);
+        }
+      } catch (JMException e) {
+        LOGGER.debug("Failed to register function metrics MBean of {}.", functionName, e);
+      }
+    }
+
+    return functionMetrics;
+  }
+
+  private static ObjectName objectName(String functionName) throws JMException {
+    return new ObjectName(String.format(OBJECT_NAME_FORMAT, ObjectName.quote(functionName)));
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent latency samples in a fixed size ring buffer. Percentiles are computed from
+ * a copy of the samples when they are read, which keeps recording cheap.
+ */
+public class LatencyReservoir {
+
+  public static final int DEFAULT_SIZE = 1024;
+
+  private final long[] samples;
+
+  private final AtomicLong count = new AtomicLong();
+
+  public LatencyReservoir() {
+    this(DEFAULT_SIZE);
+  }
+
+  public LatencyReservoir(int size) {
+    samples = new long[size];
+  }
+
+  public void record(long nanos) {
+    long index = count.getAndIncrement();
+    samples[(int) (index % samples.length)] = nanos;
+  }
+
+  /**
+   * @param percentile percentile between 0 and 1
+   * @return the latency at the given percentile in milliseconds, or 0 if nothing was recorded
+   */
+  public double getPercentileMillis(double percentile) {
+    long[] snapshot = snapshot();
+    if (snapshot.length == 0) {
+      return 0;
+    }
+
+    Arrays.sort(snapshot);
+    int index = (int) Math.ceil(percentile * snapshot.length) - 1;
+    return toMillis(snapshot[Math.max(0, Math.min(index, snapshot.length - 1))]);
+  }
+
+  private long[] snapshot() {
+    int size = (int) Math.min(count.get(), samples.length);
+    return Arrays.copyOf(samples, size);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1_000_000d;
+  }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.metrics;
+
+import static graphql.Scalars.GraphQLFloat;
+import static graphql.Scalars.GraphQLLong;
+import static graphql.Scalars.GraphQLString;
+
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.servlet.GraphQLQueryProvider;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Provides the {@code metrics} query returning the execution metrics of all functions and the
+ * {@code schemaMetrics} query returning the metrics of the schema rebuilds.
+ */
+public class MetricsQueryProvider implements GraphQLQueryProvider {
+
+  private final GraphQLFieldDefinition metricsQuery;
+
+  private final GraphQLFieldDefinition schemaMetricsQuery;
+
+  public MetricsQueryProvider(FunctionMetricsRegistry registry, SchemaMetrics schemaMetrics) {
+    GraphQLObjectType errorCodeCountType =
+        GraphQLObjectType.newObject()
+            .name("FunctionErrorCodeCount")
+            .description("The amount of times a function returned an error code.")
+            .field(field("code", GraphQLString, "The error code."))
+            .field(field("count", GraphQLLong, "The amount of times the error code was returned."))
+            .build();
+
+    GraphQLObjectType functionMetricsType =
+        GraphQLObjectType.newObject()
+            .name("FunctionMetrics")
+            .description(
+                "Execution metrics of a function. Latency percentiles cover the most recent executions.")
+            .field(field("name", GraphQLString, "The path of the function."))
+            .field(field("count", GraphQLLong, "The amount of executions."))
+            .field(field("errorCount", GraphQLLong, "The amount of executions that failed."))
+            .field(field("latencyP50Millis", GraphQLFloat, "The median execution time."))
+            .field(field("latencyP99Millis", GraphQLFloat, "The 99th percentile execution time."))
+            .field(
+                field(
+                    "maxLatencyMillis",
+                    GraphQLFloat,
+                    "The highest execution time of all executions."))
+            .field(
+                field(
+                    "validationP50Millis",
+                    GraphQLFloat,
+                    "The median time spent validating arguments."))
+            .field(
+                field(
+                    "validationP99Millis",
+                    GraphQLFloat,
+                    "The 99th percentile time spent validating arguments."))
+            .field(
+                field(
+                    "performFunctionP50Millis",
+                    GraphQLFloat,
+                    "The median time spent performing the function."))
+            .field(
+                field(
+                    "performFunctionP99Millis",
+                    GraphQLFloat,
+                    "The 99th percentile time spent performing the function."))
+            .field(
+                field(
+                    "errorCodes",
+                    GraphQLList.list(errorCodeCountType),
+                    "The error codes returned by the function."))
+            .build();
+
+    metricsQuery =
+        GraphQLFieldDefinition.newFieldDefinition()
+            .name("metrics")
+            .description("Returns the execution metrics of all functions executed so far.")
+            .type(GraphQLList.list(functionMetricsType))
+            .dataFetcher(
+                env ->
+                    registry.getMetrics().stream()
+                        .map(FunctionMetrics::toMap)
+                        .collect(Collectors.toList()))
+            .build();
+
+    GraphQLObjectType schemaMetricsType =
+        GraphQLObjectType.newObject()
+            .name("SchemaMetrics")
+            .description("Metrics of the rebuilds of the schema.")
+            .field(field("rebuildCount", GraphQLLong, "The amount of schema rebuilds."))
+            .field(
+                field(
+                    "lastRebuildTimeMillis",
+                    GraphQLLong,
+                    "The time the most recent schema rebuild took."))
+            .field(
+                field(
+                    "maxRebuildTimeMillis",
+                    GraphQLLong,
+                    "The time the longest schema rebuild took."))
+            .build();
+
+    schemaMetricsQuery =
+        GraphQLFieldDefinition.newFieldDefinition()
+            .name("schemaMetrics")
+            .description("Returns the metrics of the schema rebuilds.")
+            .type(schemaMetricsType)
+            .dataFetcher(env -> schemaMetrics.toMap())
+            .build();
+  }
+
+  @Override
+  public Collection<GraphQLFieldDefinition> getQueries() {
+    return Arrays.asList(metricsQuery, schemaMetricsQuery);
+  }
+
+  private static GraphQLFieldDefinition field(
+      String name, GraphQLOutputType type, String description) {
+    return GraphQLFieldDefinition.newFieldDefinition()
+        .name(name)
+        .description(description)
+        .type(type)
+        .build();
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the rebuilds of the GraphQL schema. When created with an {@link MBeanServer}, the metrics
+ * are also registered as an MBean.
+ */
+public class SchemaMetrics implements SchemaMetricsMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaMetrics.class);
+
+  private static final String OBJECT_NAME = "org.codice.ddf.admin.graphql:type=SchemaMetrics";
+
+  private final AtomicLong rebuildCount = new AtomicLong();
+
+  private final AtomicLong maxRebuildTimeMillis = new AtomicLong();
+
+  private volatile long lastRebuildTimeMillis;
+
+  private final MBeanServer mBeanServer;
+
+  public SchemaMetrics() {
+    this(null);
+  }
+
+  public SchemaMetrics(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+    registerMBean();
+  }
+
+  /**
+   * Records a rebuild of the schema.
+   *
+   * @param durationNanos time the rebuild took
+   */
+  public void recordRebuild(long durationNanos) {
+    long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    lastRebuildTimeMillis = durationMillis;
+    maxRebuildTimeMillis.accumulateAndGet(durationMillis, Math::max);
+    rebuildCount.incrementAndGet();
+  }
+
+  @Override
+  public long getRebuildCount() {
+    return rebuildCount.get();
+  }
+
+  @Override
+  public long getLastRebuildTimeMillis() {
+    return lastRebuildTimeMillis;
+  }
+
+  @Override
+  public long getMaxRebuildTimeMillis() {
+    return maxRebuildTimeMillis.get();
+  }
+
+  /** @return the metrics as a map whose keys match the fields of the GraphQL schema metrics type */
+  public Map<String, Object> toMap() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("rebuildCount", getRebuildCount());
+    metrics.put("lastRebuildTimeMillis", getLastRebuildTimeMillis());
+    metrics.put("maxRebuildTimeMillis", getMaxRebuildTimeMillis());
+    return metrics;
+  }
+
+  /** Unregisters the MBean of the metrics. */
+  public void close() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      mBeanServer.unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (InstanceNotFoundException e) {
+      LOGGER.trace("Schema metrics MBean was already unregistered.");
+    } catch (JMException e) {
+      LOGGER.debug("Failed to unregister schema metrics MBean.", e);
+    }
+  }
+
+  private void registerMBean() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+      try {
+        mBeanServer.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        // Left behind by a previous instance of the servlet
+        mBeanServer.unregisterMBean(objectName);
+        mBeanServer.registerMBean(this, objectName);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Failed to register schema metrics MBean.", e);
+    }
+  }
+}
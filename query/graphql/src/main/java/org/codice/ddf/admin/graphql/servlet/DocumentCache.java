@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import graphql.InvalidSyntaxError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LRU cache of parsed and validated GraphQL documents. Documents are only valid for the schema they
+ * were validated against, so entries are keyed by the query text and the schema instance the query
+ * was executed on. Since every schema refresh produces a new schema instance, entries of previous
+ * schemas are never served and are dropped by {@link #invalidateAll()} or evicted once the cache is
+ * full.
+ *
+ * <p>The cache is bounded by the total length of the cached query texts, since a query may be as
+ * large as the request body. Queries with syntax or validation errors are not cached, so invalid
+ * requests cannot displace the documents of valid ones. When created with an {@link MBeanServer},
+ * the statistics of the cache are registered as an MBean.
+ */
+public class DocumentCache implements DocumentCacheMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DocumentCache.class);
+
+  private static final String OBJECT_NAME = "org.codice.ddf.admin.graphql:type=DocumentCache";
+
+  /** Total length of the cached query texts. */
+  public static final long DEFAULT_MAXIMUM_WEIGHT = 5_000_000;
+
+  private final Cache<Key, PreparsedDocumentEntry> cache;
+
+  private final MBeanServer mBeanServer;
+
+  public DocumentCache() {
+    this(DEFAULT_MAXIMUM_WEIGHT, null);
+  }
+
+  /**
+   * @param maximumWeight maximum total length of the cached query texts
+   * @param mBeanServer server to register the statistics of the cache with, may be null
+   */
+  public DocumentCache(long maximumWeight, MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((Key key, PreparsedDocumentEntry entry) -> key.query.length())
+            .recordStats()
+            .build();
+
+    registerMBean();
+  }
+
+  /**
+   * Creates a {@link PreparsedDocumentProvider} that caches the documents of queries executed
+   * against the given {@code schema}.
+   *
+   * @param schema schema the documents are validated against
+   * @return the document provider for the schema
+   */
+  public PreparsedDocumentProvider forSchema(GraphQLSchema schema) {
+    return (query, parseAndValidate) -> get(schema, query, parseAndValidate);
+  }
+
+  private PreparsedDocumentEntry get(
+      GraphQLSchema schema,
+      String query,
+      Function<String, PreparsedDocumentEntry> parseAndValidate) {
+    Key key = new Key(schema, query);
+    PreparsedDocumentEntry document = cache.getIfPresent(key);
+    if (document == null) {
+      document = parseAndValidate.apply(query);
+      if (!document.hasErrors()) {
+        cache.put(key, document);
+      }
+    }
+    return document;
+  }
+
+  /**
+   * Parses and validates the {@code query} against the {@code schema} ahead of its first execution.
+   *
+   * @param schema schema the document is validated against
+   * @param query query text
+   * @return true if the query is valid for the schema, otherwise false
+   */
+  public boolean precompile(GraphQLSchema schema, String query) {
+    return !get(schema, query).hasErrors();
+  }
+
+  /**
+   * Returns the parsed and validated document of the {@code query}, parsing and validating it if it
+   * is not cached yet.
+   *
+   * @param schema schema the document is validated against
+   * @param query query text
+   * @return the document, or the syntax or validation errors of the query
+   */
+  public PreparsedDocumentEntry get(GraphQLSchema schema, String query) {
+    return get(schema, query, q -> parseAndValidate(schema, q));
+  }
+
+  // Mirrors the parsing and validation performed by graphql.GraphQL
+  private static PreparsedDocumentEntry parseAndValidate(GraphQLSchema schema, String query) {
+    Document document;
+    try {
+      document = new Parser().parseDocument(query);
+    } catch (RuntimeException e) {
+      return new PreparsedDocumentEntry(InvalidSyntaxError.toInvalidSyntaxError(e));
+    }
+
+    List<ValidationError> errors = new Validator().validateDocument(schema, document);
+    return errors.isEmpty()
+        ? new PreparsedDocumentEntry(document)
+        : new PreparsedDocumentEntry(errors);
+  }
+
+  /** Removes all cached documents. Should be called whenever the schema is rebuilt. */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /** Unregisters the MBean of the cache. */
+  public void close() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      mBeanServer.unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (InstanceNotFoundException e) {
+      LOGGER.trace("Document cache MBean was already unregistered.");
+    } catch (JMException e) {
+      LOGGER.debug("Failed to unregister document cache MBean.", e);
+    }
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /** @return the hit and miss statistics of the cache since it was created */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  @Override
+  public long getSize() {
+    return cache.size();
+  }
+
+  @Override
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  @Override
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  @Override
+  public double getHitRate() {
+    return cache.stats().hitRate();
+  }
+
+  @Override
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  private void registerMBean() {
+    if (mBeanServer == null) {
+      return;
+    }
+
+    try {
+      ObjectName objectName = new ObjectName(OBJECT_NAME);
+      try {
+        mBeanServer.registerMBean(this, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        // Left behind by a previous instance of the servlet
+        mBeanServer.unregisterMBean(objectName);
+        mBeanServer.registerMBean(this, objectName);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Failed to register document cache MBean.", e);
+    }
+  }
+
+  private static class Key {
+
+    private final GraphQLSchema schema;
+
+    private final String query;
+
+    private Key(GraphQLSchema schema, String query) {
+      this.schema = schema;
+      this.query = query;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      Key key = (Key) o;
+      return schema == key.schema && Objects.equals(query, key.query);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(schema) + Objects.hashCode(query);
+    }
+  }
+}
@@ -13,47 +13,77 @@
  */
 package org.codice.ddf.admin.graphql.servlet;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalNotification;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.google.common.cache.CacheStats;
 import com.google.common.net.HttpHeaders;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
 import graphql.GraphQLError;
 import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.AsyncSerialExecutionStrategy;
 import graphql.execution.DataFetcherExceptionHandlerParameters;
 import graphql.execution.ExecutionPath;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.introspection.IntrospectionQuery;
+import graphql.language.OperationDefinition;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLSchema;
 import graphql.servlet.DefaultGraphQLErrorHandler;
 import graphql.servlet.ExecutionStrategyProvider;
+import graphql.servlet.GraphQLContext;
 import graphql.servlet.GraphQLErrorHandler;
 import graphql.servlet.GraphQLMutationProvider;
 import graphql.servlet.GraphQLProvider;
 import graphql.servlet.GraphQLQueryProvider;
+import graphql.servlet.GraphQLSchemaProvider;
 import graphql.servlet.OsgiGraphQLServlet;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeoutException;
+import javax.security.auth.Subject;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.admin.api.Events;
 import org.codice.ddf.admin.api.FieldProvider;
 import org.codice.ddf.admin.api.report.ErrorMessage;
-import org.codice.ddf.admin.graphql.servlet.request.DelegateRequest;
-import org.codice.ddf.admin.graphql.servlet.request.DelegateResponse;
+import org.codice.ddf.admin.common.concurrent.TaskExecutors;
+import org.codice.ddf.admin.graphql.AdminGraphQLContext;
+import org.codice.ddf.admin.graphql.FunctionExecutor;
+import org.codice.ddf.admin.graphql.metrics.FunctionMetricsRegistry;
+import org.codice.ddf.admin.graphql.metrics.MetricsQueryProvider;
+import org.codice.ddf.admin.graphql.metrics.SchemaMetrics;
+import org.codice.ddf.admin.graphql.servlet.request.GraphQLBatchRequest;
+import org.codice.ddf.admin.graphql.servlet.request.GraphQLBatchResponseWriter;
+import org.codice.ddf.admin.graphql.servlet.request.GraphQLOperation;
 import org.codice.ddf.admin.graphql.transform.FunctionDataFetcherException;
 import org.codice.ddf.admin.graphql.transform.GraphQLTransformCommons;
+import org.codice.ddf.admin.graphql.transform.SchemaFingerprint;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
@@ -62,17 +92,30 @@ import org.slf4j.LoggerFactory;
 public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements EventHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedOsgiGraphQLServlet.class);
-  private static final long CACHE_EXPIRATION_IN_SECONDS = 1;
-  private static final long CACHE_CLEANUP_INVOCATION_IN_SECONDS = 1;
 
   private static final String BINDING_FIELD_PROVIDER = "GraphQL servlet binding field provider %s";
   private static final String UNBINDING_FIELD_PROVIDER =
       "GraphQL servlet unbinding field provider %s";
 
-  private Cache<String, Object> cache;
-  private ScheduledExecutorService scheduler;
+  private SchemaRefreshScheduler refreshScheduler;
+  private FunctionMetricsRegistry metricsRegistry;
+  private FunctionExecutor functionExecutor;
+  private volatile GraphQLSchemaProvider schemaProvider;
+  private SchemaSnapshotStore snapshotStore;
+  private volatile SchemaSnapshotStore.Snapshot startupSnapshot;
+  private volatile long startupSnapshotDeadline;
+  private String savedSnapshotFingerprint;
+  private ExecutorService batchExecutor;
+  private DocumentCache documentCache;
+  private PersistedQueries persistedQueries;
+  private QueryCostAnalyzer costAnalyzer;
+  private long batchTimeoutInSeconds;
   private List<FieldProvider> fieldProviders;
-  private List<GraphQLProviderImpl> transformedProviders;
+  private Map<FieldProvider, GraphQLProviderImpl> transformedProviders;
+  private GraphQLTransformCommons transformer;
+  private SchemaFingerprint schemaFingerprint;
+  private boolean rebuildingSchema;
+  private SchemaMetrics schemaMetrics;
   private ExecutionStrategyProvider execStrategy;
   private GraphQLErrorHandler errorHandler;
   private GraphQLQueryProvider errorCodeProvider;
@@ -81,6 +124,16 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
 
   private static final int MAX_QUERY_SIZE = 10;
 
+  private static final int BATCH_THREAD_POOL_SIZE = MAX_QUERY_SIZE;
+
+  private static final int BATCH_PARALLELISM = 3;
+
+  private static final long DEFAULT_BATCH_TIMEOUT_IN_SECONDS = 120;
+
+  private static final String SCHEMA_JSON_PATH = "/schema.json";
+
+  private static final long DEFAULT_STARTUP_SNAPSHOT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
   public static final String INVALID_BATCH_SIZE_MSG =
       "Invalid batch request size. The batch request size must be an integer less than or equal to "
           + MAX_QUERY_SIZE;
@@ -93,30 +146,58 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
   public static final String MISSING_CONTENT_LENGTH_HEADER_MSG =
       "Content-Length header is required.";
 
+  public static final String BATCH_TIMEOUT_MSG =
+      "Batch request exceeded the maximum execution time of %d seconds.";
+
+  public static final String BATCH_QUERY_FAILED_MSG = "Failed to execute batched query.";
+
+  // Matches the error message expected by automatic persisted query clients
+  public static final String PERSISTED_QUERY_NOT_FOUND_MSG = "PersistedQueryNotFound";
+
+  public static final String PERSISTED_QUERY_HASH_MISMATCH_MSG =
+      "The persisted query hash does not match the SHA-256 hash of the query.";
+
   public ExtendedOsgiGraphQLServlet() {
     super();
-    cache =
-        CacheBuilder.newBuilder()
-            .expireAfterWrite(CACHE_EXPIRATION_IN_SECONDS, TimeUnit.SECONDS)
-            .removalListener(this::refreshSchemaOnExpire)
-            .build();
-
-    scheduler = Executors.newScheduledThreadPool(1);
-    scheduler.scheduleAtFixedRate(
-        () -> cache.cleanUp(),
-        CACHE_CLEANUP_INVOCATION_IN_SECONDS,
-        CACHE_CLEANUP_INVOCATION_IN_SECONDS,
-        TimeUnit.SECONDS);
+    refreshScheduler = new SchemaRefreshScheduler(this::refreshSchema);
+
+    batchExecutor = TaskExecutors.getDefault().newExecutor("graphql-batch", BATCH_THREAD_POOL_SIZE);
+    batchTimeoutInSeconds = DEFAULT_BATCH_TIMEOUT_IN_SECONDS;
+    documentCache =
+        new DocumentCache(
+            DocumentCache.DEFAULT_MAXIMUM_WEIGHT, ManagementFactory.getPlatformMBeanServer());
+    persistedQueries = new PersistedQueries();
+    costAnalyzer = new QueryCostAnalyzer();
 
     fieldProviders = new ArrayList<>();
-    transformedProviders = new ArrayList<>();
+    transformedProviders = new IdentityHashMap<>();
+    metricsRegistry = new FunctionMetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+    functionExecutor =
+        new FunctionExecutor(
+            TaskExecutors.getDefault(),
+            FunctionExecutor.DEFAULT_THREAD_COUNT,
+            FunctionExecutor.DEFAULT_QUEUE_CAPACITY,
+            ManagementFactory.getPlatformMBeanServer());
+    transformer = new GraphQLTransformCommons(metricsRegistry, functionExecutor);
+    schemaMetrics = new SchemaMetrics(ManagementFactory.getPlatformMBeanServer());
+    bindProvider(new MetricsQueryProvider(metricsRegistry, schemaMetrics));
     execStrategy = new ExecutionStrategyProviderImpl();
     errorHandler = new GraphQLErrorHandlerImpl();
+
+    String ddfHome = System.getProperty("ddf.home");
+    if (ddfHome != null) {
+      loadSchemaSnapshot(Paths.get(ddfHome, "data", "admin-console", "graphql-schema.json"));
+    }
   }
 
   @Override
   public void destroy() {
-    scheduler.shutdownNow();
+    refreshScheduler.shutdown();
+    batchExecutor.shutdownNow();
+    functionExecutor.close();
+    metricsRegistry.close();
+    documentCache.close();
+    schemaMetrics.close();
   }
 
   @Override
@@ -136,6 +217,33 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     return errorHandler;
   }
 
+  /** Every operation gets its own context, and thereby its own request cache. */
+  @Override
+  protected GraphQLContext createContext(
+      Optional<HttpServletRequest> request, Optional<HttpServletResponse> response) {
+    return new AdminGraphQLContext(super.createContext(request, response));
+  }
+
+  /**
+   * Serves the schema introspection from the startup snapshot until the live schema has been
+   * verified against it, since the live schema is incomplete until all field providers are bound.
+   */
+  @Override
+  protected void doGet(HttpServletRequest request, HttpServletResponse response)
+      throws ServletException, IOException {
+    String path = request.getPathInfo() == null ? request.getServletPath() : request.getPathInfo();
+    SchemaSnapshotStore.Snapshot snapshot = getStartupSnapshot();
+
+    if (snapshot != null && SCHEMA_JSON_PATH.equals(path)) {
+      response.setContentType(APPLICATION_JSON_UTF8);
+      response.setStatus(STATUS_OK);
+      getMapper().writeValue(response.getOutputStream(), snapshot.getIntrospectionResult());
+      return;
+    }
+
+    super.doGet(request, response);
+  }
+
   @Override
   protected void doPost(HttpServletRequest originalRequest, HttpServletResponse originalResponse)
       throws ServletException, IOException {
@@ -162,100 +270,520 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     // TODO: tbatie - 6/9/17 - GraphQLServlet does not support batched requests even though a
     // BatchedExecutionStrategy exists. This should be fixed in the GraphQLServlet and contributed
     // back to graphql-java-servlet
-    List<String> responses = new ArrayList<>();
-    String originalReqContent = IOUtils.toString(originalRequest.getInputStream());
-    boolean isBatchRequest = isBatchRequest(originalReqContent);
-
     try {
-      List<String> splitReqs = splitQueries(originalReqContent);
+      GraphQLBatchRequest batchRequest =
+          GraphQLBatchRequest.parse(originalRequest.getInputStream(), MAX_QUERY_SIZE);
+      List<GraphQLOperation> operations = batchRequest.getOperations();
 
-      if (splitReqs.size() > MAX_QUERY_SIZE) {
+      if (operations.size() > MAX_QUERY_SIZE) {
         originalResponse.getWriter().write(INVALID_BATCH_SIZE_MSG);
         originalResponse.setStatus(429);
         return;
       }
 
-      for (String reqStr : splitReqs) {
-        DelegateResponse response = new DelegateResponse(originalResponse);
-        super.doPost(new DelegateRequest(originalRequest, reqStr), response);
-        responses.add(response.getDelegatedResponse());
+      executeBatch(originalRequest, originalResponse, batchRequest);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to execute GraphQL request.", e);
+      // Once results have been streamed the status has been sent and the response is left
+      // incomplete, which the client detects by the unterminated JSON
+      if (!originalResponse.isCommitted()) {
+        originalResponse.setStatus(500);
       }
-
-      originalResponse.setContentType(APPLICATION_JSON_UTF8);
-      originalResponse.setStatus(STATUS_OK);
-      originalResponse
-          .getWriter()
-          .write(isBatchRequest ? "[" + String.join(",", responses) + "]" : responses.get(0));
-    } catch (RuntimeException t) {
-      originalResponse.setStatus(500);
     } catch (Throwable t) {
-      originalResponse.setStatus(400);
-      log.trace("Error executing GraphQL request!", t);
+      if (originalResponse.isCommitted()) {
+        LOGGER.debug("Failed to write GraphQL response.", t);
+      } else {
+        originalResponse.setStatus(400);
+        log.trace("Error executing GraphQL request!", t);
+      }
     }
   }
 
-  private List<String> splitQueries(String requestContent) throws Exception {
-    List<String> splitElements = new ArrayList<>();
-    JsonNode jsonNode = new ObjectMapper().readTree(requestContent);
-    if (jsonNode.isArray()) {
-      jsonNode.elements().forEachRemaining(node -> splitElements.add(node.toString()));
+  /**
+   * Executes the operations of a batch request and streams the results to the response in the same
+   * order as the operations were received.
+   *
+   * <p>Batches that only contain queries are executed concurrently on the batch executor shared by
+   * all requests. At most {@link #BATCH_PARALLELISM} operations of a batch are submitted at once,
+   * the next one as soon as the result of the oldest one has been written, so a single batch cannot
+   * occupy the whole executor. Queries that have not finished within the batch timeout are
+   * cancelled and a timeout error is written in their place.
+   *
+   * <p>Mutations depend on the configuration changes of the preceding operations, so batches that
+   * contain a mutation are executed one operation after the other on the calling thread. Started
+   * operations are never interrupted, operations that have not been started within the batch
+   * timeout are not executed and a timeout error is written in their place.
+   */
+  private void executeBatch(
+      HttpServletRequest originalRequest,
+      HttpServletResponse originalResponse,
+      GraphQLBatchRequest batchRequest)
+      throws Exception {
+    List<GraphQLOperation> operations = batchRequest.getOperations();
+
+    if (!batchRequest.isBatch()) {
+      Map<String, Object> result =
+          executeOperation(operations.get(0), originalRequest, originalResponse);
+      try (GraphQLBatchResponseWriter writer = createResponseWriter(originalResponse, false)) {
+        writeResult(writer, result);
+      }
+      return;
+    }
+
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(batchTimeoutInSeconds);
+
+    if (containsMutation(operations, getSchemaProvider().getSchema(originalRequest))) {
+      executeSerially(operations, originalRequest, originalResponse, deadline);
     } else {
-      splitElements.add(jsonNode.toString());
+      executeConcurrently(operations, originalRequest, originalResponse, deadline);
+    }
+  }
+
+  private void executeSerially(
+      List<GraphQLOperation> operations,
+      HttpServletRequest originalRequest,
+      HttpServletResponse originalResponse,
+      long deadline)
+      throws IOException {
+    try (GraphQLBatchResponseWriter writer = createResponseWriter(originalResponse, true)) {
+      for (GraphQLOperation operation : operations) {
+        if (System.currentTimeMillis() >= deadline) {
+          LOGGER.debug(
+              "Batched GraphQL operation was not started within {} seconds.",
+              batchTimeoutInSeconds);
+          writeResult(
+              writer, createErrorResult(String.format(BATCH_TIMEOUT_MSG, batchTimeoutInSeconds)));
+          continue;
+        }
+
+        Map<String, Object> result;
+        try {
+          result = executeOperation(operation, originalRequest, originalResponse);
+        } catch (RuntimeException e) {
+          // Preceding results may already have been sent, so the failure is reported in place
+          LOGGER.debug("Failed to execute batched GraphQL query.", e);
+          result = createErrorResult(BATCH_QUERY_FAILED_MSG);
+        }
+        writeResult(writer, result);
+      }
     }
-    return splitElements;
   }
 
-  private boolean isBatchRequest(String requestContent) throws IOException {
-    return new ObjectMapper().readTree(requestContent).isArray();
+  private void executeConcurrently(
+      List<GraphQLOperation> operations,
+      HttpServletRequest originalRequest,
+      HttpServletResponse originalResponse,
+      long deadline)
+      throws IOException, InterruptedException {
+    // Carry the caller's security context and class loader over to the batch threads
+    AccessControlContext accessControlContext = AccessController.getContext();
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+    List<Future<Map<String, Object>>> futures = new ArrayList<>();
+    Runnable submitNext =
+        () -> {
+          GraphQLOperation operation = operations.get(futures.size());
+          futures.add(
+              batchExecutor.submit(
+                  () ->
+                      AccessController.doPrivileged(
+                          (PrivilegedExceptionAction<Map<String, Object>>)
+                              () ->
+                                  executeWithClassLoader(
+                                      contextClassLoader,
+                                      operation,
+                                      originalRequest,
+                                      originalResponse),
+                          accessControlContext)));
+        };
+
+    try (GraphQLBatchResponseWriter writer = createResponseWriter(originalResponse, true)) {
+      while (futures.size() < Math.min(BATCH_PARALLELISM, operations.size())) {
+        submitNext.run();
+      }
+
+      for (int i = 0; i < operations.size(); i++) {
+        writeResult(writer, getBatchResult(futures.get(i), deadline));
+
+        if (futures.size() < operations.size()) {
+          submitNext.run();
+        }
+      }
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Checks whether any of the operations may be a mutation. Operations whose query is unknown or
+   * invalid are not executed and are therefore not considered to be mutations.
+   */
+  private boolean containsMutation(List<GraphQLOperation> operations, GraphQLSchema schema) {
+    for (GraphQLOperation operation : operations) {
+      String query = operation.getQuery();
+      if (query == null && operation.getPersistedQueryHash() != null) {
+        query = persistedQueries.get(operation.getPersistedQueryHash());
+      }
+
+      if (query == null) {
+        continue;
+      }
+
+      PreparsedDocumentEntry document = documentCache.get(schema, query);
+      if (!document.hasErrors()
+          && document.getDocument().getDefinitions().stream()
+              .filter(OperationDefinition.class::isInstance)
+              .map(OperationDefinition.class::cast)
+              .anyMatch(
+                  definition ->
+                      definition.getOperation() == OperationDefinition.Operation.MUTATION
+                          && (operation.getOperationName() == null
+                              || operation.getOperationName().equals(definition.getName())))) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private Map<String, Object> getBatchResult(Future<Map<String, Object>> future, long deadline)
+      throws InterruptedException {
+    try {
+      long remainingTime = Math.max(0, deadline - System.currentTimeMillis());
+      return future.get(remainingTime, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.debug(
+          "Batched GraphQL query did not complete within {} seconds.", batchTimeoutInSeconds);
+      future.cancel(true);
+      return createErrorResult(String.format(BATCH_TIMEOUT_MSG, batchTimeoutInSeconds));
+    } catch (ExecutionException e) {
+      // Preceding results may already have been sent, so the failure is reported in place
+      Throwable cause =
+          e.getCause() instanceof PrivilegedActionException
+              ? e.getCause().getCause()
+              : e.getCause();
+      LOGGER.debug("Failed to execute batched GraphQL query.", cause);
+      return createErrorResult(BATCH_QUERY_FAILED_MSG);
+    }
+  }
+
+  // Preceding results may already have been sent, so a result that cannot be serialized is reported
+  // in its place
+  private void writeResult(GraphQLBatchResponseWriter writer, Map<String, Object> result)
+      throws IOException {
+    try {
+      writer.write(result);
+    } catch (JsonMappingException e) {
+      LOGGER.debug("Failed to serialize GraphQL result.", e);
+      writer.write(createErrorResult(BATCH_QUERY_FAILED_MSG));
+    }
+  }
+
+  private GraphQLBatchResponseWriter createResponseWriter(
+      HttpServletResponse response, boolean isBatch) throws IOException {
+    response.setContentType(APPLICATION_JSON_UTF8);
+    response.setStatus(STATUS_OK);
+    return new GraphQLBatchResponseWriter(getMapper(), response.getOutputStream(), isBatch);
+  }
+
+  private Map<String, Object> executeWithClassLoader(
+      ClassLoader contextClassLoader,
+      GraphQLOperation operation,
+      HttpServletRequest originalRequest,
+      HttpServletResponse originalResponse)
+      throws IOException {
+    Thread currentThread = Thread.currentThread();
+    ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+    currentThread.setContextClassLoader(contextClassLoader);
+    try {
+      return executeOperation(operation, originalRequest, originalResponse);
+    } finally {
+      currentThread.setContextClassLoader(previousClassLoader);
+    }
+  }
+
+  /**
+   * Executes an already parsed operation against the current schema. This mirrors the execution
+   * performed by the {@link graphql.servlet.GraphQLServlet} for a single POST request, without
+   * re-reading the operation from the request body. Parsed and validated documents are reused from
+   * the {@link DocumentCache}, so cached and persisted operations are never parsed again.
+   */
+  private Map<String, Object> executeOperation(
+      GraphQLOperation operation, HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    GraphQLContext context = createContext(Optional.of(request), Optional.of(response));
+    Object rootObject = createRootObject(Optional.of(request), Optional.of(response));
+    GraphQLSchema schema = getSchemaProvider().getSchema(request);
+    String query = operation.getQuery();
+
+    String persistedQueryHash = operation.getPersistedQueryHash();
+    if (persistedQueryHash != null) {
+      if (query == null) {
+        query = persistedQueries.get(persistedQueryHash);
+        if (query == null) {
+          return createErrorResult(PERSISTED_QUERY_NOT_FOUND_MSG);
+        }
+      } else if (!persistedQueries.registerClientQuery(persistedQueryHash, query)) {
+        return createErrorResult(PERSISTED_QUERY_HASH_MISMATCH_MSG);
+      }
+    }
+
+    query = StringUtils.defaultString(query);
+
+    // Invalid documents are left to the execution to report their errors
+    final PreparsedDocumentEntry document = documentCache.get(schema, query);
+    if (!document.hasErrors()) {
+      String limitExceeded =
+          costAnalyzer.analyze(
+              schema,
+              document.getDocument(),
+              operation.getOperationName(),
+              operation.getVariables());
+      if (limitExceeded != null) {
+        return createErrorResult(limitExceeded);
+      }
+    }
+
+    // The variables are passed as is instead of through transformVariables, which parses the query
+    // again. The execution coerces them against the variable definitions of the cached document.
+    ExecutionInput executionInput =
+        new ExecutionInput(
+            query, operation.getOperationName(), context, rootObject, operation.getVariables());
+
+    ExecutionResult executionResult;
+    if (Subject.getSubject(AccessController.getContext()) == null
+        && context.getSubject().isPresent()) {
+      executionResult =
+          Subject.doAs(
+              context.getSubject().get(),
+              (PrivilegedAction<ExecutionResult>)
+                  () -> newGraphQL(schema, document).execute(executionInput));
+    } else {
+      executionResult = newGraphQL(schema, document).execute(executionInput);
+    }
+
+    return createResultFromDataAndErrors(executionResult);
+  }
+
+  private GraphQL newGraphQL(GraphQLSchema schema) {
+    return newGraphQL(schema, documentCache.forSchema(schema));
+  }
+
+  /** Creates a GraphQL instance that executes an already parsed and validated document. */
+  private GraphQL newGraphQL(GraphQLSchema schema, PreparsedDocumentEntry document) {
+    return newGraphQL(schema, (query, parseAndValidate) -> document);
+  }
+
+  private GraphQL newGraphQL(GraphQLSchema schema, PreparsedDocumentProvider documentProvider) {
+    ExecutionStrategyProvider strategyProvider = getExecutionStrategyProvider();
+    return GraphQL.newGraphQL(schema)
+        .queryExecutionStrategy(strategyProvider.getQueryExecutionStrategy())
+        .mutationExecutionStrategy(strategyProvider.getMutationExecutionStrategy())
+        .subscriptionExecutionStrategy(strategyProvider.getSubscriptionExecutionStrategy())
+        .instrumentation(getInstrumentation())
+        .preparsedDocumentProvider(documentProvider)
+        .build();
+  }
+
+  private Map<String, Object> createResultFromDataAndErrors(ExecutionResult executionResult) {
+    Map<String, Object> result = new HashMap<>();
+    result.put("data", executionResult.getData());
+
+    List<GraphQLError> errors = executionResult.getErrors();
+    if (getGraphQLErrorHandler().errorsPresent(errors)) {
+      result.put("errors", getGraphQLErrorHandler().processErrors(errors));
+    }
+    return result;
+  }
+
+  private Map<String, Object> createErrorResult(String message) {
+    Map<String, Object> error = new HashMap<>();
+    error.put("message", message);
+
+    Map<String, Object> result = new HashMap<>();
+    result.put("data", null);
+    result.put("errors", Collections.singletonList(error));
+    return result;
   }
 
   private void triggerSchemaRefresh(String refreshReason) {
     LOGGER.trace("GraphQL schema refresh requested. Cause: {}", refreshReason);
-    cache.put(Events.REFRESH_SCHEMA, true);
+    refreshScheduler.requestRefresh();
   }
 
   /**
-   * Refreshes the schema periodically once the cache invalidates if a REFRESH_SCHEMA event was
-   * added to the cache. This allows multiple threads to ask for a schema refresh while only
-   * refreshing the schema once.
-   *
-   * @param notification
+   * Transforms the field providers and swaps the resulting schema in. Refreshes are debounced and
+   * run one at a time by the {@link SchemaRefreshScheduler}. The new schema is built off to the
+   * side and published at once, so in-flight queries either see the previous or the new schema.
    */
-  private void refreshSchemaOnExpire(RemovalNotification notification) {
-    if (notification.getCause() == RemovalCause.EXPIRED) {
-      refreshSchema();
+  private void refreshSchema() {
+    LOGGER.trace("Refreshing GraphQL schema.");
+    long startTime = System.nanoTime();
+
+    List<FieldProvider> currentFieldProviders = new ArrayList<>(fieldProviders);
+    SchemaFingerprint fingerprint = SchemaFingerprint.of(currentFieldProviders);
+
+    if (fingerprint.isUnchanged(schemaFingerprint)) {
+      LOGGER.trace("GraphQL schema is unchanged, skipping refresh.");
+      return;
+    }
+
+    // Only the changed types are transformed again, all other types keep their identity so the
+    // providers that did not change can be bound as is
+    transformer.evictTypes(fingerprint.getChangedTypes(schemaFingerprint));
+
+    Map<FieldProvider, GraphQLProviderImpl> refreshedProviders = new IdentityHashMap<>();
+    int retransformed = 0;
+    for (FieldProvider fieldProvider : currentFieldProviders) {
+      GraphQLProviderImpl transformedProvider = transformedProviders.get(fieldProvider);
+
+      if (transformedProvider == null || fingerprint.isChanged(fieldProvider, schemaFingerprint)) {
+        // The provider's own type holds data fetchers bound to its functions
+        transformer.evictTypes(Collections.singleton(fieldProvider.getFieldType()));
+        transformedProvider = new GraphQLProviderImpl(fieldProvider, transformer);
+        retransformed++;
+      }
+
+      refreshedProviders.put(fieldProvider, transformedProvider);
     }
+
+    // Defer building the schema until all providers have been swapped
+    rebuildingSchema = true;
+    try {
+      transformedProviders.values().forEach(this::unbindProvider);
+
+      if (errorCodeProvider != null) {
+        unbindProvider(errorCodeProvider);
+      }
+
+      transformedProviders = refreshedProviders;
+      errorCodeProvider = transformer.getErrorCodesQueryProvider(currentFieldProviders);
+
+      currentFieldProviders.stream().map(refreshedProviders::get).forEach(this::bindProvider);
+
+      if (errorCodeProvider != null) {
+        bindProvider(errorCodeProvider);
+      }
+    } finally {
+      rebuildingSchema = false;
+    }
+
+    updateSchema();
+    schemaFingerprint = fingerprint;
+
+    // Documents validated against the previous schema can no longer be used
+    CacheStats documentCacheStats = documentCache.stats();
+    LOGGER.debug(
+        "Invalidating GraphQL document cache. Hits: {}, misses: {}.",
+        documentCacheStats.hitCount(),
+        documentCacheStats.missCount());
+    documentCache.invalidateAll();
+    precompilePersistedQueries();
+    updateSchemaSnapshot(fingerprint);
+
+    schemaMetrics.recordRebuild(System.nanoTime() - startTime);
+    LOGGER.debug(
+        "Rebuilt GraphQL schema in {} ms. Transformed {} of {} field providers.",
+        schemaMetrics.getLastRebuildTimeMillis(),
+        retransformed,
+        currentFieldProviders.size());
   }
 
-  // Synchronized just in case the schema is still updating when another refresh is called
-  // The performance decrease by the `synchronized` is negligible because of the periodic cache
-  // invalidation implementation
-  private synchronized void refreshSchema() {
-    LOGGER.trace("Refreshing GraphQL schema.");
+  @Override
+  protected void updateSchema() {
+    if (!rebuildingSchema) {
+      super.updateSchema();
+      schemaProvider = super.getSchemaProvider();
+    }
+  }
 
-    transformedProviders.forEach(this::unbindProvider);
+  // The schema provider of the parent is not safely published to request threads
+  @Override
+  protected GraphQLSchemaProvider getSchemaProvider() {
+    GraphQLSchemaProvider provider = schemaProvider;
+    return provider != null ? provider : super.getSchemaProvider();
+  }
 
-    if (errorCodeProvider != null) {
-      unbindProvider(errorCodeProvider);
+  /**
+   * Drops the startup snapshot once the live schema matches it. Until the startup snapshot has been
+   * verified or has timed out, the live schema is assumed to be incomplete and is not persisted.
+   */
+  private void updateSchemaSnapshot(SchemaFingerprint fingerprint) {
+    if (snapshotStore == null) {
+      return;
     }
 
-    GraphQLTransformCommons transformer = new GraphQLTransformCommons();
+    SchemaSnapshotStore.Snapshot snapshot = startupSnapshot;
+    if (snapshot != null) {
+      if (snapshot.getFingerprint().equals(fingerprint.getHash())) {
+        LOGGER.debug("Live GraphQL schema matches the startup snapshot.");
+        startupSnapshot = null;
+        return;
+      }
 
-    transformedProviders =
-        fieldProviders
-            .stream()
-            .map(fieldProvider -> new GraphQLProviderImpl(fieldProvider, transformer))
-            .collect(Collectors.toList());
+      if (System.currentTimeMillis() < startupSnapshotDeadline) {
+        return;
+      }
+
+      startupSnapshot = null;
+    }
+
+    if (!fingerprint.getHash().equals(savedSnapshotFingerprint)) {
+      ExecutionResult introspection =
+          newGraphQL(getSchemaProvider().getSchema())
+              .execute(IntrospectionQuery.INTROSPECTION_QUERY);
+      snapshotStore.save(fingerprint.getHash(), createResultFromDataAndErrors(introspection));
+      savedSnapshotFingerprint = fingerprint.getHash();
+    }
+  }
 
-    errorCodeProvider = transformer.getErrorCodesQueryProvider(fieldProviders);
+  private SchemaSnapshotStore.Snapshot getStartupSnapshot() {
+    SchemaSnapshotStore.Snapshot snapshot = startupSnapshot;
+    return snapshot != null && System.currentTimeMillis() < startupSnapshotDeadline
+        ? snapshot
+        : null;
+  }
 
-    transformedProviders.forEach(this::bindProvider);
+  private void loadSchemaSnapshot(Path snapshotFile) {
+    snapshotStore = new SchemaSnapshotStore(snapshotFile, getMapper());
+    startupSnapshot = snapshotStore.load();
+    startupSnapshotDeadline = System.currentTimeMillis() + DEFAULT_STARTUP_SNAPSHOT_TIMEOUT_MILLIS;
+    savedSnapshotFingerprint = startupSnapshot == null ? null : startupSnapshot.getFingerprint();
+  }
 
-    if(errorCodeProvider != null) {
-      bindProvider(errorCodeProvider);
+  /**
+   * Sets the file the last known good schema is persisted to. The schema introspection is served
+   * from this file on startup until the live schema matches it.
+   *
+   * @param snapshotFile path of the snapshot file, or an empty string to disable snapshots
+   */
+  public void setSchemaSnapshotFile(String snapshotFile) {
+    if (StringUtils.isEmpty(snapshotFile)) {
+      snapshotStore = null;
+      startupSnapshot = null;
+    } else {
+      loadSchemaSnapshot(Paths.get(snapshotFile));
     }
+  }
+
+  /** @param quietPeriodMillis time without refresh requests after which the schema is refreshed */
+  public void setSchemaRefreshQuietPeriodMillis(long quietPeriodMillis) {
+    refreshScheduler.setQuietPeriodMillis(quietPeriodMillis);
+  }
+
+  /** @param maxDelayMillis maximum time a schema refresh is postponed by further requests */
+  public void setSchemaRefreshMaxDelayMillis(long maxDelayMillis) {
+    refreshScheduler.setMaxDelayMillis(maxDelayMillis);
+  }
 
-    LOGGER.trace("Finished refreshing GraphQL schema.");
+  /** @return the time it took to rebuild the schema the last time it changed */
+  public long getLastSchemaRebuildTimeMillis() {
+    return schemaMetrics.getLastRebuildTimeMillis();
+  }
+
+  /** @return the amount of times the schema has been rebuilt */
+  public long getSchemaRebuildCount() {
+    return schemaMetrics.getRebuildCount();
   }
 
   public void bindFieldProvider(FieldProvider fieldProvider) {
@@ -273,6 +801,70 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     this.fieldProviders = fieldProviders;
   }
 
+  /**
+   * Registers queries that clients may execute by their SHA-256 hash. The queries are parsed and
+   * validated ahead of time every time the schema is refreshed.
+   *
+   * @param queries queries to register
+   */
+  public void setPersistedQueries(List<String> queries) {
+    queries.forEach(this::registerPersistedQuery);
+  }
+
+  /**
+   * Registers a query that clients may execute by its SHA-256 hash.
+   *
+   * @param query query to register
+   * @return the hash to execute the query by
+   */
+  public String registerPersistedQuery(String query) {
+    String hash = persistedQueries.register(query);
+    documentCache.precompile(getSchemaProvider().getSchema(), query);
+    return hash;
+  }
+
+  private void precompilePersistedQueries() {
+    GraphQLSchema schema = getSchemaProvider().getSchema();
+    for (String query : persistedQueries.getRegisteredQueries()) {
+      if (!documentCache.precompile(schema, query)) {
+        LOGGER.debug("Persisted query is not valid for the current schema:\n{}", query);
+      }
+    }
+  }
+
+  /**
+   * Sets the maximum cost of an operation. Operations with a higher statically estimated cost are
+   * rejected without being executed.
+   *
+   * @param maxQueryCost maximum cost of an operation, must be greater than 0
+   * @see QueryCostAnalyzer
+   */
+  public void setMaxQueryCost(long maxQueryCost) {
+    costAnalyzer.setMaxCost(maxQueryCost);
+  }
+
+  /**
+   * Sets the maximum depth of the selections of an operation. Deeper operations are rejected
+   * without being executed.
+   *
+   * @param maxQueryDepth maximum depth of an operation, must be greater than 0
+   */
+  public void setMaxQueryDepth(int maxQueryDepth) {
+    costAnalyzer.setMaxDepth(maxQueryDepth);
+  }
+
+  /**
+   * Sets the maximum amount of time a batch request is allowed to execute. Queries of the batch
+   * that have not completed within this time will return an error instead of data.
+   *
+   * @param batchTimeoutInSeconds maximum execution time of a batch request, must be greater than 0
+   */
+  public void setBatchTimeoutInSeconds(long batchTimeoutInSeconds) {
+    if (batchTimeoutInSeconds > 0) {
+      this.batchTimeoutInSeconds = batchTimeoutInSeconds;
+    }
+  }
+
   private static class GraphQLProviderImpl
       implements GraphQLProvider, GraphQLQueryProvider, GraphQLMutationProvider {
 
@@ -302,6 +894,10 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     public void accept(
         DataFetcherExceptionHandlerParameters dataFetcherExceptionHandlerParameters) {
       Throwable e = dataFetcherExceptionHandlerParameters.getException();
+      // Exceptions of functions executed asynchronously are wrapped by their future
+      if (e instanceof CompletionException && e.getCause() != null) {
+        e = e.getCause();
+      }
 
       if (e instanceof FunctionDataFetcherException) {
         for (ErrorMessage msg : ((FunctionDataFetcherException) e).getCustomMessages()) {
@@ -341,8 +937,13 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
 
     private ExtendedEnhancedExecutionStrategy strategy;
 
+    // Mutations depend on the configuration changes of the preceding mutations, so they are
+    // executed one after the other
+    private AsyncSerialExecutionStrategy mutationStrategy;
+
     public ExecutionStrategyProviderImpl() {
       strategy = new ExtendedEnhancedExecutionStrategy();
+      mutationStrategy = new AsyncSerialExecutionStrategy(new DataFetcherExceptionHandlerImpl());
     }
 
     @Override
@@ -352,7 +953,7 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
 
     @Override
     public ExecutionStrategy getMutationExecutionStrategy() {
-      return strategy;
+      return mutationStrategy;
     }
 
     @Override
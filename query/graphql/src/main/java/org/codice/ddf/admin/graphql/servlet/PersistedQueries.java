@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store of GraphQL queries addressed by the hex encoded SHA-256 hash of their text. Queries
+ * registered up front are kept for the lifetime of the store, while queries registered by clients
+ * at runtime are kept in an LRU cache bounded by the total length of their texts.
+ */
+public class PersistedQueries {
+
+  /** Total length of the query texts registered by clients. */
+  public static final long DEFAULT_MAXIMUM_CLIENT_QUERIES_WEIGHT = 5_000_000;
+
+  private final Map<String, String> registeredQueries;
+
+  private final Cache<String, String> clientQueries;
+
+  public PersistedQueries() {
+    this(DEFAULT_MAXIMUM_CLIENT_QUERIES_WEIGHT);
+  }
+
+  /** @param maximumClientQueriesWeight maximum total length of the queries registered by clients */
+  public PersistedQueries(long maximumClientQueriesWeight) {
+    registeredQueries = new ConcurrentHashMap<>();
+    clientQueries =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maximumClientQueriesWeight)
+            .weigher((String hash, String query) -> query.length())
+            .build();
+  }
+
+  public static String hash(String query) {
+    return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+  }
+
+  /**
+   * Registers a query that is kept for the lifetime of this store.
+   *
+   * @param query query text
+   * @return the hash the query can be executed by
+   */
+  public String register(String query) {
+    String hash = hash(query);
+    registeredQueries.put(hash, query);
+    return hash;
+  }
+
+  /**
+   * Registers a query sent by a client along with its hash.
+   *
+   * @param hash hash the client claims the query has
+   * @param query query text
+   * @return true if the hash matches the query and the query was registered, otherwise false
+   */
+  public boolean registerClientQuery(String hash, String query) {
+    String normalizedHash = hash.toLowerCase();
+    if (!hash(query).equals(normalizedHash)) {
+      return false;
+    }
+
+    if (!registeredQueries.containsKey(normalizedHash)) {
+      clientQueries.put(normalizedHash, query);
+    }
+    return true;
+  }
+
+  /**
+   * @param hash hash of the query
+   * @return the query text, or null if no query with the given hash is known
+   */
+  public String get(String hash) {
+    String normalizedHash = hash.toLowerCase();
+    String query = registeredQueries.get(normalizedHash);
+    return query != null ? query : clientQueries.getIfPresent(normalizedHash);
+  }
+
+  /** @return the queries registered up front, which are worth precompiling for every schema */
+  public Collection<String> getRegisteredQueries() {
+    return registeredQueries.values();
+  }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import graphql.GraphQLException;
+import graphql.analysis.QueryTraversal;
+import graphql.analysis.QueryVisitorEnvironment;
+import graphql.language.Document;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import java.util.HashMap;
+import java.util.Map;
+import org.codice.ddf.admin.graphql.transform.FunctionDataFetcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Statically estimates the cost and depth of a GraphQL operation before it is executed, so that
+ * queries that would fan out into an excessive amount of function calls are rejected up front.
+ *
+ * <p>Every selected field costs {@link #FIELD_COST}, fields backed by a function cost {@link
+ * #FUNCTION_COST} since they may perform expensive work such as reaching out to remote hosts. The
+ * cost of the selections of a list field is multiplied by {@link #LIST_COST_MULTIPLIER}, as the
+ * selections are resolved once per list element. Introspection fields are not counted.
+ */
+public class QueryCostAnalyzer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryCostAnalyzer.class);
+
+  public static final long DEFAULT_MAX_COST = 5_000;
+
+  public static final int DEFAULT_MAX_DEPTH = 15;
+
+  public static final long FIELD_COST = 1;
+
+  public static final long FUNCTION_COST = 10;
+
+  public static final long LIST_COST_MULTIPLIER = 10;
+
+  public static final String MAX_COST_EXCEEDED_MSG =
+      "The query exceeded the maximum query cost. Query cost: %d, maximum cost: %d.";
+
+  public static final String MAX_DEPTH_EXCEEDED_MSG =
+      "The query exceeded the maximum query depth. Query depth: %d, maximum depth: %d.";
+
+  public static final String COST_ANALYSIS_FAILED_MSG =
+      "The query was rejected since its cost could not be computed.";
+
+  private static final String INTROSPECTION_PREFIX = "__";
+
+  private volatile long maxCost;
+
+  private volatile int maxDepth;
+
+  public QueryCostAnalyzer() {
+    maxCost = DEFAULT_MAX_COST;
+    maxDepth = DEFAULT_MAX_DEPTH;
+  }
+
+  /**
+   * Analyzes an operation of a validated document.
+   *
+   * @param schema schema the document was validated against
+   * @param document validated document
+   * @param operationName name of the operation to analyze, may be null if the document only
+   *     contains one operation
+   * @param variables variables of the operation, used to evaluate conditional selections
+   * @return a message describing the exceeded limit or the failure to compute the cost, or null if
+   *     the operation is within the limits
+   */
+  public String analyze(
+      GraphQLSchema schema,
+      Document document,
+      String operationName,
+      Map<String, Object> variables) {
+    QueryCost queryCost;
+    try {
+      queryCost = computeCost(new QueryTraversal(schema, document, operationName, variables));
+    } catch (GraphQLException e) {
+      // Unknown operations or invalid variables are reported by the execution itself
+      LOGGER.debug("Failed to compute the cost of the GraphQL operation.", e);
+      return null;
+    } catch (RuntimeException e) {
+      // Any other failure is rejected, so that the limits cannot be bypassed
+      LOGGER.warn("Rejecting GraphQL operation since its cost could not be computed.", e);
+      return COST_ANALYSIS_FAILED_MSG;
+    }
+
+    if (queryCost.depth > maxDepth) {
+      return String.format(MAX_DEPTH_EXCEEDED_MSG, queryCost.depth, maxDepth);
+    }
+
+    if (queryCost.cost > maxCost) {
+      return String.format(MAX_COST_EXCEEDED_MSG, queryCost.cost, maxCost);
+    }
+
+    return null;
+  }
+
+  private QueryCost computeCost(QueryTraversal traversal) {
+    QueryCost queryCost = new QueryCost();
+    // Accumulated cost of the selections of a field, keyed by the environment of the field
+    Map<QueryVisitorEnvironment, Long> selectionCosts = new HashMap<>();
+
+    traversal.visitPostOrder(
+        env -> {
+          int depth = 0;
+          for (QueryVisitorEnvironment e = env; e != null; e = e.getParentEnvironment()) {
+            if (e.getField().getName().startsWith(INTROSPECTION_PREFIX)) {
+              return;
+            }
+            depth++;
+          }
+
+          queryCost.depth = Math.max(queryCost.depth, depth);
+
+          long selectionCost = selectionCosts.getOrDefault(env, 0L);
+          if (isList(env.getFieldDefinition().getType())) {
+            selectionCost = saturatedMultiply(selectionCost, LIST_COST_MULTIPLIER);
+          }
+
+          long cost = saturatedAdd(fieldCost(env.getFieldDefinition()), selectionCost);
+          if (env.getParentEnvironment() == null) {
+            queryCost.cost = saturatedAdd(queryCost.cost, cost);
+          } else {
+            selectionCosts.merge(env.getParentEnvironment(), cost, QueryCostAnalyzer::saturatedAdd);
+          }
+        });
+
+    return queryCost;
+  }
+
+  private static long fieldCost(GraphQLFieldDefinition fieldDefinition) {
+    return fieldDefinition.getDataFetcher() instanceof FunctionDataFetcher
+        ? FUNCTION_COST
+        : FIELD_COST;
+  }
+
+  private static boolean isList(GraphQLType type) {
+    GraphQLType unwrapped =
+        type instanceof GraphQLNonNull ? ((GraphQLNonNull) type).getWrappedType() : type;
+    return unwrapped instanceof GraphQLList;
+  }
+
+  private static long saturatedAdd(long a, long b) {
+    long sum = a + b;
+    return sum < 0 ? Long.MAX_VALUE : sum;
+  }
+
+  private static long saturatedMultiply(long a, long b) {
+    return a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+  }
+
+  public long getMaxCost() {
+    return maxCost;
+  }
+
+  /** @param maxCost maximum cost of an operation, must be greater than 0 */
+  public void setMaxCost(long maxCost) {
+    if (maxCost > 0) {
+      this.maxCost = maxCost;
+    }
+  }
+
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  /** @param maxDepth maximum depth of the selections of an operation, must be greater than 0 */
+  public void setMaxDepth(int maxDepth) {
+    if (maxDepth > 0) {
+      this.maxDepth = maxDepth;
+    }
+  }
+
+  private static class QueryCost {
+
+    private long cost;
+
+    private int depth;
+  }
+}
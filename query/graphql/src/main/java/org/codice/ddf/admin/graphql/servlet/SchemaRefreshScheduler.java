@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Debounces schema refresh requests. A refresh runs once no further request has been received for
+ * the quiet period, but never later than the maximum delay after the first pending request, so a
+ * steady stream of requests cannot postpone a refresh indefinitely. No task is scheduled while
+ * there are no pending requests.
+ *
+ * <p>Refreshes are run on a single thread, so the refresh action never runs concurrently with
+ * itself. Requests received while a refresh is running schedule another refresh.
+ */
+public class SchemaRefreshScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaRefreshScheduler.class);
+
+  public static final long DEFAULT_QUIET_PERIOD_MILLIS = 1000;
+
+  public static final long DEFAULT_MAX_DELAY_MILLIS = 10_000;
+
+  private final Runnable refreshAction;
+
+  private final ScheduledExecutorService executor;
+
+  private long quietPeriodMillis = DEFAULT_QUIET_PERIOD_MILLIS;
+
+  private long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+  private ScheduledFuture<?> pendingRefresh;
+
+  private long firstPendingRequestMillis;
+
+  public SchemaRefreshScheduler(Runnable refreshAction) {
+    this.refreshAction = refreshAction;
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("graphql-schema-refresh-%d")
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Requests a refresh. Requests received within the quiet period of each other are coalesced into
+   * a single refresh.
+   */
+  public synchronized void requestRefresh() {
+    long now = System.currentTimeMillis();
+
+    if (pendingRefresh == null) {
+      firstPendingRequestMillis = now;
+    } else {
+      pendingRefresh.cancel(false);
+    }
+
+    long refreshTime =
+        Math.min(now + quietPeriodMillis, firstPendingRequestMillis + maxDelayMillis);
+    pendingRefresh =
+        executor.schedule(this::refresh, Math.max(0, refreshTime - now), TimeUnit.MILLISECONDS);
+  }
+
+  private void refresh() {
+    synchronized (this) {
+      pendingRefresh = null;
+    }
+
+    try {
+      refreshAction.run();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to refresh the GraphQL schema.", e);
+    }
+  }
+
+  /** @param quietPeriodMillis time without refresh requests after which a refresh runs */
+  public synchronized void setQuietPeriodMillis(long quietPeriodMillis) {
+    if (quietPeriodMillis >= 0) {
+      this.quietPeriodMillis = quietPeriodMillis;
+    }
+  }
+
+  /** @param maxDelayMillis maximum time a refresh is postponed after the first request */
+  public synchronized void setMaxDelayMillis(long maxDelayMillis) {
+    if (maxDelayMillis >= 0) {
+      this.maxDelayMillis = maxDelayMillis;
+    }
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the introspection result of the last known good schema to a local file, along with the
+ * fingerprint of the field providers it was built from.
+ */
+public class SchemaSnapshotStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaSnapshotStore.class);
+
+  private static final String FINGERPRINT = "fingerprint";
+
+  private static final String INTROSPECTION_RESULT = "introspectionResult";
+
+  private final Path file;
+
+  private final ObjectMapper mapper;
+
+  public SchemaSnapshotStore(Path file, ObjectMapper mapper) {
+    this.file = file;
+    this.mapper = mapper;
+  }
+
+  /** @return the stored snapshot, or null if none exists or it could not be read */
+  public Snapshot load() {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try {
+      JsonNode snapshot = mapper.readTree(file.toFile());
+      JsonNode fingerprint = snapshot.get(FINGERPRINT);
+      JsonNode introspectionResult = snapshot.get(INTROSPECTION_RESULT);
+
+      if (fingerprint == null || !fingerprint.isTextual() || introspectionResult == null) {
+        LOGGER.debug("Ignoring invalid GraphQL schema snapshot {}.", file);
+        return null;
+      }
+
+      return new Snapshot(fingerprint.asText(), introspectionResult);
+    } catch (IOException e) {
+      LOGGER.debug("Failed to read GraphQL schema snapshot {}.", file, e);
+      return null;
+    }
+  }
+
+  /**
+   * Replaces the stored snapshot. The snapshot is written to a temporary file first so a partially
+   * written snapshot is never read.
+   *
+   * @param fingerprint fingerprint of the field providers the schema was built from
+   * @param introspectionResult result of the introspection query against the schema
+   */
+  public void save(String fingerprint, Object introspectionResult) {
+    ObjectNode snapshot = mapper.createObjectNode();
+    snapshot.put(FINGERPRINT, fingerprint);
+    snapshot.set(INTROSPECTION_RESULT, mapper.valueToTree(introspectionResult));
+
+    try {
+      Files.createDirectories(file.toAbsolutePath().getParent());
+      Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), "schema", ".tmp");
+      try {
+        mapper.writeValue(tempFile.toFile(), snapshot);
+        Files.move(
+            tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      LOGGER.debug("Failed to write GraphQL schema snapshot {}.", file, e);
+    }
+  }
+
+  public static class Snapshot {
+
+    private final String fingerprint;
+
+    private final JsonNode introspectionResult;
+
+    private Snapshot(String fingerprint, JsonNode introspectionResult) {
+      this.fingerprint = fingerprint;
+      this.introspectionResult = introspectionResult;
+    }
+
+    public String getFingerprint() {
+      return fingerprint;
+    }
+
+    public JsonNode getIntrospectionResult() {
+      return introspectionResult;
+    }
+  }
+}
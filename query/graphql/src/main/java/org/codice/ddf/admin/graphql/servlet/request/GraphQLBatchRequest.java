@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet.request;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses a GraphQL POST body in a single streaming pass. The body may either be a single operation
+ * object or an array of operation objects.
+ */
+public class GraphQLBatchRequest {
+
+  private static final String QUERY = "query";
+
+  private static final String OPERATION_NAME = "operationName";
+
+  private static final String VARIABLES = "variables";
+
+  private static final String EXTENSIONS = "extensions";
+
+  private static final String PERSISTED_QUERY = "persistedQuery";
+
+  private static final String SHA_256_HASH = "sha256Hash";
+
+  // ObjectReaders are immutable and can be safely shared between threads
+  private static final ObjectReader VARIABLES_READER =
+      new ObjectMapper().readerFor(new TypeReference<Map<String, Object>>() {});
+
+  private final boolean isBatch;
+
+  private final List<GraphQLOperation> operations;
+
+  private GraphQLBatchRequest(boolean isBatch, List<GraphQLOperation> operations) {
+    this.isBatch = isBatch;
+    this.operations = operations;
+  }
+
+  public boolean isBatch() {
+    return isBatch;
+  }
+
+  public List<GraphQLOperation> getOperations() {
+    return operations;
+  }
+
+  /**
+   * Reads the operations from the {@code inputStream}. Parsing stops as soon as more than {@code
+   * maxOperations} operations have been read, so the returned request will contain at most {@code
+   * maxOperations + 1} operations.
+   *
+   * @param inputStream request body
+   * @param maxOperations maximum amount of operations the caller is willing to execute
+   * @return the parsed request
+   * @throws IOException if the body is not a JSON object or an array of JSON objects
+   */
+  public static GraphQLBatchRequest parse(InputStream inputStream, int maxOperations)
+      throws IOException {
+    try (JsonParser parser = VARIABLES_READER.getFactory().createParser(inputStream)) {
+      JsonToken token = parser.nextToken();
+
+      if (token == JsonToken.START_OBJECT) {
+        List<GraphQLOperation> operations = new ArrayList<>(1);
+        operations.add(readOperation(parser));
+        readEnd(parser);
+        return new GraphQLBatchRequest(false, operations);
+      }
+
+      if (token != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Expected a JSON object or array.");
+      }
+
+      List<GraphQLOperation> operations = new ArrayList<>();
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token == null) {
+          throw new JsonParseException(parser, "Unexpected end of the batch array.");
+        }
+
+        if (token != JsonToken.START_OBJECT) {
+          throw new JsonParseException(parser, "Expected a JSON object as batch element.");
+        }
+
+        operations.add(readOperation(parser));
+        if (operations.size() > maxOperations) {
+          // The request is rejected for its size, so the rest of the body does not matter
+          return new GraphQLBatchRequest(true, operations);
+        }
+      }
+
+      readEnd(parser);
+      return new GraphQLBatchRequest(true, operations);
+    }
+  }
+
+  /** Ensures nothing but whitespace follows the top-level value of the body. */
+  private static void readEnd(JsonParser parser) throws IOException {
+    if (parser.nextToken() != null) {
+      throw new JsonParseException(parser, "Unexpected content after the request.");
+    }
+  }
+
+  private static GraphQLOperation readOperation(JsonParser parser) throws IOException {
+    GraphQLOperation operation = new GraphQLOperation();
+
+    JsonToken token;
+    while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken valueToken = parser.nextToken();
+
+      switch (fieldName) {
+        case QUERY:
+          operation.setQuery(readString(parser));
+          break;
+        case OPERATION_NAME:
+          operation.setOperationName(readString(parser));
+          break;
+        case VARIABLES:
+          operation.setVariables(readVariables(parser, valueToken));
+          break;
+        case EXTENSIONS:
+          readExtensions(parser, valueToken, operation);
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    if (token != JsonToken.END_OBJECT) {
+      throw new JsonParseException(parser, "Unexpected end of the operation.");
+    }
+
+    return operation;
+  }
+
+  private static String readString(JsonParser parser) throws IOException {
+    String value = parser.getValueAsString();
+    parser.skipChildren();
+    return value;
+  }
+
+  /**
+   * Reads the extensions of an operation. The only supported extension is a persisted query of the
+   * form {@code "persistedQuery": {"sha256Hash": "<hash>"}}.
+   */
+  private static void readExtensions(
+      JsonParser parser, JsonToken valueToken, GraphQLOperation operation) throws IOException {
+    if (valueToken != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return;
+    }
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.getCurrentName();
+      JsonToken extensionToken = parser.nextToken();
+
+      if (PERSISTED_QUERY.equals(fieldName) && extensionToken == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String persistedQueryField = parser.getCurrentName();
+          parser.nextToken();
+
+          if (SHA_256_HASH.equals(persistedQueryField)) {
+            operation.setPersistedQueryHash(readString(parser));
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static Map<String, Object> readVariables(JsonParser parser, JsonToken valueToken)
+      throws IOException {
+    if (valueToken == JsonToken.START_OBJECT) {
+      return VARIABLES_READER.readValue(parser);
+    } else if (valueToken == JsonToken.VALUE_STRING) {
+      // Variables may also be sent as a JSON encoded string
+      String variables = parser.getText();
+      return variables.trim().isEmpty() ? null : VARIABLES_READER.readValue(variables);
+    } else if (valueToken == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    throw new JsonParseException(parser, "Variables must be either an object or a string.");
+  }
+}
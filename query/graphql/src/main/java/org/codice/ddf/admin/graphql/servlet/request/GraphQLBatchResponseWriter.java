@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet.request;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams GraphQL results to an {@link OutputStream} as they become available. Results of a batch
+ * request are framed as a JSON array whose brackets and separators are written incrementally, so a
+ * result never has to be buffered once it has been written.
+ */
+public class GraphQLBatchResponseWriter implements Closeable {
+
+  private final ObjectMapper mapper;
+
+  private final JsonGenerator generator;
+
+  private final boolean isBatch;
+
+  private boolean arrayStarted;
+
+  private boolean failed;
+
+  public GraphQLBatchResponseWriter(ObjectMapper mapper, OutputStream outputStream, boolean isBatch)
+      throws IOException {
+    this.mapper = mapper;
+    this.generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    this.isBatch = isBatch;
+  }
+
+  /**
+   * Writes a single result and flushes it to the underlying stream. The result is serialized before
+   * anything is written, so a result that cannot be serialized leaves the response intact and
+   * another result may be written in its place.
+   *
+   * @param result result of a single operation
+   * @throws JsonMappingException if the result could not be serialized, nothing has been written
+   * @throws IOException if the result could not be written, no further results can be written
+   */
+  public void write(Object result) throws IOException {
+    TokenBuffer serializedResult = new TokenBuffer(mapper, false);
+    mapper.writeValue(serializedResult, result);
+
+    try {
+      startArray();
+      serializedResult.serialize(generator);
+      generator.flush();
+    } catch (IOException e) {
+      failed = true;
+      throw e;
+    }
+  }
+
+  /**
+   * Closes the batch array, if any, and the underlying stream. The array is left open if a result
+   * could not be written, so a client cannot mistake a partially written response for a complete
+   * one.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      if (failed) {
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+      } else if (isBatch) {
+        startArray();
+        generator.writeEndArray();
+      }
+    } finally {
+      generator.close();
+    }
+  }
+
+  private void startArray() throws IOException {
+    if (isBatch && !arrayStarted) {
+      generator.writeStartArray();
+      arrayStarted = true;
+    }
+  }
+}
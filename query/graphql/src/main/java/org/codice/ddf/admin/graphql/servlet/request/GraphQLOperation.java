@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet.request;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang.StringUtils;
+
+/** A single GraphQL operation of a request body, ready to be executed. */
+public class GraphQLOperation {
+
+  private String query;
+
+  private String operationName;
+
+  private Map<String, Object> variables;
+
+  private String persistedQueryHash;
+
+  public GraphQLOperation() {
+    variables = new HashMap<>();
+  }
+
+  public String getQuery() {
+    return query;
+  }
+
+  public GraphQLOperation setQuery(String query) {
+    this.query = query;
+    return this;
+  }
+
+  /** @return the operation name, or null if none or an empty one was provided */
+  public String getOperationName() {
+    return operationName;
+  }
+
+  public GraphQLOperation setOperationName(String operationName) {
+    this.operationName = StringUtils.isEmpty(operationName) ? null : operationName;
+    return this;
+  }
+
+  public Map<String, Object> getVariables() {
+    return variables;
+  }
+
+  public GraphQLOperation setVariables(Map<String, Object> variables) {
+    this.variables = variables == null ? new HashMap<>() : variables;
+    return this;
+  }
+
+  /** @return the SHA-256 hash of the persisted query to execute, or null if none was provided */
+  public String getPersistedQueryHash() {
+    return persistedQueryHash;
+  }
+
+  public GraphQLOperation setPersistedQueryHash(String persistedQueryHash) {
+    this.persistedQueryHash = persistedQueryHash;
+    return this;
+  }
+}
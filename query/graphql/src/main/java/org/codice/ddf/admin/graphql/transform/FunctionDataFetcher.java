@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.transform;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.concurrent.CompletionStage;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionField;
+
+/**
+ * Data fetcher of a GraphQL field backed by a {@link FunctionField}. Having a dedicated type allows
+ * function fields to be told apart from plain fields when analyzing queries against the schema.
+ */
+public class FunctionDataFetcher implements DataFetcher<CompletionStage<Object>> {
+
+  private final GraphQLTransformOutput transformOutput;
+
+  private final FunctionField<Field> function;
+
+  public FunctionDataFetcher(
+      GraphQLTransformOutput transformOutput, FunctionField<Field> function) {
+    this.transformOutput = transformOutput;
+    this.function = function;
+  }
+
+  @Override
+  public CompletionStage<Object> get(DataFetchingEnvironment env) {
+    return transformOutput.functionDataFetcher(env, function);
+  }
+}
@@ -19,13 +19,16 @@ import graphql.schema.GraphQLList;
 import graphql.servlet.GraphQLQueryProvider;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.admin.api.FieldProvider;
 import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.graphql.metrics.FunctionMetricsRegistry;
 
 public class GraphQLTransformCommons {
 
@@ -35,6 +38,11 @@ public class GraphQLTransformCommons {
     transformOutput = new GraphQLTransformOutput();
   }
 
+  public GraphQLTransformCommons(
+      FunctionMetricsRegistry metricsRegistry, Executor functionExecutor) {
+    transformOutput = new GraphQLTransformOutput(metricsRegistry, functionExecutor);
+  }
+
   public List<GraphQLFieldDefinition> fieldProviderToMutations(FieldProvider provider) {
     return transformOutput.functionsToGraphQLFieldDefinition(provider.getMutationFunctions());
   }
@@ -78,6 +86,15 @@ public class GraphQLTransformCommons {
                 .build());
   }
 
+  /**
+   * Evicts the cached GraphQL types of the given field types.
+   *
+   * @see GraphQLTransformOutput#evictTypes(Collection)
+   */
+  public void evictTypes(Collection<String> fieldTypes) {
+    transformOutput.evictTypes(fieldTypes);
+  }
+
   public static String capitalize(String str) {
     return StringUtils.capitalize(str);
   }
@@ -15,6 +15,7 @@ package org.codice.ddf.admin.graphql.transform;
 
 import graphql.schema.GraphQLEnumType;
 import graphql.servlet.GraphQLTypesProvider;
+import java.util.Collection;
 import org.codice.ddf.admin.api.fields.EnumField;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.graphql.GraphQLTypesProviderImpl;
@@ -47,6 +48,10 @@ public class GraphQLTransformEnum {
     return newEnum;
   }
 
+  public void evictTypes(Collection<String> fieldTypes) {
+    fieldTypes.forEach(enumTypeProvider::removeType);
+  }
+
   public GraphQLTypesProvider getEnumTypeProvider() {
     return enumTypeProvider;
   }
@@ -21,6 +21,7 @@ import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLNonNull;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
@@ -118,6 +119,10 @@ public class GraphQLTransformInput {
         .build();
   }
 
+  public void evictTypes(Collection<String> fieldTypes) {
+    fieldTypes.forEach(inputTypesProvider::removeType);
+  }
+
   public GraphQLTypesProvider getInputTypeProvider() {
     return inputTypesProvider;
   }
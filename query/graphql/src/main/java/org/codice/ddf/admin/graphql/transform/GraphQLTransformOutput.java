@@ -14,6 +14,9 @@
 package org.codice.ddf.admin.graphql.transform;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import graphql.execution.ExecutionTypeInfo;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
@@ -22,10 +25,16 @@ import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLTypeReference;
 import graphql.servlet.GraphQLTypesProvider;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.FieldProvider;
@@ -35,7 +44,10 @@ import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.api.fields.ObjectField;
 import org.codice.ddf.admin.api.fields.ScalarField;
 import org.codice.ddf.admin.api.report.FunctionReport;
+import org.codice.ddf.admin.graphql.AdminGraphQLContext;
 import org.codice.ddf.admin.graphql.GraphQLTypesProviderImpl;
+import org.codice.ddf.admin.graphql.RequestCacheImpl;
+import org.codice.ddf.admin.graphql.metrics.FunctionMetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,8 +59,21 @@ public class GraphQLTransformOutput {
   private GraphQLTransformEnum transformEnum;
   private GraphQLTypesProviderImpl<GraphQLOutputType> outputTypeProvider;
   private GraphQLTypesProviderImpl<GraphQLTypeReference> referenceTypeProvider;
+  private FunctionMetricsRegistry metricsRegistry;
+  private Executor functionExecutor;
 
   public GraphQLTransformOutput() {
+    this(new FunctionMetricsRegistry(), MoreExecutors.directExecutor());
+  }
+
+  /**
+   * @param metricsRegistry registry recording the executions of the functions
+   * @param functionExecutor executor the functions are run on
+   */
+  public GraphQLTransformOutput(
+      FunctionMetricsRegistry metricsRegistry, Executor functionExecutor) {
+    this.metricsRegistry = metricsRegistry;
+    this.functionExecutor = functionExecutor;
     transformScalar = new GraphQLTransformScalar();
     transformEnum = new GraphQLTransformEnum();
     inputTransformer = new GraphQLTransformInput(transformScalar, transformEnum);
@@ -165,20 +190,53 @@ public class GraphQLTransformOutput {
         .description(function.getDescription())
         .type(fieldToGraphQLOutputType(function.getReturnType()))
         .argument(graphQLArgs)
-        .dataFetcher((env -> functionDataFetcher(env, function)))
+        .dataFetcher(new FunctionDataFetcher(this, function))
         .build();
   }
 
-  public Object functionDataFetcher(DataFetchingEnvironment env, FunctionField<Field> field) {
-    Map<String, Object> args = new HashMap<>();
-    if (env.getArguments() != null) {
-      args.putAll(env.getArguments());
-    }
+  /**
+   * Executes the function on the function executor. The returned stage is resolved by graphql-java,
+   * which allows the functions of independent fields to run concurrently.
+   */
+  public CompletionStage<Object> functionDataFetcher(
+      DataFetchingEnvironment env, FunctionField<Field> field) {
+    // The arguments are only read by the function, so they are passed without a copy
+    Map<String, Object> args =
+        env.getArguments() == null ? Collections.emptyMap() : env.getArguments();
+
+    List<Object> path = env.getFieldTypeInfo().getPath().toList();
+    String metricsName = toMetricsName(env.getFieldTypeInfo());
+    long start = System.nanoTime();
+
+    RequestCacheImpl requestCache =
+        env.getContext() instanceof AdminGraphQLContext
+            ? ((AdminGraphQLContext) env.getContext()).getRequestCache()
+            : new RequestCacheImpl();
+
+    // Mutations change the configuration, so previously cached lookups are no longer valid
+    boolean mutation = env.getParentType() == env.getGraphQLSchema().getMutationType();
 
     FunctionField<Field> funcField = field.newInstance();
-    FunctionReport<Field> result =
-        funcField.execute(args, env.getFieldTypeInfo().getPath().toList());
+    CompletionStage<FunctionReport<Field>> execution;
+    try {
+      execution = funcField.executeAsync(args, path, requestCache, functionExecutor);
+    } catch (RuntimeException e) {
+      execution = failedExecution(e);
+    }
+
+    return execution
+        .whenComplete(
+            (result, e) -> {
+              metricsRegistry.record(metricsName, System.nanoTime() - start, result);
+              if (mutation) {
+                requestCache.invalidateAll();
+              }
+            })
+        .thenApply(result -> toFunctionResult(funcField, result));
+  }
 
+  private static Object toFunctionResult(
+      FunctionField<Field> funcField, FunctionReport<Field> result) {
     if (!result.getErrorMessages().isEmpty()) {
       throw new FunctionDataFetcherException(
           funcField.getFunctionName(),
@@ -189,14 +247,24 @@ public class GraphQLTransformOutput {
               .collect(Collectors.toList()),
           result.getErrorMessages());
     } else if (result.isResultPresent()) {
-      return result.getResult().getSanitizedValue();
+      return toSanitizedView(result.getResult());
     }
 
     return null;
   }
 
+  private static <T> CompletionStage<T> failedExecution(Throwable e) {
+    CompletableFuture<T> execution = new CompletableFuture<>();
+    execution.completeExceptionally(e);
+    return execution;
+  }
+
   public Object fieldDataFetcher(DataFetchingEnvironment env, Field field) {
     Object source = env.getSource();
+    if (source instanceof ObjectField) {
+      return toSanitizedView(findField((ObjectField) source, field.getFieldName()));
+    }
+
     // If no values are passed for the source, return a field definition to continue the execution
     // strategy instead of returning null. This is an expansion of the PropertyDataFetcher
     if (source instanceof Map) {
@@ -205,14 +273,78 @@ public class GraphQLTransformOutput {
       }
     }
 
+    return toSanitizedView(field);
+  }
+
+  /**
+   * Returns a view of the sanitized value of the field. Object fields are returned as is, so their
+   * inner fields are only sanitized by {@link #fieldDataFetcher(DataFetchingEnvironment, Field)}
+   * when the query selects them. Lists are transformed lazily while they are being resolved.
+   */
+  private static Object toSanitizedView(Field field) {
+    if (field == null) {
+      return null;
+    } else if (field instanceof ObjectField) {
+      return field;
+    } else if (field instanceof ListField) {
+      return Lists.transform(
+          ((ListField<Field>) field).getList(), GraphQLTransformOutput::toSanitizedView);
+    }
+
     return field.getSanitizedValue();
   }
 
+  private static Field findField(ObjectField objectField, String fieldName) {
+    for (Field field : objectField.getFields()) {
+      if (field != null && fieldName.equals(field.getFieldName())) {
+        return field;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Builds the metrics name from the schema names of the fields leading to the function. The
+   * execution path is not used since it contains the aliases and list indices of the query, which
+   * would split the metrics of a function and let clients create any number of them.
+   */
+  private static String toMetricsName(ExecutionTypeInfo typeInfo) {
+    Deque<String> names = new ArrayDeque<>();
+    for (ExecutionTypeInfo info = typeInfo; info != null; info = info.getParentTypeInfo()) {
+      // List elements and the operation root have no field definition
+      if (info.getFieldDefinition() != null) {
+        names.addFirst(info.getFieldDefinition().getName());
+      }
+    }
+
+    return String.join(".", names);
+  }
+
   // Add on Payload to avoid collision between an input and output field type name;
   public String createOutputObjectFieldTypeName(String fieldTypeName) {
     return GraphQLTransformCommons.capitalize(fieldTypeName) + "Payload";
   }
 
+  /**
+   * Removes the cached types of the given field types so that they are transformed again the next
+   * time they are encountered. Types that are not evicted keep their identity across
+   * transformations, which allows providers that did not change to be reused as is.
+   *
+   * @param fieldTypes field types to evict
+   */
+  public void evictTypes(Collection<String> fieldTypes) {
+    for (String fieldType : fieldTypes) {
+      outputTypeProvider.removeType(fieldType);
+      referenceTypeProvider.removeType(fieldType);
+      referenceTypeProvider.removeType(createOutputObjectFieldTypeName(fieldType));
+    }
+
+    inputTransformer.evictTypes(fieldTypes);
+    transformEnum.evictTypes(fieldTypes);
+    transformScalar.evictTypes(fieldTypes);
+  }
+
   // Omit the referenceTypeProvider intentionally since all the types should already be defined by
   // the other providers
   public List<GraphQLTypesProvider> getTypeProviders() {
@@ -15,6 +15,7 @@ package org.codice.ddf.admin.graphql.transform;
 
 import graphql.Scalars;
 import graphql.schema.GraphQLScalarType;
+import java.util.Collection;
 import org.codice.ddf.admin.api.fields.ScalarField;
 import org.codice.ddf.admin.graphql.GraphQLTypesProviderImpl;
 
@@ -77,6 +78,10 @@ public class GraphQLTransformScalar {
     return type;
   }
 
+  public void evictTypes(Collection<String> fieldTypes) {
+    fieldTypes.forEach(scalarTypesProvider::removeType);
+  }
+
   public GraphQLTypesProviderImpl getScalarTypesProvider() {
     return scalarTypesProvider;
   }
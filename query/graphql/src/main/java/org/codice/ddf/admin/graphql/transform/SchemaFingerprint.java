@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.transform;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.commons.lang.StringUtils;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.FieldProvider;
+import org.codice.ddf.admin.api.fields.EnumField;
+import org.codice.ddf.admin.api.fields.EnumValue;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.api.fields.ListField;
+import org.codice.ddf.admin.api.fields.ObjectField;
+
+/**
+ * Fingerprint of everything the {@link GraphQLTransformCommons} reads from a list of {@link
+ * FieldProvider}s, computed without building any GraphQL types. Comparing the fingerprints of two
+ * schema refreshes tells which field types and which providers have to be transformed again.
+ *
+ * <p>Since the transformed types hold data fetchers bound to the function instances of a provider,
+ * a provider is also considered changed when any of its functions was replaced by another instance.
+ */
+public class SchemaFingerprint {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final Map<String, HashCode> typeFingerprints = new HashMap<>();
+
+  private final Map<FieldProvider, ProviderFingerprint> providerFingerprints =
+      new IdentityHashMap<>();
+
+  private final List<ProviderFingerprint> orderedProviderFingerprints = new ArrayList<>();
+
+  private final Set<String> visitingTypes = new HashSet<>();
+
+  private final Hasher schemaHasher = HASH_FUNCTION.newHasher();
+
+  private String hash;
+
+  private SchemaFingerprint() {}
+
+  public static SchemaFingerprint of(List<FieldProvider> fieldProviders) {
+    SchemaFingerprint fingerprint = new SchemaFingerprint();
+    fieldProviders.forEach(fingerprint::addProvider);
+    fingerprint.hash = fingerprint.schemaHasher.hash().toString();
+    return fingerprint;
+  }
+
+  /**
+   * @return hash of the structure of all providers. Unlike the comparisons between fingerprints,
+   *     the hash does not depend on the provider instances and is stable across restarts.
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * @param previous fingerprint of the last schema refresh, may be null
+   * @return true if the same providers with the same structure are present in the same order
+   */
+  public boolean isUnchanged(SchemaFingerprint previous) {
+    return previous != null
+        && orderedProviderFingerprints.equals(previous.orderedProviderFingerprints);
+  }
+
+  /**
+   * @param provider a provider of this fingerprint
+   * @param previous fingerprint of the last schema refresh, may be null
+   * @return true if the provider has to be transformed again
+   */
+  public boolean isChanged(FieldProvider provider, SchemaFingerprint previous) {
+    return previous == null
+        || !Objects.equals(
+            providerFingerprints.get(provider), previous.providerFingerprints.get(provider));
+  }
+
+  /**
+   * @param previous fingerprint of the last schema refresh, may be null
+   * @return the field types that were added, removed or changed since the previous fingerprint
+   */
+  public Set<String> getChangedTypes(SchemaFingerprint previous) {
+    Set<String> changedTypes = new HashSet<>();
+    Map<String, HashCode> previousTypes =
+        previous == null ? new HashMap<>() : previous.typeFingerprints;
+
+    typeFingerprints.forEach(
+        (type, hash) -> {
+          if (!hash.equals(previousTypes.get(type))) {
+            changedTypes.add(type);
+          }
+        });
+
+    previousTypes.keySet().stream()
+        .filter(type -> !typeFingerprints.containsKey(type))
+        .forEach(changedTypes::add);
+
+    return changedTypes;
+  }
+
+  private void addProvider(FieldProvider provider) {
+    Hasher hasher = HASH_FUNCTION.newHasher().putBytes(fingerprintType(provider).asBytes());
+    List<FunctionField> functions = new ArrayList<>();
+
+    for (FunctionField function : nullToEmpty(provider.getDiscoveryFunctions())) {
+      functions.add(function);
+    }
+
+    for (FunctionField function : nullToEmpty(provider.getMutationFunctions())) {
+      putFunction(hasher, function);
+      functions.add(function);
+    }
+
+    ProviderFingerprint fingerprint = new ProviderFingerprint(provider, hasher.hash(), functions);
+    schemaHasher
+        .putString(provider.getClass().getName(), StandardCharsets.UTF_8)
+        .putBytes(fingerprint.hash.asBytes());
+    providerFingerprints.put(provider, fingerprint);
+    orderedProviderFingerprints.add(fingerprint);
+  }
+
+  private HashCode fingerprintType(Field field) {
+    String type = field.getFieldType();
+
+    if (type != null && typeFingerprints.containsKey(type)) {
+      return typeFingerprints.get(type);
+    }
+
+    // Recursive object fields are transformed into type references
+    if (type != null && !visitingTypes.add(type)) {
+      return HASH_FUNCTION.hashString(type, StandardCharsets.UTF_8);
+    }
+
+    Hasher hasher =
+        HASH_FUNCTION
+            .newHasher()
+            .putString(field.getClass().getName(), StandardCharsets.UTF_8)
+            .putString(StringUtils.defaultString(type), StandardCharsets.UTF_8)
+            .putString(StringUtils.defaultString(field.getDescription()), StandardCharsets.UTF_8);
+
+    if (field instanceof ObjectField) {
+      for (Field innerField : nullToEmpty(((ObjectField) field).getFields())) {
+        putMember(hasher, innerField);
+      }
+
+      if (field instanceof FieldProvider) {
+        for (FunctionField function :
+            nullToEmpty(((FieldProvider) field).getDiscoveryFunctions())) {
+          putFunction(hasher, function);
+        }
+      }
+    } else if (field instanceof EnumField) {
+      for (Object value : nullToEmpty(((EnumField) field).getEnumValues())) {
+        EnumValue enumValue = (EnumValue) value;
+        hasher
+            .putString(StringUtils.defaultString(enumValue.getEnumTitle()), StandardCharsets.UTF_8)
+            .putString(String.valueOf(enumValue.getValue()), StandardCharsets.UTF_8)
+            .putString(
+                StringUtils.defaultString(enumValue.getDescription()), StandardCharsets.UTF_8);
+      }
+    } else if (field instanceof ListField) {
+      hasher.putBytes(fingerprintType(((ListField<Field>) field).createListEntry()).asBytes());
+    }
+
+    HashCode fingerprint = hasher.hash();
+    if (type != null) {
+      visitingTypes.remove(type);
+      typeFingerprints.put(type, fingerprint);
+    }
+    return fingerprint;
+  }
+
+  private void putMember(Hasher hasher, Field field) {
+    hasher
+        .putString(StringUtils.defaultString(field.getFieldName()), StandardCharsets.UTF_8)
+        .putString(StringUtils.defaultString(field.getDescription()), StandardCharsets.UTF_8)
+        .putBoolean(field.isRequired())
+        .putBytes(fingerprintType(field).asBytes());
+  }
+
+  private void putFunction(Hasher hasher, FunctionField<?> function) {
+    hasher
+        .putString(StringUtils.defaultString(function.getFunctionName()), StandardCharsets.UTF_8)
+        .putString(StringUtils.defaultString(function.getDescription()), StandardCharsets.UTF_8);
+
+    if (function.getErrorCodes() != null) {
+      function.getErrorCodes().stream()
+          .sorted()
+          .forEach(code -> hasher.putString(code, StandardCharsets.UTF_8));
+    }
+
+    for (Field argument : nullToEmpty(function.getArguments())) {
+      putMember(hasher, argument);
+    }
+
+    hasher.putBytes(fingerprintType(function.getReturnType()).asBytes());
+  }
+
+  private static <T> List<T> nullToEmpty(List<T> list) {
+    return list == null ? new ArrayList<>() : list;
+  }
+
+  private static class ProviderFingerprint {
+
+    private final FieldProvider provider;
+
+    private final HashCode hash;
+
+    private final List<FunctionField> functions;
+
+    private ProviderFingerprint(
+        FieldProvider provider, HashCode hash, List<FunctionField> functions) {
+      this.provider = provider;
+      this.hash = hash;
+      this.functions = functions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      ProviderFingerprint that = (ProviderFingerprint) o;
+      if (provider != that.provider
+          || !hash.equals(that.hash)
+          || functions.size() != that.functions.size()) {
+        return false;
+      }
+
+      for (int i = 0; i < functions.size(); i++) {
+        if (functions.get(i) != that.functions.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash.hashCode();
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.graphql.test
+
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import org.codice.ddf.admin.graphql.servlet.DocumentCache
+import spock.lang.Specification
+
+import javax.management.MBeanServerFactory
+import javax.management.ObjectName
+
+import static graphql.Scalars.GraphQLString
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition
+
+class DocumentCacheTest extends Specification {
+
+    static final OBJECT_NAME = new ObjectName('org.codice.ddf.admin.graphql:type=DocumentCache')
+
+    GraphQLSchema schema = GraphQLSchema.newSchema()
+            .query(GraphQLObjectType.newObject()
+            .name('Query')
+            .field(newFieldDefinition().name('value').type(GraphQLString).staticValue('value')))
+            .build()
+
+    def 'valid documents are cached'() {
+        setup:
+        def cache = new DocumentCache()
+
+        when:
+        def first = cache.get(schema, '{ value }')
+        def second = cache.get(schema, '{ value }')
+
+        then:
+        !first.hasErrors()
+        first.is(second)
+        cache.getMissCount() == 1
+        cache.getHitCount() == 1
+        cache.getSize() == 1
+    }
+
+    def 'documents with syntax or validation errors are not cached'() {
+        setup:
+        def cache = new DocumentCache()
+
+        when:
+        def results = (1..2).collect { cache.get(schema, query) }
+
+        then:
+        results.every { it.hasErrors() }
+        cache.getSize() == 0
+        cache.getMissCount() == 2
+
+        where:
+        query << ['{ value', '{ unknown }']
+    }
+
+    def 'the cache is bounded by the length of the cached queries'() {
+        setup:
+        def query = '{ value }'
+        def cache = new DocumentCache(query.length() * 2, null)
+
+        when:
+        cache.get(schema, query)
+        cache.get(schema, "{ value ${' ' * query.length()}}")
+
+        then:
+        cache.getSize() == 1
+        cache.getEvictionCount() == 1
+    }
+
+    def 'statistics are registered as an MBean until the cache is closed'() {
+        setup:
+        def mBeanServer = MBeanServerFactory.newMBeanServer()
+        def cache = new DocumentCache(DocumentCache.DEFAULT_MAXIMUM_WEIGHT, mBeanServer)
+
+        when:
+        cache.get(schema, '{ value }')
+        cache.get(schema, '{ value }')
+
+        then:
+        mBeanServer.getAttribute(OBJECT_NAME, 'HitCount') == 1
+        mBeanServer.getAttribute(OBJECT_NAME, 'MissCount') == 1
+        mBeanServer.getAttribute(OBJECT_NAME, 'Size') == 1
+
+        when:
+        cache.close()
+
+        then:
+        !mBeanServer.isRegistered(OBJECT_NAME)
+    }
+}
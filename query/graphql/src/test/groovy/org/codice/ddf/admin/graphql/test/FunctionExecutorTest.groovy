@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.graphql.test
+
+import org.codice.ddf.admin.common.concurrent.TaskExecutors
+import org.codice.ddf.admin.graphql.FunctionExecutor
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class FunctionExecutorTest extends Specification {
+
+    CountDownLatch release = new CountDownLatch(1)
+
+    def 'closing the executor waits for the submitted functions to complete'() {
+        setup:
+        def executor = new FunctionExecutor(TaskExecutors.PLATFORM_THREADS, 1, 4, null)
+        def blocked = CompletableFuture.runAsync({ release.await() }, executor)
+        def queued = (1..3).collect { i -> CompletableFuture.supplyAsync({ i }, executor) }
+
+        when:
+        def closing = CompletableFuture.runAsync({ executor.close() })
+        Thread.sleep(100)
+
+        then:
+        !closing.isDone()
+
+        when:
+        release.countDown()
+        closing.get(5, TimeUnit.SECONDS)
+
+        then:
+        blocked.isDone()
+        queued*.join() == [1, 2, 3]
+    }
+
+    def 'functions still queued when the close timeout elapses are completed on the caller'() {
+        setup:
+        def executor = new FunctionExecutor(TaskExecutors.PLATFORM_THREADS, 1, 4, null)
+        def blocked = CompletableFuture.runAsync({ release.await() }, executor)
+        def queued = (1..3).collect { i -> CompletableFuture.supplyAsync({ i }, executor) }
+
+        when:
+        executor.close(100, TimeUnit.MILLISECONDS)
+
+        then:
+        blocked.handle { result, e -> e }.get(5, TimeUnit.SECONDS) != null
+        queued*.join() == [1, 2, 3]
+        executor.getCallerRunsCount() == 3
+
+        when:
+        def afterClose = CompletableFuture.supplyAsync({ 4 }, executor)
+
+        then:
+        afterClose.join() == 4
+    }
+
+    def 'the queue wait is only recorded for functions run by the executor'() {
+        setup:
+        def executor = new FunctionExecutor(TaskExecutors.PLATFORM_THREADS, 1, 2, null)
+        executor.execute({ release.await() })
+        2.times { executor.execute({}) }
+
+        when: 'the executor is full, so the functions run on the caller without waiting'
+        5.times { executor.execute({}) }
+        Thread.sleep(100)
+        release.countDown()
+        executor.close()
+
+        then:
+        executor.getCallerRunsCount() == 5
+        executor.getQueueWaitP50Millis() >= 100
+    }
+}
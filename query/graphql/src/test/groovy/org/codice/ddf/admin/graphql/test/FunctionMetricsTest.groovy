@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.graphql.test
+
+import org.codice.ddf.admin.graphql.metrics.FunctionMetrics
+import org.codice.ddf.admin.graphql.metrics.LatencyReservoir
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class FunctionMetricsTest extends Specification {
+
+    def 'the maximum latency covers executions that left the latency reservoir'() {
+        setup:
+        def metrics = new FunctionMetrics('testing')
+
+        when:
+        metrics.record(TimeUnit.SECONDS.toNanos(5), null)
+        LatencyReservoir.DEFAULT_SIZE.times { metrics.record(TimeUnit.MILLISECONDS.toNanos(1), null) }
+
+        then:
+        metrics.getMaxLatencyMillis() == 5000
+        metrics.getLatencyP99Millis() == 1
+        metrics.toMap().maxLatencyMillis == 5000
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.graphql.test
+
+import com.fasterxml.jackson.databind.JsonMappingException
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.codice.ddf.admin.graphql.servlet.request.GraphQLBatchResponseWriter
+import spock.lang.Specification
+
+class GraphQLBatchResponseWriterTest extends Specification {
+
+    ObjectMapper mapper = new ObjectMapper()
+
+    def 'results of a batch are written as a JSON array'() {
+        setup:
+        def output = new ByteArrayOutputStream()
+
+        when:
+        new GraphQLBatchResponseWriter(mapper, output, true).withCloseable {
+            it.write([data: 1])
+            it.write([data: 2])
+        }
+
+        then:
+        mapper.readValue(output.toByteArray(), List) == [[data: 1], [data: 2]]
+    }
+
+    def 'a result that cannot be serialized leaves nothing behind'() {
+        setup:
+        def output = new ByteArrayOutputStream()
+        def writer = new GraphQLBatchResponseWriter(mapper, output, true)
+
+        when:
+        writer.write([data: 1])
+        writer.write([data: [value: new Unserializable()]])
+
+        then:
+        thrown(JsonMappingException)
+
+        when:
+        writer.write([errors: ['failed']])
+        writer.close()
+
+        then:
+        mapper.readValue(output.toByteArray(), List) == [[data: 1], [errors: ['failed']]]
+    }
+
+    def 'the batch array is not closed after a result failed to be written'() {
+        setup:
+        def output = new FailingOutputStream()
+        def writer = new GraphQLBatchResponseWriter(mapper, output, true)
+
+        when:
+        writer.write([data: 1])
+        output.failing = true
+        writer.write([data: 'x' * 10000])
+
+        then:
+        thrown(IOException)
+
+        when:
+        output.failing = false
+        writer.close()
+
+        then:
+        !output.toString().trim().endsWith(']')
+    }
+
+    static class Unserializable {
+
+        String getValue() {
+            throw new IllegalStateException('Cannot be serialized')
+        }
+    }
+
+    static class FailingOutputStream extends ByteArrayOutputStream {
+
+        boolean failing
+
+        @Override
+        synchronized void write(byte[] b, int off, int len) {
+            if (failing) {
+                throw new IOException('Connection reset')
+            }
+            super.write(b, off, len)
+        }
+    }
+}
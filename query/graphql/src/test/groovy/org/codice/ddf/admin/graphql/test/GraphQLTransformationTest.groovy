@@ -4,6 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.google.common.base.Charsets
 import com.google.common.io.Resources
 import com.google.common.net.HttpHeaders
+import graphql.parser.Parser
+import graphql.schema.GraphQLSchema
+import graphql.servlet.GraphQLContext
 import graphql.validation.ValidationErrorType
 import groovy.json.JsonBuilder
 import org.codice.ddf.admin.api.fields.FunctionField
@@ -16,10 +19,18 @@ import org.codice.ddf.admin.common.fields.test.TestHiddenField
 import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import org.codice.ddf.admin.graphql.servlet.ExtendedOsgiGraphQLServlet
+import org.codice.ddf.admin.graphql.servlet.PersistedQueries
+import org.codice.ddf.admin.graphql.servlet.QueryCostAnalyzer
 import org.springframework.mock.web.MockHttpServletRequest
 import org.springframework.mock.web.MockHttpServletResponse
 import spock.lang.Shared
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.lang.management.ManagementFactory
+import javax.management.ObjectName
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
 
 class GraphQLTransformationTest extends Specification {
 
@@ -366,6 +377,320 @@ class GraphQLTransformationTest extends Specification {
         ]
     }
 
+    def "batched request responses are returned in the order of the queries"() {
+        setup:
+        def queries = [
+                [query: getQuery('GetErrorCodes')],
+                [query: getQuery('SatisfiedRequiredFieldsQuery'), variables: getVariables()],
+                [query: getQuery('GetBaseFieldTypesQuery')]
+        ]
+
+        def reqContent = toJson(queries).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsList().size() == 3
+        getResponseContentAsList().every { it.errors == null }
+        getResponseContentAsList()[0].data.errorCodes.contains(DefaultMessages.MISSING_REQUIRED_FIELD)
+        getResponseContentAsList()[1].data[FUNCTION_NAME].keySet() == [TestFieldProvider.REQUIRED_ARG_FUNCTION_NAME] as Set
+        getResponseContentAsList()[2].data[FUNCTION_NAME][TestFieldProvider.GET_INT_FUNCTION_NAME] == TestFieldProvider.GetInt.GET_INT_VALUE
+    }
+
+    def 'batches containing a mutation are executed in order on the calling thread'() {
+        setup:
+        def threads = recordExecutingThreads()
+        def mutation = [query: 'mutation { sampleMutation(testObj: {string: "value"}) { string } }']
+        def query = [query: getQuery('GetErrorCodes')]
+
+        when:
+        def results = postBatch([query, mutation, query])
+
+        then:
+        response.getStatus() == STATUS_OK
+        results.size() == 3
+        results[1].errors*.message == [TestFieldProvider.ERROR_MSG]
+        threads == [Thread.currentThread()] * 3
+    }
+
+    def 'batches of queries are executed on the batch executor'() {
+        setup:
+        def threads = recordExecutingThreads()
+        def query = [query: getQuery('GetErrorCodes')]
+
+        when:
+        def results = postBatch([query] * 5)
+
+        then:
+        results.size() == 5
+        results.every { it.data.errorCodes }
+        threads.size() == 5
+        threads.every { it.name.startsWith('graphql-batch') }
+    }
+
+    def 'parsed documents are reused until the schema changes'() {
+        setup:
+        def reqContent = toJson([query: getQuery('GetErrorCodes')]).bytes
+
+        when:
+        2.times { post(reqContent) }
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors == null
+        servlet.documentCache.stats().missCount() == 1
+        servlet.documentCache.stats().hitCount() == 1
+
+        when:
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+
+        then:
+        servlet.documentCache.size() == 0
+    }
+
+    def 'schema is only rebuilt when the field providers change'() {
+        when:
+        servlet.refreshSchema()
+
+        then:
+        servlet.getSchemaRebuildCount() == 1
+
+        when:
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetBaseFieldTypesQuery'))
+        servlet.doGet(request, response)
+
+        then:
+        servlet.getSchemaRebuildCount() == 2
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data[FUNCTION_NAME][TestFieldProvider.GET_INT_FUNCTION_NAME] == TestFieldProvider.GetInt.GET_INT_VALUE
+    }
+
+    def 'bursts of schema refresh requests are coalesced into a single refresh'() {
+        setup:
+        def conditions = new PollingConditions(timeout: 5)
+        servlet.setSchemaRefreshQuietPeriodMillis(100)
+        servlet.setFieldProviders([new TestFieldProvider()])
+
+        when:
+        3.times { servlet.bindFieldProvider(new TestFieldProvider()) }
+
+        then:
+        conditions.eventually {
+            assert servlet.getSchemaRebuildCount() == 2
+        }
+
+        when:
+        sleep(300)
+
+        then:
+        servlet.getSchemaRebuildCount() == 2
+    }
+
+    def 'schema introspection is served from the snapshot until the live schema matches it'() {
+        setup:
+        def snapshotFile = File.createTempDir().toPath().resolve('graphql-schema.json')
+        servlet.setSchemaSnapshotFile(snapshotFile.toString())
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+
+        def restartedServlet = new ExtendedOsgiGraphQLServlet()
+        restartedServlet.setSchemaSnapshotFile(snapshotFile.toString())
+        restartedServlet.setFieldProviders([new TestFieldProvider()])
+        request.setPathInfo('/schema.json')
+
+        when:
+        restartedServlet.doGet(request, response)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().data.__schema.types*.name.contains('Test')
+
+        when:
+        restartedServlet.refreshSchema()
+
+        then:
+        restartedServlet.startupSnapshot == null
+    }
+
+    def 'execute a registered persisted query by its hash'() {
+        setup:
+        def hash = servlet.registerPersistedQuery(getQuery('GetErrorCodes'))
+        def reqContent = toJson([extensions: [persistedQuery: [version: 1, sha256Hash: hash]]]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data.errorCodes.contains(DefaultMessages.MISSING_REQUIRED_FIELD)
+        servlet.documentCache.stats().hitCount() == 1
+    }
+
+    def 'persisted queries sent by clients are registered by their hash'() {
+        setup:
+        def query = getQuery('GetErrorCodes')
+        def hash = PersistedQueries.hash(query)
+        def registerContent = toJson([query: query, extensions: [persistedQuery: [sha256Hash: hash]]]).bytes
+        def hashOnlyContent = toJson([extensions: [persistedQuery: [sha256Hash: hash]]]).bytes
+
+        when:
+        def unknownHashResponse = post(hashOnlyContent)
+        def registerResponse = post(registerContent)
+        def hashOnlyResponse = post(hashOnlyContent)
+
+        then:
+        unknownHashResponse.errors*.message == [ExtendedOsgiGraphQLServlet.PERSISTED_QUERY_NOT_FOUND_MSG]
+        registerResponse.errors == null
+        hashOnlyResponse.errors == null
+        hashOnlyResponse.data == registerResponse.data
+    }
+
+    def 'persisted queries with variables are executed without parsing the query again'() {
+        setup:
+        servlet = new ExtendedOsgiGraphQLServlet() {
+            @Override
+            protected Map<String, Object> transformVariables(GraphQLSchema schema, String query, Map<String, Object> variables) {
+                throw new AssertionError('Variables must not be transformed by re-parsing the query')
+            }
+        }
+        servlet.setFieldProviders([new TestFieldProvider()])
+        ExtendedOsgiGraphQLServlet.getDeclaredMethod('refreshSchema').with {
+            accessible = true
+            invoke(servlet)
+        }
+        def hash = servlet.registerPersistedQuery(getQuery('MultipleArgumentsQuery'))
+        def documentCache = ExtendedOsgiGraphQLServlet.getDeclaredField('documentCache').with {
+            accessible = true
+            get(servlet)
+        }
+        def reqContent = toJson([variables: queryVars, extensions: [persistedQuery: [sha256Hash: hash]]]).bytes
+
+        when:
+        def results = (1..2).collect { post(reqContent) }
+
+        then:
+        results.every { it.errors == null }
+        results.every {
+            it.data[FUNCTION_NAME][TestFieldProvider.MULTIPLE_ARGS_FUNCTION_NAME] == [
+                    (STRING)     : STRING_ARG_VALUE,
+                    (BOOLEAN)    : BOOLEAN_ARG_VALUE,
+                    (INTEGER)    : INTEGER_ARG_VALUE,
+                    (LIST)       : LIST_ARG_VALUE,
+                    (ENUMERATION): ENUM_ARG_VALUE
+            ]
+        }
+        documentCache.stats().missCount() == 1
+        documentCache.stats().hitCount() == 2
+    }
+
+    def 'fail to register a persisted query with a mismatched hash'() {
+        setup:
+        def reqContent = toJson([query: getQuery('GetErrorCodes'), extensions: [persistedQuery: [sha256Hash: PersistedQueries.hash('')]]]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors*.message == [ExtendedOsgiGraphQLServlet.PERSISTED_QUERY_HASH_MISMATCH_MSG]
+    }
+
+    def 'function execution metrics are returned by the metrics query'() {
+        setup:
+        post(toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes)
+        post(toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes)
+
+        when:
+        def metrics = post(toJson([query: getQuery('GetMetrics')]).bytes)
+        def getIntMetrics = metrics.data.metrics.find {
+            it.name == "${FUNCTION_NAME}.${TestFieldProvider.GET_INT_FUNCTION_NAME}"
+        }
+
+        then:
+        metrics.errors == null
+        getIntMetrics.count == 2
+        getIntMetrics.errorCount == 0
+        getIntMetrics.errorCodes.isEmpty()
+        getIntMetrics.latencyP99Millis >= getIntMetrics.latencyP50Millis
+        getIntMetrics.latencyP99Millis >= getIntMetrics.performFunctionP99Millis
+    }
+
+    def 'function execution metrics are shared by aliases of the same function'() {
+        setup:
+        def getInt = TestFieldProvider.GET_INT_FUNCTION_NAME
+        post(toJson([query: "{ a: ${FUNCTION_NAME} { b: ${getInt} c: ${getInt} } d: ${FUNCTION_NAME} { ${getInt} } }".toString()]).bytes)
+
+        when:
+        def metrics = post(toJson([query: getQuery('GetMetrics')]).bytes)
+
+        then:
+        metrics.errors == null
+        metrics.data.metrics*.name == ["${FUNCTION_NAME}.${getInt}".toString()]
+        metrics.data.metrics[0].count == 3
+    }
+
+    def 'schema rebuild metrics are returned by the schema metrics query and MBean'() {
+        setup:
+        def objectName = new ObjectName('org.codice.ddf.admin.graphql:type=SchemaMetrics')
+
+        when:
+        def result = post(toJson([query: '{ schemaMetrics { rebuildCount lastRebuildTimeMillis maxRebuildTimeMillis } }']).bytes)
+
+        then:
+        result.errors == null
+        result.data.schemaMetrics.rebuildCount == 1
+        result.data.schemaMetrics.lastRebuildTimeMillis == servlet.getLastSchemaRebuildTimeMillis()
+        result.data.schemaMetrics.maxRebuildTimeMillis >= result.data.schemaMetrics.lastRebuildTimeMillis
+        ManagementFactory.getPlatformMBeanServer().getAttribute(objectName, 'RebuildCount') == 1
+    }
+
+    def 'reject queries exceeding the maximum query cost without executing them'() {
+        setup:
+        servlet.setMaxQueryCost(100)
+
+        when:
+        def result = post(toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes)
+
+        then:
+        result.data == null
+        result.errors*.message == [String.format(QueryCostAnalyzer.MAX_COST_EXCEEDED_MSG, 141, 100)]
+    }
+
+    def 'reject queries exceeding the maximum query depth without executing them'() {
+        setup:
+        servlet.setMaxQueryDepth(3)
+
+        when:
+        def result = post(toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes)
+
+        then:
+        result.data == null
+        result.errors*.message == [String.format(QueryCostAnalyzer.MAX_DEPTH_EXCEEDED_MSG, 4, 3)]
+    }
+
+    def 'reject queries whose cost cannot be computed unless the execution reports the failure'() {
+        setup:
+        def analyzer = new QueryCostAnalyzer()
+        def document = new Parser().parseDocument(getQuery('GetBaseFieldTypesQuery'))
+
+        expect:
+        analyzer.analyze(null, document, null, [:]) == QueryCostAnalyzer.COST_ANALYSIS_FAILED_MSG
+        analyzer.analyze(servlet.getSchemaProvider().getSchema(), document, 'UnknownOperation', [:]) == null
+    }
+
     def 'successfully retrieve error codes without any errors'() {
         setup:
         request.addParameter(GRAPHQL_QUERY, getQuery('GetErrorCodes'))
@@ -402,6 +727,24 @@ class GraphQLTransformationTest extends Specification {
         response.getStatus() == STATUS_INVALID_REQUEST
     }
 
+    def 'fail when the request body is truncated or followed by more content'() {
+        setup:
+        def query = toJson([query: getQuery('GetErrorCodes')])
+        def reqContent = (body as String).replace('QUERY', query).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_INVALID_REQUEST
+        response.getContentAsByteArray().length == 0
+
+        where:
+        body << ['[QUERY', '[QUERY,', '[QUERY]]', '[QUERY] QUERY', 'QUERY QUERY', 'QUERY]', '{"query": "{ errorCodes }"']
+    }
+
     def 'fail when content-length is absent'() {
         setup:
         request.setContent(toJson([query: ""]).bytes)
@@ -413,6 +756,42 @@ class GraphQLTransformationTest extends Specification {
         response.getStatus() == MISSING_CONTENT_LENGTH
     }
 
+    def recordExecutingThreads() {
+        def threads = Collections.synchronizedList([])
+        servlet = new ExtendedOsgiGraphQLServlet() {
+            @Override
+            protected GraphQLContext createContext(Optional<HttpServletRequest> request, Optional<HttpServletResponse> response) {
+                threads << Thread.currentThread()
+                return super.createContext(request, response)
+            }
+        }
+        servlet.setFieldProviders([new TestFieldProvider()])
+        ExtendedOsgiGraphQLServlet.getDeclaredMethod('refreshSchema').with {
+            accessible = true
+            invoke(servlet)
+        }
+        return threads
+    }
+
+    def post(byte[] reqContent) {
+        request = new MockHttpServletRequest()
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+        response = new MockHttpServletResponse()
+        servlet.doPost(request, response)
+        getResponseContentAsMap()
+    }
+
+    List postBatch(List operations) {
+        def reqContent = toJson(operations).bytes
+        request = new MockHttpServletRequest()
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+        response = new MockHttpServletResponse()
+        servlet.doPost(request, response)
+        getResponseContentAsList()
+    }
+
     def getResponseContentAsMap() {
         mapper.readValue(response.getContentAsByteArray(), Map)
     }
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.graphql.test
+
+import org.codice.ddf.admin.graphql.servlet.PersistedQueries
+import spock.lang.Specification
+
+class PersistedQueriesTest extends Specification {
+
+    def 'queries registered by clients are bounded by the length of their texts'() {
+        setup:
+        def persistedQueries = new PersistedQueries(19)
+        def shortQueries = (1..3).collect { "{ a$it }".toString() }
+        def longQuery = "{ a${' ' * 15}}".toString()
+
+        when:
+        shortQueries.each { persistedQueries.registerClientQuery(PersistedQueries.hash(it), it) }
+
+        then:
+        shortQueries.every { persistedQueries.get(PersistedQueries.hash(it)) == it }
+
+        when:
+        persistedQueries.registerClientQuery(PersistedQueries.hash(longQuery), longQuery)
+
+        then:
+        persistedQueries.get(PersistedQueries.hash(longQuery)) == longQuery
+        shortQueries.count { persistedQueries.get(PersistedQueries.hash(it)) != null } == 0
+    }
+
+    def 'queries registered up front are not bounded'() {
+        setup:
+        def persistedQueries = new PersistedQueries(1)
+        def query = '{ value }'
+
+        when:
+        def hash = persistedQueries.register(query)
+
+        then:
+        persistedQueries.get(hash) == query
+    }
+}
@@ -13,15 +13,14 @@
  */
 package org.codice.ddf.admin.security.common.fields.wcpm;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.Callable;
 import org.codice.ddf.admin.api.fields.EnumValue;
-import org.codice.ddf.admin.api.poller.EnumValuePoller;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 import org.codice.ddf.admin.common.fields.base.BaseListField;
+import org.codice.ddf.admin.common.fields.base.EnumValueSnapshot;
+import org.codice.ddf.admin.common.poller.EnumValuePollers;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 
 public class AuthType extends BaseEnumField<String> {
@@ -49,14 +48,12 @@ public class AuthType extends BaseEnumField<String> {
 
   @Override
   public List<EnumValue<String>> getEnumValues() {
-    Set<EnumValuePoller> authTypes =
-        serviceReader.getServices(EnumValuePoller.class, AUTH_TYPE_POLLER_FILTER);
-
-    return authTypes
-        .stream()
-        .findFirst()
-        .map(EnumValuePoller::getEnumValues)
-        .orElse(new ArrayList<>());
+    return getEnumValueSnapshot().getEnumValues();
+  }
+
+  @Override
+  protected EnumValueSnapshot<String> getEnumValueSnapshot() {
+    return EnumValuePollers.getEnumValueSnapshot(serviceReader, AUTH_TYPE_POLLER_FILTER);
   }
 
   public static class ListImpl extends BaseListField<AuthType> {
@@ -13,15 +13,14 @@
  */
 package org.codice.ddf.admin.security.common.fields.wcpm;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
 import org.codice.ddf.admin.api.fields.EnumValue;
-import org.codice.ddf.admin.api.poller.EnumValuePoller;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 import org.codice.ddf.admin.common.fields.base.BaseListField;
+import org.codice.ddf.admin.common.fields.base.EnumValueSnapshot;
+import org.codice.ddf.admin.common.poller.EnumValuePollers;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 
 public class Realm extends BaseEnumField<String> {
@@ -50,9 +49,12 @@ public class Realm extends BaseEnumField<String> {
 
   @Override
   public List<EnumValue<String>> getEnumValues() {
-    Iterator<EnumValuePoller> poller =
-        serviceReader.getServices(EnumValuePoller.class, REALM_POLLER_FILTER).iterator();
-    return poller.hasNext() ? poller.next().getEnumValues() : new ArrayList<>();
+    return getEnumValueSnapshot().getEnumValues();
+  }
+
+  @Override
+  protected EnumValueSnapshot<String> getEnumValueSnapshot() {
+    return EnumValuePollers.getEnumValueSnapshot(serviceReader, REALM_POLLER_FILTER);
   }
 
   @Override
@@ -54,6 +54,7 @@ public class AuthTypesPoller extends BaseEnumValuePoller<AuthenticationHandler,
 
   public void setAuthHandlers(List<AuthenticationHandler> authHandlers) {
     this.authHandlers = authHandlers;
+    refreshEnumValues();
   }
 
   public void setDescriptionMap(Map<String, String> descriptionMap) {
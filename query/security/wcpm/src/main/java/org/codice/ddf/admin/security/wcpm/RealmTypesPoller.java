@@ -61,5 +61,6 @@ public class RealmTypesPoller extends BaseEnumValuePoller<JaasRealm, String> {
 
   public void setRealms(List<JaasRealm> realms) {
     this.realms = realms;
+    refreshEnumValues();
   }
 }
@@ -19,6 +19,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.function.GetFunctionField;
+import org.codice.ddf.admin.common.services.CachingServiceReader;
 import org.codice.ddf.admin.security.common.fields.wcpm.AuthType;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 
@@ -41,14 +42,15 @@ public class GetAuthTypes extends GetFunctionField<AuthType.ListImpl> {
 
   @Override
   public AuthType.ListImpl performFunction() {
+    ServiceReader cachingReader = new CachingServiceReader(serviceReader, getRequestCache());
     List authType =
-        new AuthType(serviceReader)
+        new AuthType(cachingReader)
             .getEnumValues()
             .stream()
-            .map(enumVal -> new AuthType(serviceReader, enumVal))
+            .map(enumVal -> new AuthType(cachingReader, enumVal))
             .collect(Collectors.toList());
 
-    return new AuthType.ListImpl(serviceReader).addAll(authType);
+    return new AuthType.ListImpl(cachingReader).addAll(authType);
   }
 
   @Override
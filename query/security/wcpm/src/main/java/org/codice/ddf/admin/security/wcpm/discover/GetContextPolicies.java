@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableSet;
 import java.util.Set;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.function.GetFunctionField;
+import org.codice.ddf.admin.common.services.CachingServiceReader;
 import org.codice.ddf.admin.security.common.fields.wcpm.ContextPolicyBin;
 import org.codice.ddf.admin.security.common.services.PolicyManagerServiceProperties;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
@@ -42,7 +43,8 @@ public class GetContextPolicies extends GetFunctionField<ContextPolicyBin.ListIm
 
   @Override
   public ContextPolicyBin.ListImpl performFunction() {
-    return wcpmServiceProps.contextPolicyServiceToContextPolicyFields(serviceReader);
+    return wcpmServiceProps.contextPolicyServiceToContextPolicyFields(
+        new CachingServiceReader(serviceReader, getRequestCache()));
   }
 
   @Override
@@ -19,6 +19,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.function.GetFunctionField;
+import org.codice.ddf.admin.common.services.CachingServiceReader;
 import org.codice.ddf.admin.security.common.fields.wcpm.Realm;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 
@@ -37,14 +38,15 @@ public class GetRealms extends GetFunctionField<Realm.ListImpl> {
 
   @Override
   public Realm.ListImpl performFunction() {
+    ServiceReader cachingReader = new CachingServiceReader(serviceReader, getRequestCache());
     List<Realm> realms =
-        new Realm(serviceReader)
+        new Realm(cachingReader)
             .getEnumValues()
             .stream()
-            .map(enumVal -> new Realm(serviceReader, enumVal))
+            .map(enumVal -> new Realm(cachingReader, enumVal))
             .collect(Collectors.toList());
 
-    return new Realm.ListImpl(serviceReader).addAll(realms);
+    return new Realm.ListImpl(cachingReader).addAll(realms);
   }
 
   @Override
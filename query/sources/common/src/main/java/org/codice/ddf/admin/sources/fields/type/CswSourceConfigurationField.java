@@ -46,7 +46,11 @@ public class CswSourceConfigurationField extends SourceConfigField {
   private CswProfile cswProfile;
 
   public CswSourceConfigurationField() {
-    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
+    this(DEFAULT_FIELD_NAME);
+  }
+
+  public CswSourceConfigurationField(String fieldName) {
+    super(fieldName, FIELD_TYPE_NAME, DESCRIPTION);
     outputSchema = new CswOutputSchemaField(OUTPUT_SCHEMA_FIELD_NAME);
     cswProfile = new CswProfile();
     spatialOperator = new CswSpatialOperator();
@@ -23,7 +23,11 @@ public class OpenSearchSourceConfigurationField extends SourceConfigField {
       "Represents an OpenSearch configuration containing properties to be saved.";
 
   public OpenSearchSourceConfigurationField() {
-    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
+    this(DEFAULT_FIELD_NAME);
+  }
+
+  public OpenSearchSourceConfigurationField(String fieldName) {
+    super(fieldName, FIELD_TYPE_NAME, DESCRIPTION);
   }
 
   public void useDefaultRequired() {
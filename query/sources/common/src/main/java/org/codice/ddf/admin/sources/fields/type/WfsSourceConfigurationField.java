@@ -30,7 +30,11 @@ public class WfsSourceConfigurationField extends SourceConfigField {
   private WfsVersion wfsVersion;
 
   public WfsSourceConfigurationField() {
-    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
+    this(DEFAULT_FIELD_NAME);
+  }
+
+  public WfsSourceConfigurationField(String fieldName) {
+    super(fieldName, FIELD_TYPE_NAME, DESCRIPTION);
     wfsVersion = new WfsVersion();
   }
 
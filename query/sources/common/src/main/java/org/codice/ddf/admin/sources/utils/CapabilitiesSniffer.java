@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.utils;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Finds the values source discovery needs in capabilities and query responses. The responses are
+ * streamed once with StAX and reading stops as soon as the value is known, so large documents are
+ * never held in memory.
+ */
+public class CapabilitiesSniffer {
+
+  public static final String OWS_NAMESPACE = "http://www.opengis.net/ows";
+
+  public static final String WFS_2_0_NAMESPACE = "http://www.opengis.net/wfs/2.0";
+
+  public static final String OPENSEARCH_NAMESPACE = "http://a9.com/-/spec/opensearch/1.1/";
+
+  private static final String GET_RECORDS = "GetRecords";
+
+  private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+  private CapabilitiesSniffer() {}
+
+  /**
+   * Reads the output schemas of the GetRecords operation from a CSW GetCapabilities response.
+   * Reading stops at the end of the operations metadata, or as soon as {@code stopOutputSchema} is
+   * read.
+   *
+   * @param capabilities CSW GetCapabilities response
+   * @param stopOutputSchema output schema that ends the reading once found
+   * @return the non-empty output schemas in document order
+   * @throws XMLStreamException if the response is not well formed XML
+   */
+  public static List<String> cswGetRecordsOutputSchemas(
+      InputStream capabilities, String stopOutputSchema) throws XMLStreamException {
+    List<String> outputSchemas = new ArrayList<>();
+    XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(capabilities);
+    try {
+      boolean inOperationsMetadata = false;
+      boolean inGetRecords = false;
+      boolean inOutputSchema = false;
+
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT && isOws(reader)) {
+          String name = reader.getLocalName();
+          if ("OperationsMetadata".equals(name)) {
+            inOperationsMetadata = true;
+          } else if (inOperationsMetadata && "Operation".equals(name)) {
+            inGetRecords = GET_RECORDS.equals(reader.getAttributeValue(null, "name"));
+          } else if (inGetRecords && "Parameter".equals(name)) {
+            inOutputSchema =
+                "OutputSchema".equalsIgnoreCase(reader.getAttributeValue(null, "name"));
+          } else if (inOutputSchema && "Value".equals(name)) {
+            String outputSchema = reader.getElementText().trim();
+            if (!outputSchema.isEmpty()) {
+              outputSchemas.add(outputSchema);
+            }
+            if (outputSchema.equals(stopOutputSchema)) {
+              return outputSchemas;
+            }
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT && isOws(reader)) {
+          String name = reader.getLocalName();
+          if ("OperationsMetadata".equals(name)) {
+            return outputSchemas;
+          } else if ("Operation".equals(name)) {
+            inGetRecords = false;
+          } else if ("Parameter".equals(name)) {
+            inOutputSchema = false;
+          }
+        }
+      }
+
+      return outputSchemas;
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Reads the version of a WFS GetCapabilities response. Only the root element is read.
+   *
+   * @param capabilities WFS GetCapabilities response
+   * @return the version attribute of the root {@code wfs:WFS_Capabilities} element, or null if the
+   *     root element is not a WFS capabilities element
+   * @throws XMLStreamException if the response is not well formed XML
+   */
+  public static String wfsVersion(InputStream capabilities) throws XMLStreamException {
+    XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(capabilities);
+    try {
+      reader.nextTag();
+      if (WFS_2_0_NAMESPACE.equals(reader.getNamespaceURI())
+          && "WFS_Capabilities".equals(reader.getLocalName())) {
+        return reader.getAttributeValue(null, "version");
+      }
+      return null;
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Checks whether an OpenSearch query response contains an {@code os:totalResults} element.
+   * Reading stops as soon as the element is found.
+   *
+   * @param response OpenSearch query response
+   * @return true if the response contains the element, otherwise false
+   * @throws XMLStreamException if the response is not well formed XML
+   */
+  public static boolean hasOpenSearchTotalResults(InputStream response) throws XMLStreamException {
+    XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(response);
+    try {
+      while (reader.hasNext()) {
+        if (reader.next() == XMLStreamConstants.START_ELEMENT
+            && OPENSEARCH_NAMESPACE.equals(reader.getNamespaceURI())
+            && "totalResults".equals(reader.getLocalName())) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static boolean isOws(XMLStreamReader reader) {
+    return OWS_NAMESPACE.equals(reader.getNamespaceURI());
+  }
+
+  // External entities and DTDs are disabled to prevent XXE attacks
+  private static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
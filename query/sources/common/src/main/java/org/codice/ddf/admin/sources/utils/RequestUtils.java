@@ -15,20 +15,25 @@ package org.codice.ddf.admin.sources.utils;
 
 import static org.codice.ddf.admin.common.report.message.DefaultMessages.cannotConnectError;
 
+import com.google.common.base.Throwables;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLConnection;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Response;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.jaxrs.client.WebClient;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.ResponseField;
 import org.codice.ddf.admin.common.fields.common.UrlField;
 import org.codice.ddf.admin.common.report.Reports;
-import org.codice.ddf.cxf.SecureCxfClientFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,8 +41,14 @@ public class RequestUtils {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RequestUtils.class);
 
+  public static final int MAX_DRAINED_BYTES = 64 * 1024;
+
   private static final int CLIENT_TIMEOUT_MILLIS = 10000;
 
+  private static final UnreachableOrigins UNREACHABLE_ORIGINS = new UnreachableOrigins();
+
+  private static final WebClientPool CLIENT_POOL = new WebClientPool(CLIENT_TIMEOUT_MILLIS);
+
   /**
    * Creates a secure CXF {@code WebClient} and sends a GET request to the URL given by the
    * clientUrl and optional queryParams.
@@ -72,18 +83,54 @@ public class RequestUtils {
    * @return {@link Response} of the request
    */
   public Report<ResponseField> sendGetRequest(WebClient webClient, UrlField urlField) {
-    Report<ResponseField> responseResult = Reports.fromErrors(endpointIsReachable(urlField));
-    if (responseResult.containsErrorMessages()) {
-      return responseResult;
-    }
+    return sendRequest(urlField, webClient::get, response -> readResponseField(response, urlField));
+  }
 
-    try {
-      Response response = webClient.get();
-      return Reports.from(responseFieldFromResponse(response, urlField));
+  /**
+   * Creates a secure CXF {@code WebClient}, sends a GET request to the URL given by the requestUrl
+   * and optional queryParams, and reads the result from the response body stream. The body is never
+   * buffered, so the responseReader can stop reading as soon as it has its result.
+   *
+   * <p>Possible Error Codes to be returned - {@link
+   * org.codice.ddf.admin.common.report.message.DefaultMessages#CANNOT_CONNECT}
+   *
+   * @param requestUrl url to send GET request to
+   * @param creds optional credentials for basic authentication
+   * @param queryParams optional query parameters
+   * @param responseReader reads the result from the response
+   * @return the {@link Report} of the responseReader, or containing an {@link
+   *     org.codice.ddf.admin.api.report.ErrorMessage} if the request failed
+   */
+  public <T> Report<T> sendGetRequest(
+      UrlField requestUrl,
+      CredentialsField creds,
+      Map<String, Object> queryParams,
+      ResponseReader<T> responseReader) {
+    WebClient webClient =
+        createWebClientBuilder(requestUrl.getValue(), creds.username(), creds.password())
+            .queryParams(queryParams)
+            .build();
 
-    } catch (ProcessingException e) {
-      return Reports.from(cannotConnectError(urlField.getPath()));
-    }
+    return sendGetRequest(webClient, requestUrl, responseReader);
+  }
+
+  /**
+   * Sends a GET request with the given {@code WebClient} and reads the result from the response
+   * body stream.
+   *
+   * <p>Possible Error Codes to return - {@link
+   * org.codice.ddf.admin.common.report.message.DefaultMessages#CANNOT_CONNECT}
+   *
+   * @param webClient {@code WebClient} to send a GET request with
+   * @param urlField the original request url
+   * @param responseReader reads the result from the response
+   * @return the {@link Report} of the responseReader, or containing an {@link
+   *     org.codice.ddf.admin.api.report.ErrorMessage} if the request failed
+   */
+  public <T> Report<T> sendGetRequest(
+      WebClient webClient, UrlField urlField, ResponseReader<T> responseReader) {
+    return sendRequest(
+        urlField, webClient::get, response -> readResponse(response, responseReader));
   }
 
   /**
@@ -123,51 +170,72 @@ public class RequestUtils {
    */
   public Report<ResponseField> sendPostRequest(
       WebClient webClient, UrlField urlField, String content) {
-    Report endpointIsReachableReport = endpointIsReachable(urlField);
-    if (endpointIsReachableReport.containsErrorMessages()) {
-      return Reports.fromErrors(endpointIsReachable(urlField));
+    return sendRequest(
+        urlField, () -> webClient.post(content), response -> readResponseField(response, urlField));
+  }
+
+  /**
+   * Sends a request without checking the endpoint beforehand. A failure to connect is remembered
+   * for the endpoint's scheme, host and port, so the following requests to it fail fast.
+   */
+  private <T> Report<T> sendRequest(
+      UrlField urlField,
+      Supplier<Response> request,
+      Function<Response, Report<T>> responseHandler) {
+    Report<T> responseResult = Reports.fromErrors(endpointIsReachable(urlField));
+    if (responseResult.containsErrorMessages()) {
+      return responseResult;
     }
+
     try {
-      Response response = webClient.post(content);
-      return Reports.from(responseFieldFromResponse(response, urlField));
+      Response response = request.get();
+      return responseHandler.apply(response);
 
     } catch (ProcessingException e) {
+      String origin = WebClientPool.toOrigin(urlField.getValue());
+      if (origin != null && isConnectFailure(e)) {
+        UNREACHABLE_ORIGINS.markUnreachable(origin);
+      }
+      LOGGER.debug("Failed to send request to {}, returning an error.", urlField, e);
       return Reports.from(cannotConnectError(urlField.getPath()));
     }
   }
 
   /**
-   * Attempts to open a connection to a URL.
+   * Checks whether a URL can be sent requests to. This does not connect to the URL, it fails if the
+   * URL is malformed or if its scheme, host and port recently failed to connect.
    *
    * <p>Possible Error Codes to be returned - {@link
    * org.codice.ddf.admin.common.report.message.DefaultMessages#CANNOT_CONNECT}
    *
-   * @param urlField {@link UrlField} containing the URL to connect to
+   * @param urlField {@link UrlField} containing the URL to check
    * @return a {@link Report} containing no messages on success, or containing {@link
    *     org.codice.ddf.admin.api.report.ErrorMessage}s on failure.
    */
   public Report<Void> endpointIsReachable(UrlField urlField) {
-    URLConnection urlConnection = null;
-    try {
-      urlConnection = new URL(urlField.getValue()).openConnection();
-      urlConnection.setConnectTimeout(CLIENT_TIMEOUT_MILLIS);
-      urlConnection.connect();
-      LOGGER.debug("Successfully reached {}.", urlField);
-    } catch (IOException e) {
-      LOGGER.debug("Failed to reach {}, returning an error.", urlField, e);
+    String origin = WebClientPool.toOrigin(urlField.getValue());
+    if (origin == null) {
+      LOGGER.debug("Failed to parse {}, returning an error.", urlField);
+      return Reports.from(cannotConnectError(urlField.getPath()));
+    }
+
+    if (UNREACHABLE_ORIGINS.isUnreachable(origin)) {
+      LOGGER.debug("{} recently failed to connect, returning an error.", origin);
       return Reports.from(cannotConnectError(urlField.getPath()));
-    } finally {
-      try {
-        if (urlConnection != null) {
-          urlConnection.getInputStream().close();
-        }
-      } catch (IOException e) {
-        LOGGER.debug("Error closing connection stream.");
-      }
     }
+
     return Reports.emptyReport();
   }
 
+  private static boolean isConnectFailure(Throwable e) {
+    return Throwables.getCausalChain(e).stream()
+        .anyMatch(
+            cause ->
+                cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException);
+  }
+
   public class WebClientBuilder {
 
     private final WebClient webClient;
@@ -178,12 +246,7 @@ public class RequestUtils {
 
     private WebClientBuilder(
         String url, String username, String password, Class clientServiceClass) {
-      SecureCxfClientFactory<WebClient> clientFactory =
-          StringUtils.isEmpty(username) || StringUtils.isEmpty(password)
-              ? new SecureCxfClientFactory<>(url, clientServiceClass)
-              : new SecureCxfClientFactory<>(url, clientServiceClass, username, password);
-
-      webClient = clientFactory.getWebClient();
+      webClient = CLIENT_POOL.getWebClient(url, username, password, clientServiceClass);
     }
 
     public WebClientBuilder queryParams(Map<String, Object> queryParams) {
@@ -242,6 +305,40 @@ public class RequestUtils {
     return new WebClientBuilder(url, username, password, serviceClass);
   }
 
+  private static <T> Report<T> readResponse(Response response, ResponseReader<T> responseReader) {
+    InputStream body = null;
+    try {
+      body = response.readEntity(InputStream.class);
+      return responseReader.read(
+          response.getStatus(), body == null ? new ByteArrayInputStream(new byte[0]) : body);
+    } finally {
+      drain(body);
+      response.close();
+    }
+  }
+
+  /**
+   * Reads what is left of a body the reader stopped reading early, up to {@link
+   * #MAX_DRAINED_BYTES}. Closing a partly read body usually closes its connection instead of
+   * returning it to the keep-alive cache, so a small remainder is cheaper to read than a new
+   * connection. Larger remainders are discarded by closing the response.
+   */
+  private static void drain(InputStream body) {
+    if (body == null) {
+      return;
+    }
+
+    try {
+      ByteStreams.copy(ByteStreams.limit(body, MAX_DRAINED_BYTES), ByteStreams.nullOutputStream());
+    } catch (IOException e) {
+      LOGGER.debug("Failed to read the rest of the response body, discarding it.", e);
+    }
+  }
+
+  private Report<ResponseField> readResponseField(Response response, UrlField requestUrl) {
+    return Reports.from(responseFieldFromResponse(response, requestUrl));
+  }
+
   private ResponseField responseFieldFromResponse(Response response, UrlField requestUrl) {
     String contentType =
         response.getMediaType() == null ? null : response.getMediaType().toString();
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.utils;
+
+import java.io.InputStream;
+import org.codice.ddf.admin.api.report.Report;
+
+/** Reads the result of a request directly from the response body stream. */
+@FunctionalInterface
+public interface ResponseReader<T> {
+
+  /**
+   * @param statusCode HTTP status code of the response
+   * @param body response body, which may be left partially read and is drained and closed by the
+   *     caller
+   * @return a {@link Report} containing the result read from the response, or containing {@link
+   *     org.codice.ddf.admin.api.report.ErrorMessage}s on failure.
+   */
+  Report<T> read(int statusCode, InputStream body);
+}
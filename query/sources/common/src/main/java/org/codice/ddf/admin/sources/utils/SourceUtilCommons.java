@@ -19,88 +19,74 @@ import ddf.catalog.service.ConfiguredService;
 import ddf.catalog.source.ConnectedSource;
 import ddf.catalog.source.FederatedSource;
 import ddf.catalog.source.Source;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
-import javax.xml.namespace.NamespaceContext;
-import javax.xml.parsers.ParserConfigurationException;
+import java.util.function.Supplier;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.RequestCache;
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField;
 import org.codice.ddf.admin.common.fields.common.PidField;
+import org.codice.ddf.admin.common.services.CachingServiceReader;
 import org.codice.ddf.admin.sources.fields.type.SourceConfigField;
-import org.codice.ddf.platform.util.XMLUtils;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 public class SourceUtilCommons {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SourceUtilCommons.class);
 
-  private static final XMLUtils XML_UTILS = XMLUtils.getInstance();
+  private static final String MANAGED_SERVICES = "managedServices";
 
   private final ConfiguratorSuite configuratorSuite;
 
-  public static final NamespaceContext SOURCES_NAMESPACE_CONTEXT =
-      new NamespaceContext() {
-        @Override
-        public String getNamespaceURI(String prefix) {
-          switch (prefix) {
-            case "ows":
-              return "http://www.opengis.net/ows";
-            case "wfs":
-              return "http://www.opengis.net/wfs/2.0";
-            case "os":
-            case "opensearch":
-              return "http://a9.com/-/spec/opensearch/1.1/";
-            default:
-              return null;
-          }
-        }
-
-        @Override
-        public String getPrefix(String namespaceURI) {
-          switch (namespaceURI) {
-            case "http://www.opengis.net/ows":
-              return "ows";
-            case "http://www.opengis.net/wfs/2.0":
-              return "wfs";
-            case "http://a9.com/-/spec/opensearch/1.1/":
-              return "os";
-            default:
-              return null;
-          }
-        }
-
-        @Override
-        public Iterator getPrefixes(String namespaceURI) {
-          return null;
-        }
-      };
+  private final Supplier<RequestCache> requestCache;
 
   public SourceUtilCommons(ConfiguratorSuite configuratorSuite) {
-    this.configuratorSuite = configuratorSuite;
+    this(configuratorSuite, () -> null);
   }
 
-  public Document createDocument(String body)
-      throws ParserConfigurationException, IOException, SAXException {
-    return XML_UTILS.getSecureDocumentBuilder(true).parse(new InputSource(new StringReader(body)));
+  /**
+   * Creates a {@code SourceUtilCommons} whose service registry and configuration reads are memoized
+   * in the cache of the current request.
+   *
+   * @param configuratorSuite suite to read services and configurations with
+   * @param requestCache supplies the cache of the current request, or null to disable memoization
+   */
+  public SourceUtilCommons(
+      ConfiguratorSuite configuratorSuite, Supplier<RequestCache> requestCache) {
+    this.configuratorSuite = configuratorSuite;
+    this.requestCache = requestCache;
   }
 
   public List<Source> getAllSourceReferences() {
+    ServiceReader serviceReader = getServiceReader();
     List<Source> sources = new ArrayList<>();
-    sources.addAll(configuratorSuite.getServiceReader().getServices(FederatedSource.class, null));
-    sources.addAll(configuratorSuite.getServiceReader().getServices(ConnectedSource.class, null));
+    sources.addAll(serviceReader.getServices(FederatedSource.class, null));
+    sources.addAll(serviceReader.getServices(ConnectedSource.class, null));
     return sources;
   }
 
+  private ServiceReader getServiceReader() {
+    RequestCache cache = requestCache.get();
+    return cache == null
+        ? configuratorSuite.getServiceReader()
+        : new CachingServiceReader(configuratorSuite.getServiceReader(), cache);
+  }
+
+  private Map<String, Map<String, Object>> readManagedServices(String factoryPid) {
+    RequestCache cache = requestCache.get();
+    return cache == null
+        ? configuratorSuite.getManagedServiceActions().read(factoryPid)
+        : cache.get(
+            Arrays.asList(MANAGED_SERVICES, factoryPid),
+            () -> configuratorSuite.getManagedServiceActions().read(factoryPid));
+  }
+
   /**
    * Gets the configurations for the given factoryPids using the actions provided. A mapper is used
    * to transform the service properties to a {@link SourceConfigField}. Providing the pid parameter
@@ -123,11 +109,8 @@ public class SourceUtilCommons {
       return sourceConfigs;
     }
 
-    factoryPids
-        .stream()
-        .flatMap(
-            factoryPid ->
-                configuratorSuite.getManagedServiceActions().read(factoryPid).values().stream())
+    factoryPids.stream()
+        .flatMap(factoryPid -> readManagedServices(factoryPid).values().stream())
         .map(mapper)
         .forEach(sourceConfigs::add);
 
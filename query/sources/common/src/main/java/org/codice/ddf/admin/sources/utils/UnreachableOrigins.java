@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded negative cache of the origins, i.e. the scheme, host and port, of endpoints that recently
+ * failed to connect. Requests to a cached origin fail fast instead of waiting for the connect
+ * timeout again. Entries expire after {@link #DEFAULT_TTL_SECONDS}. Once the cache is full, expired
+ * entries are removed and further failures are not remembered until an entry expires.
+ */
+public class UnreachableOrigins {
+
+  public static final long DEFAULT_TTL_SECONDS = 10;
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+  // Origins mapped to the nanoTime at which they are considered reachable again
+  private final ConcurrentMap<String, Long> expiries = new ConcurrentHashMap<>();
+
+  private final long ttlNanos;
+
+  private final int maximumSize;
+
+  private final LongSupplier nanoTime;
+
+  public UnreachableOrigins() {
+    this(DEFAULT_TTL_SECONDS, TimeUnit.SECONDS, DEFAULT_MAXIMUM_SIZE, System::nanoTime);
+  }
+
+  public UnreachableOrigins(long ttl, TimeUnit ttlUnit, int maximumSize, LongSupplier nanoTime) {
+    this.ttlNanos = ttlUnit.toNanos(ttl);
+    this.maximumSize = maximumSize;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * @param origin scheme, host and port of an endpoint
+   * @return true if the origin failed to connect within the TTL
+   */
+  public boolean isUnreachable(String origin) {
+    Long expiry = expiries.get(origin);
+    if (expiry == null) {
+      return false;
+    }
+
+    if (nanoTime.getAsLong() - expiry < 0) {
+      return true;
+    }
+
+    expiries.remove(origin, expiry);
+    return false;
+  }
+
+  /**
+   * Remembers that the origin failed to connect, unless the cache is full.
+   *
+   * @param origin scheme, host and port of an endpoint
+   */
+  public void markUnreachable(String origin) {
+    long now = nanoTime.getAsLong();
+    if (expiries.size() >= maximumSize) {
+      expiries.values().removeIf(expiry -> now - expiry >= 0);
+      if (expiries.size() >= maximumSize) {
+        return;
+      }
+    }
+
+    expiries.put(origin, now + ttlNanos);
+  }
+
+  public int size() {
+    return expiries.size();
+  }
+
+  /** Forgets all failures. */
+  public void invalidateAll() {
+    expiries.clear();
+  }
+}
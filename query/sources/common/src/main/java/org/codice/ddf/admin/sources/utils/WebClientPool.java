@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.transports.http.configuration.ConnectionType;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
+import org.codice.ddf.cxf.SecureCxfClientFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of secure {@code WebClient}s keyed by origin ({@code scheme://host:port}), service
+ * class and credentials. Each entry holds a template client of the origin whose {@link
+ * SecureCxfClientFactory}, TLS setup and HTTP conduit are created once. Requests are sent with
+ * copies of the template that have the path and query of the requested URL, so all requests to a
+ * host, e.g. the probes of the different endpoints of a node, share its keep-alive connections and
+ * TLS sessions without sharing any request state. Entries that are not used for {@link
+ * #DEFAULT_IDLE_TIMEOUT_MINUTES} are evicted.
+ */
+public class WebClientPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WebClientPool.class);
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 128;
+
+  public static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 5;
+
+  private final Cache<Key, WebClient> templates;
+
+  private final TemplateFactory templateFactory;
+
+  public WebClientPool(long connectionTimeoutMillis) {
+    this(
+        DEFAULT_MAXIMUM_SIZE,
+        DEFAULT_IDLE_TIMEOUT_MINUTES,
+        TimeUnit.MINUTES,
+        connectionTimeoutMillis);
+  }
+
+  public WebClientPool(
+      long maximumSize, long idleTimeout, TimeUnit idleTimeoutUnit, long connectionTimeoutMillis) {
+    this(
+        maximumSize,
+        idleTimeout,
+        idleTimeoutUnit,
+        (url, username, password, serviceClass) ->
+            createSecureTemplate(url, username, password, serviceClass, connectionTimeoutMillis));
+  }
+
+  public WebClientPool(
+      long maximumSize,
+      long idleTimeout,
+      TimeUnit idleTimeoutUnit,
+      TemplateFactory templateFactory) {
+    this.templateFactory = templateFactory;
+    templates =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(idleTimeout, idleTimeoutUnit)
+            .build();
+  }
+
+  /**
+   * Returns a new {@code WebClient} for the URL that reuses the pooled client configuration of the
+   * origin of the URL, service class and credentials. URLs without an origin are not pooled.
+   *
+   * @param url URL the client sends requests to
+   * @param username optional username for basic authentication
+   * @param password optional password for basic authentication
+   * @param serviceClass service class of the client
+   * @return a client that is not shared with any other caller
+   */
+  public WebClient getWebClient(String url, String username, String password, Class serviceClass) {
+    URL parsedUrl = parseUrl(url);
+    if (parsedUrl == null) {
+      return templateFactory.create(url, username, password, serviceClass);
+    }
+
+    String origin = toOrigin(parsedUrl);
+    Key key = new Key(origin, username, password, serviceClass);
+
+    WebClient template;
+    try {
+      template =
+          templates.get(
+              key, () -> templateFactory.create(origin, username, password, serviceClass));
+    } catch (ExecutionException e) {
+      LOGGER.debug("Failed to pool web client for {}.", origin, e.getCause());
+      template = templateFactory.create(origin, username, password, serviceClass);
+    }
+
+    WebClient client = WebClient.fromClient(template, true);
+    client.replacePath(parsedUrl.getPath());
+    if (parsedUrl.getQuery() != null) {
+      client.replaceQuery(parsedUrl.getQuery());
+    }
+
+    return client;
+  }
+
+  /**
+   * @param url URL to get the origin of
+   * @return the {@code scheme://host:port} of the URL, or null if the URL is malformed
+   */
+  static String toOrigin(String url) {
+    URL parsedUrl = parseUrl(url);
+    return parsedUrl == null ? null : toOrigin(parsedUrl);
+  }
+
+  private static String toOrigin(URL url) {
+    int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    return url.getProtocol() + "://" + url.getHost() + ":" + port;
+  }
+
+  private static URL parseUrl(String url) {
+    try {
+      URL parsedUrl = new URL(url);
+      return StringUtils.isEmpty(parsedUrl.getHost()) ? null : parsedUrl;
+    } catch (MalformedURLException e) {
+      return null;
+    }
+  }
+
+  private static WebClient createSecureTemplate(
+      String url,
+      String username,
+      String password,
+      Class serviceClass,
+      long connectionTimeoutMillis) {
+    SecureCxfClientFactory<WebClient> clientFactory =
+        StringUtils.isEmpty(username) || StringUtils.isEmpty(password)
+            ? new SecureCxfClientFactory<>(url, serviceClass)
+            : new SecureCxfClientFactory<>(url, serviceClass, username, password);
+
+    WebClient template = clientFactory.getWebClient();
+
+    // Connection failures are detected by the requests themselves, so keep the connect timeout
+    // short and leave the connections open for the following requests to the same host
+    HTTPClientPolicy clientPolicy = WebClient.getConfig(template).getHttpConduit().getClient();
+    clientPolicy.setConnectionTimeout(connectionTimeoutMillis);
+    clientPolicy.setConnection(ConnectionType.KEEP_ALIVE);
+
+    return template;
+  }
+
+  public long size() {
+    return templates.size();
+  }
+
+  /** Removes all pooled clients. */
+  public void invalidateAll() {
+    templates.invalidateAll();
+  }
+
+  /** Creates the template clients of the pool. */
+  @FunctionalInterface
+  public interface TemplateFactory {
+
+    /**
+     * @param url base URL of the client, which is the origin for pooled clients
+     * @param username optional username for basic authentication
+     * @param password optional password for basic authentication
+     * @param serviceClass service class of the client
+     * @return a new client
+     */
+    WebClient create(String url, String username, String password, Class serviceClass);
+  }
+
+  private static class Key {
+
+    private final String origin;
+
+    private final String username;
+
+    // Only a hash of the password is kept, so the keys do not hold any plain text passwords
+    private final String passwordHash;
+
+    private final Class serviceClass;
+
+    private Key(String origin, String username, String password, Class serviceClass) {
+      // Credentials are only used if both the username and password are provided
+      boolean authenticated = !StringUtils.isEmpty(username) && !StringUtils.isEmpty(password);
+      this.origin = origin;
+      this.username = authenticated ? username : null;
+      this.passwordHash =
+          authenticated
+              ? Hashing.sha256().hashString(password, StandardCharsets.UTF_8).toString()
+              : null;
+      this.serviceClass = serviceClass;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+
+      Key key = (Key) o;
+      return Objects.equals(origin, key.origin)
+          && Objects.equals(username, key.username)
+          && Objects.equals(passwordHash, key.passwordHash)
+          && serviceClass == key.serviceClass;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(origin, username, passwordHash, serviceClass);
+    }
+  }
+}
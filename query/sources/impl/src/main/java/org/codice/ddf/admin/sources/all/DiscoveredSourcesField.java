@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.all;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.common.fields.base.BaseObjectField;
+import org.codice.ddf.admin.sources.fields.type.CswSourceConfigurationField;
+import org.codice.ddf.admin.sources.fields.type.OpenSearchSourceConfigurationField;
+import org.codice.ddf.admin.sources.fields.type.WfsSourceConfigurationField;
+
+public class DiscoveredSourcesField extends BaseObjectField {
+
+  public static final String DEFAULT_FIELD_NAME = "discoveredSources";
+
+  public static final String FIELD_TYPE_NAME = "DiscoveredSources";
+
+  public static final String DESCRIPTION =
+      "Contains the configurations of the CSW, WFS and OpenSearch sources discovered on a host. "
+          + "The configuration of a source type that was not discovered has no values.";
+
+  public static final String CSW_FIELD_NAME = "csw";
+
+  public static final String WFS_FIELD_NAME = "wfs";
+
+  public static final String OPEN_SEARCH_FIELD_NAME = "openSearch";
+
+  private CswSourceConfigurationField csw;
+
+  private WfsSourceConfigurationField wfs;
+
+  private OpenSearchSourceConfigurationField openSearch;
+
+  public DiscoveredSourcesField() {
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
+    csw = new CswSourceConfigurationField(CSW_FIELD_NAME);
+    wfs = new WfsSourceConfigurationField(WFS_FIELD_NAME);
+    openSearch = new OpenSearchSourceConfigurationField(OPEN_SEARCH_FIELD_NAME);
+  }
+
+  public DiscoveredSourcesField csw(CswSourceConfigurationField config) {
+    csw.setValue(config.getValue());
+    return this;
+  }
+
+  public DiscoveredSourcesField wfs(WfsSourceConfigurationField config) {
+    wfs.setValue(config.getValue());
+    return this;
+  }
+
+  public DiscoveredSourcesField openSearch(OpenSearchSourceConfigurationField config) {
+    openSearch.setValue(config.getValue());
+    return this;
+  }
+
+  public CswSourceConfigurationField csw() {
+    return csw;
+  }
+
+  public WfsSourceConfigurationField wfs() {
+    return wfs;
+  }
+
+  public OpenSearchSourceConfigurationField openSearch() {
+    return openSearch;
+  }
+
+  @Override
+  public List<Field> getFields() {
+    return ImmutableList.of(csw, wfs, openSearch);
+  }
+}
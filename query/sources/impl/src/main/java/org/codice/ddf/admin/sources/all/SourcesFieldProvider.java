@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.all;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.common.concurrent.TaskExecutors;
+import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider;
+import org.codice.ddf.admin.sources.all.discover.DiscoverSources;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SourcesFieldProvider extends BaseFieldProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SourcesFieldProvider.class);
+
+  private static final String ID = "sources";
+
+  private static final String TYPE_NAME = "Sources";
+
+  private static final String DESCRIPTION =
+      "Provides methods for discovering the CSW, WFS and OpenSearch sources of a host at once.";
+
+  private static final String THREAD_NAME = "source-discovery";
+
+  // Each discovery waits on two of the three protocols from this pool, the probes themselves run
+  // on the probe scheduler
+  private static final int THREAD_POOL_SIZE = 16;
+
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+  private final ExecutorService discoveryExecutor;
+
+  private DiscoverSources discoverSources;
+
+  public SourcesFieldProvider(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
+    super(ID, TYPE_NAME, DESCRIPTION);
+    discoveryExecutor = TaskExecutors.getDefault().newExecutor(THREAD_NAME, THREAD_POOL_SIZE);
+    discoverSources = new DiscoverSources(configuratorSuite, probeScheduler, discoveryExecutor);
+  }
+
+  @Override
+  public List<FunctionField> getDiscoveryFunctions() {
+    return ImmutableList.of(discoverSources);
+  }
+
+  @Override
+  public List<FunctionField> getMutationFunctions() {
+    return ImmutableList.of();
+  }
+
+  /**
+   * Shuts down the discovery executor, waiting for the queued discoveries to complete. Discoveries
+   * still queued once the timeout elapses are run on the closing thread, so the requests waiting on
+   * them are not left hanging.
+   */
+  public void close() {
+    discoveryExecutor.shutdown();
+    try {
+      if (!discoveryExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        runQueuedDiscoveries(discoveryExecutor.shutdownNow());
+      }
+    } catch (InterruptedException e) {
+      runQueuedDiscoveries(discoveryExecutor.shutdownNow());
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runQueuedDiscoveries(List<Runnable> queuedDiscoveries) {
+    if (!queuedDiscoveries.isEmpty()) {
+      LOGGER.debug(
+          "Running {} queued source discoveries on the caller since the executor was closed.",
+          queuedDiscoveries.size());
+    }
+    queuedDiscoveries.forEach(Runnable::run);
+  }
+}
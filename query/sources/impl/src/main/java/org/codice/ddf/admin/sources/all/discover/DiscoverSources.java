@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.sources.all.discover;
+
+import static org.codice.ddf.admin.common.report.message.DefaultMessages.unknownEndpointError;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.ProbeScheduler;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.api.report.Report;
+import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
+import org.codice.ddf.admin.common.fields.common.CredentialsField;
+import org.codice.ddf.admin.common.fields.common.HostField;
+import org.codice.ddf.admin.common.report.Reports;
+import org.codice.ddf.admin.common.report.message.DefaultMessages;
+import org.codice.ddf.admin.sources.all.DiscoveredSourcesField;
+import org.codice.ddf.admin.sources.csw.CswSourceUtils;
+import org.codice.ddf.admin.sources.fields.type.CswSourceConfigurationField;
+import org.codice.ddf.admin.sources.fields.type.OpenSearchSourceConfigurationField;
+import org.codice.ddf.admin.sources.fields.type.WfsSourceConfigurationField;
+import org.codice.ddf.admin.sources.opensearch.OpenSearchSourceUtils;
+import org.codice.ddf.admin.sources.utils.RequestUtils;
+import org.codice.ddf.admin.sources.wfs.WfsSourceUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DiscoverSources extends BaseFunctionField<DiscoveredSourcesField> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiscoverSources.class);
+
+  public static final String FIELD_NAME = "discover";
+
+  public static final String DESCRIPTION =
+      "Attempts to discover CSW, WFS and OpenSearch sources using the given hostname and port. "
+          + "All source types are probed concurrently.";
+
+  public static final DiscoveredSourcesField RETURN_TYPE = new DiscoveredSourcesField();
+
+  // A little longer than the probes of each source type are waited for
+  private static final long DISCOVERY_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(70);
+
+  private CredentialsField credentials;
+
+  private HostField host;
+
+  private CswSourceUtils cswSourceUtils;
+
+  private WfsSourceUtils wfsSourceUtils;
+
+  private OpenSearchSourceUtils openSearchSourceUtils;
+
+  private final ConfiguratorSuite configuratorSuite;
+
+  private final ProbeScheduler probeScheduler;
+
+  private final Executor discoveryExecutor;
+
+  public DiscoverSources(
+      ConfiguratorSuite configuratorSuite,
+      ProbeScheduler probeScheduler,
+      Executor discoveryExecutor) {
+    super(FIELD_NAME, DESCRIPTION);
+    this.configuratorSuite = configuratorSuite;
+    this.probeScheduler = probeScheduler;
+    this.discoveryExecutor = discoveryExecutor;
+
+    credentials = new CredentialsField();
+    host = new HostField();
+    host.isRequired(true);
+
+    RequestUtils requestUtils = new RequestUtils();
+    cswSourceUtils = new CswSourceUtils(configuratorSuite, probeScheduler, requestUtils);
+    wfsSourceUtils = new WfsSourceUtils(configuratorSuite, probeScheduler, requestUtils);
+    openSearchSourceUtils =
+        new OpenSearchSourceUtils(configuratorSuite, probeScheduler, requestUtils);
+  }
+
+  @Override
+  public DiscoveredSourcesField performFunction() {
+    // The probes of each source type wait on the probe scheduler, so they are coordinated from a
+    // separate executor to avoid holding probe slots while waiting
+    long deadline = System.currentTimeMillis() + DISCOVERY_TIMEOUT_MILLIS;
+    CompletableFuture<Report<CswSourceConfigurationField>> cswResult =
+        discover("CSW", () -> cswSourceUtils.getConfigFromHost(host, credentials));
+    CompletableFuture<Report<WfsSourceConfigurationField>> wfsResult =
+        discover("WFS", () -> wfsSourceUtils.getWfsConfigFromHost(host, credentials));
+    // OpenSearch is discovered on the calling thread while the other source types are probed
+    CompletableFuture<Report<OpenSearchSourceConfigurationField>> openSearchResult =
+        discover(
+            "OpenSearch",
+            () -> openSearchSourceUtils.getOpenSearchConfigFromHost(host, credentials),
+            Runnable::run);
+
+    Report<CswSourceConfigurationField> csw = await("CSW", cswResult, deadline);
+    Report<WfsSourceConfigurationField> wfs = await("WFS", wfsResult, deadline);
+    Report<OpenSearchSourceConfigurationField> openSearch =
+        await("OpenSearch", openSearchResult, deadline);
+
+    if (!csw.isResultPresent() && !wfs.isResultPresent() && !openSearch.isResultPresent()) {
+      addErrorMessage(unknownEndpointError(host.getPath()));
+      return null;
+    }
+
+    DiscoveredSourcesField discoveredSources = new DiscoveredSourcesField();
+    if (csw.isResultPresent()) {
+      discoveredSources.csw(csw.getResult());
+    }
+    if (wfs.isResultPresent()) {
+      discoveredSources.wfs(wfs.getResult());
+    }
+    if (openSearch.isResultPresent()) {
+      discoveredSources.openSearch(openSearch.getResult());
+    }
+
+    return discoveredSources;
+  }
+
+  private <T> CompletableFuture<Report<T>> discover(
+      String sourceType, Supplier<Report<T>> discovery) {
+    try {
+      return discover(sourceType, discovery, discoveryExecutor);
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug(
+          "Discovering {} sources on the caller since the discovery executor is closed.",
+          sourceType);
+      return discover(sourceType, discovery, Runnable::run);
+    }
+  }
+
+  /** Runs the discovery of a source type, a failed discovery finds no source of that type. */
+  private <T> CompletableFuture<Report<T>> discover(
+      String sourceType, Supplier<Report<T>> discovery, Executor executor) {
+    return CompletableFuture.supplyAsync(discovery, executor)
+        .exceptionally(
+            e -> {
+              LOGGER.debug("Failed to discover {} sources on {}.", sourceType, host.hostname(), e);
+              return Reports.emptyReport();
+            });
+  }
+
+  private <T> Report<T> await(
+      String sourceType, CompletableFuture<Report<T>> result, long deadline) {
+    try {
+      return result.get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOGGER.debug("Timed out discovering {} sources on {}.", sourceType, host.hostname());
+    } catch (InterruptedException e) {
+      LOGGER.debug("Interrupted while discovering {} sources.", sourceType);
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // Not expected since failed discoveries are mapped to an empty report
+      LOGGER.debug("Failed to discover {} sources.", sourceType, e);
+    }
+
+    result.cancel(false);
+    return Reports.emptyReport();
+  }
+
+  @Override
+  public DiscoveredSourcesField getReturnType() {
+    return RETURN_TYPE;
+  }
+
+  @Override
+  public List<Field> getArguments() {
+    return ImmutableList.of(credentials, host);
+  }
+
+  @Override
+  public FunctionField<DiscoveredSourcesField> newInstance() {
+    return new DiscoverSources(configuratorSuite, probeScheduler, discoveryExecutor);
+  }
+
+  @Override
+  public Set<String> getFunctionErrorCodes() {
+    return ImmutableSet.of(DefaultMessages.UNKNOWN_ENDPOINT);
+  }
+
+  /** For testing purposes only. Groovy can access private methods */
+  private void setCswSourceUtils(CswSourceUtils cswSourceUtils) {
+    this.cswSourceUtils = cswSourceUtils;
+  }
+
+  /** For testing purposes only. Groovy can access private methods */
+  private void setWfsSourceUtils(WfsSourceUtils wfsSourceUtils) {
+    this.wfsSourceUtils = wfsSourceUtils;
+  }
+
+  /** For testing purposes only. Groovy can access private methods */
+  private void setOpenSearchSourceUtils(OpenSearchSourceUtils openSearchSourceUtils) {
+    this.openSearchSourceUtils = openSearchSourceUtils;
+  }
+}
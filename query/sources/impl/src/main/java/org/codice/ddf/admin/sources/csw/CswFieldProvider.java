@@ -16,6 +16,7 @@ package org.codice.ddf.admin.sources.csw;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider;
 import org.codice.ddf.admin.sources.csw.discover.DiscoverCswSource;
@@ -44,9 +45,9 @@ public class CswFieldProvider extends BaseFieldProvider {
 
   private DeleteCswConfiguration deleteCswConfiguration;
 
-  public CswFieldProvider(ConfiguratorSuite configuratorSuite) {
+  public CswFieldProvider(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
     super(ID, TYPE_NAME, DESCRIPTION);
-    discoverCswSource = new DiscoverCswSource(configuratorSuite);
+    discoverCswSource = new DiscoverCswSource(configuratorSuite, probeScheduler);
     getCswConfigurations = new GetCswConfigurations(configuratorSuite);
     createCswConfiguration = new CreateCswConfiguration(configuratorSuite);
     updateCswConfiguration = new UpdateCswConfiguration(configuratorSuite);
@@ -19,34 +19,32 @@ import static org.codice.ddf.admin.common.services.ServiceCommons.FLAG_PASSWORD;
 import static org.codice.ddf.admin.sources.fields.CswProfile.CswFederatedSource.CSW_SPEC_PROFILE_FEDERATED_SOURCE;
 import static org.codice.ddf.admin.sources.fields.CswProfile.DDFCswFederatedSource.CSW_FEDERATION_PROFILE_SOURCE;
 import static org.codice.ddf.admin.sources.fields.CswProfile.GmdCswFederatedSource.GMD_CSW_ISO_FEDERATED_SOURCE;
-import static org.codice.ddf.admin.sources.utils.SourceUtilCommons.SOURCES_NAMESPACE_CONTEXT;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLStreamException;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.PrioritizedBatchExecutor;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.HostField;
-import org.codice.ddf.admin.common.fields.common.ResponseField;
 import org.codice.ddf.admin.common.fields.common.UrlField;
 import org.codice.ddf.admin.common.report.Reports;
 import org.codice.ddf.admin.sources.fields.type.CswSourceConfigurationField;
+import org.codice.ddf.admin.sources.utils.CapabilitiesSniffer;
 import org.codice.ddf.admin.sources.utils.RequestUtils;
 import org.codice.ddf.admin.sources.utils.SourceTaskCallable;
 import org.codice.ddf.admin.sources.utils.SourceTaskHandler;
 import org.codice.ddf.admin.sources.utils.SourceUtilCommons;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 
 public class CswSourceUtils {
 
@@ -60,7 +58,7 @@ public class CswSourceUtils {
           ImmutableList.of("https://%s:%d/services/csw", "https://%s:%d/csw"),
           ImmutableList.of("http://%s:%d/services/csw", "http://%s:%d/csw"));
 
-  private static final int THREAD_POOL_SIZE = 2;
+  private static final int MAX_CONCURRENT_PROBES = 2;
 
   public static final String GMD_OUTPUT_SCHEMA = "http://www.isotc211.org/2005/gmd";
 
@@ -68,21 +66,22 @@ public class CswSourceUtils {
 
   public static final String METACARD_OUTPUT_SCHEMA = "urn:catalog:metacard";
 
-  private static final String HAS_CATALOG_METACARD_EXP =
-      "//ows:OperationsMetadata//ows:Operation[@name='GetRecords']/ows:Parameter[@name='OutputSchema' or @name='outputSchema']/ows:Value/text()='urn:catalog:metacard'";
-
-  private static final String HAS_GMD_ISO_EXP =
-      "//ows:OperationsMetadata/ows:Operation[@name='GetRecords']/ows:Parameter[@name='OutputSchema' or @name='outputSchema']/ows:Value/text()='http://www.isotc211.org/2005/gmd'";
-
-  private static final String GET_FIRST_OUTPUT_SCHEMA =
-      "//ows:OperationsMetadata/ows:Operation[@name='GetRecords']/ows:Parameter[@name='OutputSchema' or @name='outputSchema']/ows:Value[1]/text()";
-
   private final SourceUtilCommons sourceUtilCommons;
 
+  private final ProbeScheduler probeScheduler;
+
   private RequestUtils requestUtils;
 
-  public CswSourceUtils(ConfiguratorSuite configuratorSuite) {
-    this.requestUtils = new RequestUtils();
+  public CswSourceUtils(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
+    this(configuratorSuite, probeScheduler, new RequestUtils());
+  }
+
+  public CswSourceUtils(
+      ConfiguratorSuite configuratorSuite,
+      ProbeScheduler probeScheduler,
+      RequestUtils requestUtils) {
+    this.probeScheduler = probeScheduler;
+    this.requestUtils = requestUtils;
     this.sourceUtilCommons = new SourceUtilCommons(configuratorSuite);
   }
 
@@ -118,7 +117,9 @@ public class CswSourceUtils {
             Report<CswSourceConfigurationField>, Report<CswSourceConfigurationField>>
         prioritizedExecutor =
             new PrioritizedBatchExecutor(
-                THREAD_POOL_SIZE, taskList, new SourceTaskHandler<CswSourceConfigurationField>());
+                probeScheduler.newProbeQueue(hostField.hostname(), MAX_CONCURRENT_PROBES),
+                taskList,
+                new SourceTaskHandler<CswSourceConfigurationField>());
 
     Optional<Report<CswSourceConfigurationField>> result = prioritizedExecutor.getFirst();
 
@@ -131,14 +132,12 @@ public class CswSourceUtils {
 
   public Report<CswSourceConfigurationField> getCswConfigFromUrl(
       UrlField urlField, CredentialsField creds) {
-    Report<ResponseField> responseResult =
-        requestUtils.sendGetRequest(urlField, creds, GET_CAPABILITIES_PARAMS);
-
-    if (responseResult.containsErrorMessages()) {
-      return Reports.from(responseResult.getErrorMessages());
-    }
-
-    return getCswConfigFromResponse(responseResult.getResult(), creds);
+    return requestUtils.sendGetRequest(
+        urlField,
+        creds,
+        GET_CAPABILITIES_PARAMS,
+        (statusCode, capabilities) ->
+            getCswConfigFromResponse(urlField, statusCode, capabilities, creds));
   }
 
   /**
@@ -147,77 +146,57 @@ public class CswSourceUtils {
    * <p>Possible Error Codes to be returned - {@link
    * org.codice.ddf.admin.common.report.message.DefaultMessages#UNKNOWN_ENDPOINT}
    *
-   * @param responseField an HTTP response containing the result of a getCapabilities request
+   * @param requestUrl url of the original getCapabilities request
+   * @param statusCode HTTP status code of the response
+   * @param capabilities body of the response
    * @param creds credentials used for the original HTTP request
    * @return a {@link Report} containing the {@link CswSourceConfigurationField} or an {@link
    *     org.codice.ddf.admin.api.report.ErrorMessage} on failure.
    */
   private Report<CswSourceConfigurationField> getCswConfigFromResponse(
-      ResponseField responseField, CredentialsField creds) {
-
-    String responseBody = responseField.responseBody();
-    if (responseField.statusCode() != HTTP_OK || responseBody.length() < 1) {
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+      UrlField requestUrl, int statusCode, InputStream capabilities, CredentialsField creds) {
+    if (statusCode != HTTP_OK) {
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
 
-    Document capabilitiesXml;
+    // Reading can stop at the metacard output schema, since it is preferred over all others
+    List<String> outputSchemas;
     try {
-      capabilitiesXml = sourceUtilCommons.createDocument(responseBody);
-    } catch (Exception e) {
-      LOGGER.debug("Failed to create XML document from response.");
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+      outputSchemas =
+          CapabilitiesSniffer.cswGetRecordsOutputSchemas(capabilities, METACARD_OUTPUT_SCHEMA);
+    } catch (XMLStreamException e) {
+      LOGGER.debug("Failed to read CSW GetCapabilities response.");
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
 
-    String requestUrl = responseField.requestUrlField().getValue();
     CswSourceConfigurationField preferred = new CswSourceConfigurationField();
     preferred
-        .endpointUrl(requestUrl)
+        .endpointUrl(requestUrl.getValue())
         .credentials()
         .username(creds.username())
         .password(FLAG_PASSWORD);
 
-    XPath xpath = XPathFactory.newInstance().newXPath();
-    xpath.setNamespaceContext(SOURCES_NAMESPACE_CONTEXT);
-
-    try {
-      if ((Boolean)
-          xpath
-              .compile(HAS_CATALOG_METACARD_EXP)
-              .evaluate(capabilitiesXml, XPathConstants.BOOLEAN)) {
-        return Reports.from(
-            preferred
-                .outputSchema(METACARD_OUTPUT_SCHEMA)
-                .cswProfile(CSW_FEDERATION_PROFILE_SOURCE));
-      }
-    } catch (Exception e) {
-      LOGGER.debug("Failed to compile DDF Profile CSW discovery XPath expression.");
+    if (outputSchemas.contains(METACARD_OUTPUT_SCHEMA)) {
+      return Reports.from(
+          preferred.outputSchema(METACARD_OUTPUT_SCHEMA).cswProfile(CSW_FEDERATION_PROFILE_SOURCE));
     }
 
-    try {
-      if ((Boolean)
-          xpath.compile(HAS_GMD_ISO_EXP).evaluate(capabilitiesXml, XPathConstants.BOOLEAN)) {
-        return Reports.from(
-            preferred.outputSchema(GMD_OUTPUT_SCHEMA).cswProfile(GMD_CSW_ISO_FEDERATED_SOURCE));
-      }
-    } catch (Exception e) {
-      LOGGER.debug("Failed to compile GMD CSW discovery XPath expression.");
+    if (outputSchemas.contains(GMD_OUTPUT_SCHEMA)) {
+      return Reports.from(
+          preferred.outputSchema(GMD_OUTPUT_SCHEMA).cswProfile(GMD_CSW_ISO_FEDERATED_SOURCE));
     }
 
-    try {
-      if (!xpath.compile(GET_FIRST_OUTPUT_SCHEMA).evaluate(capabilitiesXml).isEmpty()) {
-        return Reports.from(
-            preferred
-                .outputSchema(CSW_2_0_2_OUTPUT_SCHEMA)
-                .cswProfile(CSW_SPEC_PROFILE_FEDERATED_SOURCE));
-      }
-    } catch (Exception e) {
-      LOGGER.debug("Failed to compile generic CSW specification discovery XPath expression.");
+    if (!outputSchemas.isEmpty()) {
+      return Reports.from(
+          preferred
+              .outputSchema(CSW_2_0_2_OUTPUT_SCHEMA)
+              .cswProfile(CSW_SPEC_PROFILE_FEDERATED_SOURCE));
     }
 
     LOGGER.debug(
         "URL [{}] responded to GetCapabilities request, but response was not readable.",
-        requestUrl);
-    return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+        requestUrl.getValue());
+    return Reports.from(unknownEndpointError(requestUrl.getPath()));
   }
 
   /** For testing purposes only. Groovy can access private methods */
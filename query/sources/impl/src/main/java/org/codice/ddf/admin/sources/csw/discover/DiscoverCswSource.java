@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
@@ -46,15 +47,18 @@ public class DiscoverCswSource extends BaseFunctionField<CswSourceConfigurationF
 
   private final ConfiguratorSuite configuratorSuite;
 
-  public DiscoverCswSource(ConfiguratorSuite configuratorSuite) {
+  private final ProbeScheduler probeScheduler;
+
+  public DiscoverCswSource(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
     super(FIELD_NAME, DESCRIPTION);
     this.configuratorSuite = configuratorSuite;
+    this.probeScheduler = probeScheduler;
 
     credentials = new CredentialsField();
     address = new AddressField();
     address.isRequired(true);
 
-    cswSourceUtils = new CswSourceUtils(configuratorSuite);
+    cswSourceUtils = new CswSourceUtils(configuratorSuite, probeScheduler);
   }
 
   @Override
@@ -86,7 +90,7 @@ public class DiscoverCswSource extends BaseFunctionField<CswSourceConfigurationF
 
   @Override
   public FunctionField<CswSourceConfigurationField> newInstance() {
-    return new DiscoverCswSource(configuratorSuite);
+    return new DiscoverCswSource(configuratorSuite, probeScheduler);
   }
 
   @Override
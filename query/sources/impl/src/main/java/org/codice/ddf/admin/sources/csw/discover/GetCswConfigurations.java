@@ -55,7 +55,7 @@ public class GetCswConfigurations extends BaseFunctionField<ListField<CswSourceI
 
     pid = new PidField();
 
-    sourceUtilCommons = new SourceUtilCommons(configuratorSuite);
+    sourceUtilCommons = new SourceUtilCommons(configuratorSuite, this::getRequestCache);
 
     serviceCommons = new ServiceCommons(configuratorSuite);
   }
@@ -16,6 +16,7 @@ package org.codice.ddf.admin.sources.opensearch;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider;
 import org.codice.ddf.admin.sources.opensearch.discover.DiscoverOpenSearchSource;
@@ -43,9 +44,10 @@ public class OpenSearchFieldProvider extends BaseFieldProvider {
 
   private DeleteOpenSearchConfiguration deleteOpenSearchConfig;
 
-  public OpenSearchFieldProvider(ConfiguratorSuite configuratorSuite) {
+  public OpenSearchFieldProvider(
+      ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
     super(ID, TYPE_NAME, DESCRIPTION);
-    discoverOpenSearchSource = new DiscoverOpenSearchSource(configuratorSuite);
+    discoverOpenSearchSource = new DiscoverOpenSearchSource(configuratorSuite, probeScheduler);
     getOpenSearchConfigs = new GetOpenSearchConfigurations(configuratorSuite);
     createOpenSearchConfigs = new CreateOpenSearchConfiguration(configuratorSuite);
     updateOpenSearchConfigs = new UpdateOpenSearchConfiguration(configuratorSuite);
@@ -16,35 +16,32 @@ package org.codice.ddf.admin.sources.opensearch;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static org.codice.ddf.admin.common.report.message.DefaultMessages.unknownEndpointError;
 import static org.codice.ddf.admin.common.services.ServiceCommons.FLAG_PASSWORD;
-import static org.codice.ddf.admin.sources.utils.SourceUtilCommons.SOURCES_NAMESPACE_CONTEXT;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLStreamException;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.PrioritizedBatchExecutor;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.HostField;
-import org.codice.ddf.admin.common.fields.common.ResponseField;
 import org.codice.ddf.admin.common.fields.common.UrlField;
 import org.codice.ddf.admin.common.report.Reports;
 import org.codice.ddf.admin.sources.fields.type.OpenSearchSourceConfigurationField;
+import org.codice.ddf.admin.sources.utils.CapabilitiesSniffer;
 import org.codice.ddf.admin.sources.utils.RequestUtils;
 import org.codice.ddf.admin.sources.utils.SourceTaskCallable;
 import org.codice.ddf.admin.sources.utils.SourceTaskHandler;
 import org.codice.ddf.admin.sources.utils.SourceUtilCommons;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 
 public class OpenSearchSourceUtils {
 
@@ -55,19 +52,27 @@ public class OpenSearchSourceUtils {
           ImmutableList.of("https://%s:%d/services/catalog/query", "https://%s:%d/catalog/query"),
           ImmutableList.of("http://%s:%d/services/catalog/query", "http://%s:%d/catalog/query"));
 
+  private static final int MAX_CONCURRENT_PROBES = 2;
+
   public static final Map<String, Object> GET_CAPABILITIES_PARAMS =
       ImmutableMap.of("q", "test", "mr", "1", "src", "local");
 
-  private static final String TOTAL_RESULTS_XPATH = "//os:totalResults|//opensearch:totalResults";
-
-  private static final int THREAD_POOL_SIZE = 2;
-
   private final SourceUtilCommons sourceUtilCommons;
 
+  private final ProbeScheduler probeScheduler;
+
   private RequestUtils requestUtils;
 
-  public OpenSearchSourceUtils(ConfiguratorSuite configuratorSuite) {
-    this.requestUtils = new RequestUtils();
+  public OpenSearchSourceUtils(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
+    this(configuratorSuite, probeScheduler, new RequestUtils());
+  }
+
+  public OpenSearchSourceUtils(
+      ConfiguratorSuite configuratorSuite,
+      ProbeScheduler probeScheduler,
+      RequestUtils requestUtils) {
+    this.probeScheduler = probeScheduler;
+    this.requestUtils = requestUtils;
     this.sourceUtilCommons = new SourceUtilCommons(configuratorSuite);
   }
 
@@ -102,7 +107,7 @@ public class OpenSearchSourceUtils {
             Report<OpenSearchSourceConfigurationField>, Report<OpenSearchSourceConfigurationField>>
         prioritizedExecutor =
             new PrioritizedBatchExecutor(
-                THREAD_POOL_SIZE,
+                probeScheduler.newProbeQueue(hostField.hostname(), MAX_CONCURRENT_PROBES),
                 taskList,
                 new SourceTaskHandler<OpenSearchSourceConfigurationField>());
 
@@ -117,14 +122,12 @@ public class OpenSearchSourceUtils {
 
   public Report<OpenSearchSourceConfigurationField> getOpenSearchConfigFromUrl(
       UrlField urlField, CredentialsField creds) {
-    Report<ResponseField> responseResult =
-        requestUtils.sendGetRequest(urlField, creds, GET_CAPABILITIES_PARAMS);
-
-    if (responseResult.containsErrorMessages()) {
-      return Reports.from(responseResult.getErrorMessages());
-    }
-
-    return getOpenSearchConfigFromResponse(responseResult.getResult(), creds);
+    return requestUtils.sendGetRequest(
+        urlField,
+        creds,
+        GET_CAPABILITIES_PARAMS,
+        (statusCode, response) ->
+            getOpenSearchConfigFromResponse(urlField, statusCode, response, creds));
   }
 
   /**
@@ -133,49 +136,35 @@ public class OpenSearchSourceUtils {
    * <p>Possible Error Codes to be returned - {@link
    * org.codice.ddf.admin.common.report.message.DefaultMessages#UNKNOWN_ENDPOINT}
    *
-   * @param responseField The URL to probe for OpenSearch capabilities
+   * @param requestUrl The URL probed for OpenSearch capabilities
+   * @param statusCode HTTP status code of the response
+   * @param response body of the response
    * @param creds optional credentials used in the original capabilities request
    * @return a {@link Report} containing the {@link OpenSearchSourceConfigurationField} or
    *     containing {@link org.codice.ddf.admin.api.report.ErrorMessage}s on failure.
    */
   private Report<OpenSearchSourceConfigurationField> getOpenSearchConfigFromResponse(
-      ResponseField responseField, CredentialsField creds) {
-
-    String responseBody = responseField.responseBody();
-    int statusCode = responseField.statusCode();
-
-    if (statusCode != HTTP_OK || responseBody.length() < 1) {
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+      UrlField requestUrl, int statusCode, InputStream response, CredentialsField creds) {
+    if (statusCode != HTTP_OK) {
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
 
-    Document capabilitiesXml;
     try {
-      capabilitiesXml = sourceUtilCommons.createDocument(responseBody);
-    } catch (Exception e) {
-      LOGGER.debug("Failed to read response from OpenSearch endpoint.");
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
-    }
-
-    XPath xpath = XPathFactory.newInstance().newXPath();
-    xpath.setNamespaceContext(SOURCES_NAMESPACE_CONTEXT);
-
-    try {
-      if ((Boolean)
-          xpath.compile(TOTAL_RESULTS_XPATH).evaluate(capabilitiesXml, XPathConstants.BOOLEAN)) {
+      if (CapabilitiesSniffer.hasOpenSearchTotalResults(response)) {
         OpenSearchSourceConfigurationField config = new OpenSearchSourceConfigurationField();
         config
-            .endpointUrl(responseField.requestUrl())
+            .endpointUrl(requestUrl.getValue())
             .credentials()
             .username(creds.username())
             .password(FLAG_PASSWORD);
 
         return Reports.from(config);
       } else {
-        return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+        return Reports.from(unknownEndpointError(requestUrl.getPath()));
       }
-    } catch (XPathExpressionException e) {
-      LOGGER.debug("Failed to compile OpenSearch totalResults XPath.");
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+    } catch (XMLStreamException e) {
+      LOGGER.debug("Failed to read response from OpenSearch endpoint.");
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
   }
 
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
@@ -48,15 +49,19 @@ public class DiscoverOpenSearchSource
 
   private final ConfiguratorSuite configuratorSuite;
 
-  public DiscoverOpenSearchSource(ConfiguratorSuite configuratorSuite) {
+  private final ProbeScheduler probeScheduler;
+
+  public DiscoverOpenSearchSource(
+      ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
     super(FIELD_NAME, DESCRIPTION);
     this.configuratorSuite = configuratorSuite;
+    this.probeScheduler = probeScheduler;
 
     credentials = new CredentialsField();
     address = new AddressField();
     address.isRequired(true);
 
-    openSearchSourceUtils = new OpenSearchSourceUtils(configuratorSuite);
+    openSearchSourceUtils = new OpenSearchSourceUtils(configuratorSuite, probeScheduler);
   }
 
   @Override
@@ -89,7 +94,7 @@ public class DiscoverOpenSearchSource
 
   @Override
   public FunctionField<OpenSearchSourceConfigurationField> newInstance() {
-    return new DiscoverOpenSearchSource(configuratorSuite);
+    return new DiscoverOpenSearchSource(configuratorSuite, probeScheduler);
   }
 
   @Override
@@ -57,7 +57,7 @@ public class GetOpenSearchConfigurations
 
     pid = new PidField();
 
-    sourceUtilCommons = new SourceUtilCommons(configuratorSuite);
+    sourceUtilCommons = new SourceUtilCommons(configuratorSuite, this::getRequestCache);
     serviceCommons = new ServiceCommons(configuratorSuite);
   }
 
@@ -16,6 +16,7 @@ package org.codice.ddf.admin.sources.wfs;
 import com.google.common.collect.ImmutableList;
 import java.util.List;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider;
 import org.codice.ddf.admin.sources.wfs.discover.DiscoverWfsSource;
@@ -44,9 +45,9 @@ public class WfsFieldProvider extends BaseFieldProvider {
 
   private DeleteWfsConfiguration deleteWfsConfig;
 
-  public WfsFieldProvider(ConfiguratorSuite configuratorSuite) {
+  public WfsFieldProvider(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
     super(NAME, TYPE_NAME, DESCRIPTION);
-    discoverWfsSource = new DiscoverWfsSource(configuratorSuite);
+    discoverWfsSource = new DiscoverWfsSource(configuratorSuite, probeScheduler);
     getWfsConfigs = new GetWfsConfigurations(configuratorSuite);
     createWfsConfig = new CreateWfsConfiguration(configuratorSuite);
     updateWfsConfig = new UpdateWfsConfiguration(configuratorSuite);
@@ -16,35 +16,33 @@ package org.codice.ddf.admin.sources.wfs;
 import static java.net.HttpURLConnection.HTTP_OK;
 import static org.codice.ddf.admin.common.report.message.DefaultMessages.unknownEndpointError;
 import static org.codice.ddf.admin.common.services.ServiceCommons.FLAG_PASSWORD;
-import static org.codice.ddf.admin.sources.utils.SourceUtilCommons.SOURCES_NAMESPACE_CONTEXT;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLStreamException;
 import org.codice.ddf.admin.api.ConfiguratorSuite;
+import org.codice.ddf.admin.api.ProbeScheduler;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.PrioritizedBatchExecutor;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.HostField;
-import org.codice.ddf.admin.common.fields.common.ResponseField;
 import org.codice.ddf.admin.common.fields.common.UrlField;
 import org.codice.ddf.admin.common.report.Reports;
 import org.codice.ddf.admin.sources.fields.WfsVersion;
 import org.codice.ddf.admin.sources.fields.type.WfsSourceConfigurationField;
+import org.codice.ddf.admin.sources.utils.CapabilitiesSniffer;
 import org.codice.ddf.admin.sources.utils.RequestUtils;
 import org.codice.ddf.admin.sources.utils.SourceTaskCallable;
 import org.codice.ddf.admin.sources.utils.SourceTaskHandler;
 import org.codice.ddf.admin.sources.utils.SourceUtilCommons;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
 
 public class WfsSourceUtils {
 
@@ -59,16 +57,24 @@ public class WfsSourceUtils {
           ImmutableList.of("https://%s:%d/services/wfs", "https://%s:%d/wfs"),
           ImmutableList.of("http://%s:%d/services/wfs", "http://%s:%d/wfs"));
 
-  private static final String WFS_VERSION_EXP = "/wfs:WFS_Capabilities/attribute::version";
-
-  private static final int THREAD_POOL_SIZE = 4;
+  private static final int MAX_CONCURRENT_PROBES = 4;
 
   private SourceUtilCommons sourceUtilCommons;
 
+  private final ProbeScheduler probeScheduler;
+
   private RequestUtils requestUtils;
 
-  public WfsSourceUtils(ConfiguratorSuite configuratorSuite) {
-    this.requestUtils = new RequestUtils();
+  public WfsSourceUtils(ConfiguratorSuite configuratorSuite, ProbeScheduler probeScheduler) {
+    this(configuratorSuite, probeScheduler, new RequestUtils());
+  }
+
+  public WfsSourceUtils(
+      ConfiguratorSuite configuratorSuite,
+      ProbeScheduler probeScheduler,
+      RequestUtils requestUtils) {
+    this.probeScheduler = probeScheduler;
+    this.requestUtils = requestUtils;
     this.sourceUtilCommons = new SourceUtilCommons(configuratorSuite);
   }
 
@@ -103,7 +109,9 @@ public class WfsSourceUtils {
             Report<WfsSourceConfigurationField>, Report<WfsSourceConfigurationField>>
         prioritizedExecutor =
             new PrioritizedBatchExecutor(
-                THREAD_POOL_SIZE, taskList, new SourceTaskHandler<WfsSourceConfigurationField>());
+                probeScheduler.newProbeQueue(hostField.hostname(), MAX_CONCURRENT_PROBES),
+                taskList,
+                new SourceTaskHandler<WfsSourceConfigurationField>());
 
     Optional<Report<WfsSourceConfigurationField>> result = prioritizedExecutor.getFirst();
 
@@ -116,14 +124,12 @@ public class WfsSourceUtils {
 
   public Report<WfsSourceConfigurationField> getWfsConfigFromUrl(
       UrlField urlField, CredentialsField creds) {
-    Report<ResponseField> responseResult =
-        requestUtils.sendGetRequest(urlField, creds, GET_CAPABILITIES_PARAMS);
-
-    if (responseResult.containsErrorMessages()) {
-      return Reports.from(responseResult.getErrorMessages());
-    }
-
-    return getWfsConfigFromResult(responseResult.getResult(), creds);
+    return requestUtils.sendGetRequest(
+        urlField,
+        creds,
+        GET_CAPABILITIES_PARAMS,
+        (statusCode, capabilities) ->
+            getWfsConfigFromResult(urlField, statusCode, capabilities, creds));
   }
 
   /**
@@ -132,51 +138,32 @@ public class WfsSourceUtils {
    * <p>Possible Error Codes to be returned - {@link
    * org.codice.ddf.admin.common.report.message.DefaultMessages#UNKNOWN_ENDPOINT}
    *
-   * @param responseField WFS URL to probe for a configuration
+   * @param requestUrl WFS URL the GetCapabilities request was sent to
+   * @param statusCode HTTP status code of the response
+   * @param capabilities body of the response
    * @param creds optional username to add to Basic Auth header used in the original request
    * @return a {@link Report} containing the preferred {@link WfsSourceConfigurationField}, or
    *     containing {@link org.codice.ddf.admin.api.report.ErrorMessage}s on failure.
    */
   private Report<WfsSourceConfigurationField> getWfsConfigFromResult(
-      ResponseField responseField, CredentialsField creds) {
-
-    String responseBody = responseField.responseBody();
-    UrlField requestUrl = responseField.requestUrlField();
-
-    if (responseField.statusCode() != HTTP_OK || responseBody.length() < 1) {
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+      UrlField requestUrl, int statusCode, InputStream capabilities, CredentialsField creds) {
+    if (statusCode != HTTP_OK) {
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
 
-    Document capabilitiesXml;
-    try {
-      capabilitiesXml = sourceUtilCommons.createDocument(responseBody);
-    } catch (Exception e) {
-      LOGGER.debug("Failed to read response from WFS endpoint.");
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
-    }
-
-    WfsSourceConfigurationField preferredConfig = new WfsSourceConfigurationField();
-    preferredConfig
-        .endpointUrl(requestUrl.getValue())
-        .credentials()
-        .username(creds.username())
-        .password(FLAG_PASSWORD);
-
-    XPath xpath = XPathFactory.newInstance().newXPath();
-    xpath.setNamespaceContext(SOURCES_NAMESPACE_CONTEXT);
     String wfsVersion;
     try {
-      wfsVersion = xpath.compile(WFS_VERSION_EXP).evaluate(capabilitiesXml);
-    } catch (XPathExpressionException e) {
-      LOGGER.debug("Failed to parse XML response.");
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+      wfsVersion = CapabilitiesSniffer.wfsVersion(capabilities);
+    } catch (XMLStreamException e) {
+      LOGGER.debug("Failed to read response from WFS endpoint.");
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
 
     WfsVersion wfsVersionToCheck = new WfsVersion();
     wfsVersionToCheck.isRequired(true);
     wfsVersionToCheck.setValue(wfsVersion);
     if (!wfsVersionToCheck.validate().isEmpty()) {
-      return Reports.from(unknownEndpointError(responseField.requestUrlField().getPath()));
+      return Reports.from(unknownEndpointError(requestUrl.getPath()));
     }
 
     WfsSourceConfigurationField wfsSourceConfigurationField =
@@ -54,7 +54,7 @@ public class GetWfsConfigurations extends BaseFunctionField<ListField<WfsSourceI
 
     pid = new PidField();
 
-    sourceUtilCommons = new SourceUtilCommons(configuratorSuite);
+    sourceUtilCommons = new SourceUtilCommons(configuratorSuite, this::getRequestCache);
     serviceCommons = new ServiceCommons(configuratorSuite);
   }
 
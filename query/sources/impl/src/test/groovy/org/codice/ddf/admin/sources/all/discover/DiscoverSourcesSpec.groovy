@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.sources.all.discover
+
+import com.google.common.util.concurrent.MoreExecutors
+import org.codice.ddf.admin.api.ConfiguratorSuite
+import org.codice.ddf.admin.api.report.Report
+import org.codice.ddf.admin.common.concurrent.ProbeSchedulerImpl
+import org.codice.ddf.admin.common.fields.common.CredentialsField
+import org.codice.ddf.admin.common.fields.common.HostField
+import org.codice.ddf.admin.common.fields.common.HostnameField
+import org.codice.ddf.admin.common.fields.common.PortField
+import org.codice.ddf.admin.common.report.message.DefaultMessages
+import org.codice.ddf.admin.sources.csw.CswSourceUtils
+import org.codice.ddf.admin.sources.fields.CswProfile
+import org.codice.ddf.admin.sources.fields.WfsVersion
+import org.codice.ddf.admin.sources.fields.type.WfsSourceConfigurationField
+import org.codice.ddf.admin.sources.opensearch.OpenSearchSourceUtils
+import org.codice.ddf.admin.sources.test.SourceCommonsSpec
+import org.codice.ddf.admin.sources.wfs.WfsSourceUtils
+import spock.lang.Shared
+
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+
+class DiscoverSourcesSpec extends SourceCommonsSpec {
+
+    @Shared
+    ProbeSchedulerImpl probeScheduler = new ProbeSchedulerImpl()
+
+    static final List<Object> FUNCTION_PATH = [DiscoverSources.FIELD_NAME]
+
+    static HOST_FIELD_PATH = [DiscoverSources.FIELD_NAME, HostField.DEFAULT_FIELD_NAME]
+
+    @Shared
+            ddfCswResponse = this.getClass().getClassLoader().getResource('responses/csw/DDFCswGetCapabilities.xml').text
+
+    @Shared
+            wfs20ResponseBody = this.getClass().getClassLoader().getResource('responses/wfs/wfs20GetCapabilities.xml').text
+
+    @Shared
+            badResponseBody = this.getClass().getClassLoader().getResource('responses/badResponse.xml').text
+
+    DiscoverSources discoverSources
+
+    def setup() {
+        discoverSources = new DiscoverSources(Mock(ConfiguratorSuite), probeScheduler, MoreExecutors.directExecutor())
+    }
+
+    def cleanupSpec() {
+        probeScheduler.close()
+    }
+
+    def 'Discover the sources of every protocol that responds'() {
+        setup:
+        discoverSources.setCswSourceUtils(prepareCswSourceUtils(200, ddfCswResponse))
+        discoverSources.setWfsSourceUtils(prepareWfsSourceUtils(200, wfs20ResponseBody))
+        discoverSources.setOpenSearchSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody))
+
+        when:
+        def report = discoverSources.execute(getDiscoverByHostArgs(), FUNCTION_PATH)
+        def discovered = report.getResult()
+
+        then:
+        !report.containsErrorMessages()
+        !discovered.csw().endpointUrl().isEmpty()
+        discovered.csw().cswProfile() == CswProfile.DDFCswFederatedSource.CSW_FEDERATION_PROFILE_SOURCE
+        discovered.csw().credentials().password() == FLAG_PASSWORD
+        !discovered.wfs().endpointUrl().isEmpty()
+        discovered.wfs().wfsVersion() == WfsVersion.Wfs2.WFS_VERSION_2
+        discovered.openSearch().endpointUrl() == null
+    }
+
+    def 'Unknown endpoint error on the host when no protocol responds'() {
+        setup:
+        discoverSources.setCswSourceUtils(prepareCswSourceUtils(200, badResponseBody))
+        discoverSources.setWfsSourceUtils(prepareWfsSourceUtils(500, wfs20ResponseBody))
+        discoverSources.setOpenSearchSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody))
+
+        when:
+        def report = discoverSources.execute(getDiscoverByHostArgs(), FUNCTION_PATH)
+
+        then:
+        !report.isResultPresent()
+        report.getErrorMessages().size() == 1
+        report.getErrorMessages()[0].getCode() == DefaultMessages.UNKNOWN_ENDPOINT
+        report.getErrorMessages()[0].getPath() == HOST_FIELD_PATH
+    }
+
+    def 'A protocol failing with an exception does not fail the discovery of the others'() {
+        setup:
+        discoverSources.setCswSourceUtils(prepareCswSourceUtils(200, ddfCswResponse))
+        discoverSources.setWfsSourceUtils(new WfsSourceUtils(Mock(ConfiguratorSuite), probeScheduler) {
+            @Override
+            Report<WfsSourceConfigurationField> getWfsConfigFromHost(HostField hostField, CredentialsField creds) {
+                throw new IllegalStateException('WFS discovery failed')
+            }
+        })
+        discoverSources.setOpenSearchSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody))
+
+        when:
+        def report = discoverSources.execute(getDiscoverByHostArgs(), FUNCTION_PATH)
+
+        then:
+        !report.containsErrorMessages()
+        !report.getResult().csw().endpointUrl().isEmpty()
+        report.getResult().wfs().endpointUrl() == null
+    }
+
+    def 'Sources are discovered on the caller once the discovery executor is closed'() {
+        setup:
+        def closedExecutor = { throw new RejectedExecutionException('closed') } as Executor
+        discoverSources = new DiscoverSources(Mock(ConfiguratorSuite), probeScheduler, closedExecutor)
+        discoverSources.setCswSourceUtils(prepareCswSourceUtils(200, ddfCswResponse))
+        discoverSources.setWfsSourceUtils(prepareWfsSourceUtils(200, wfs20ResponseBody))
+        discoverSources.setOpenSearchSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody))
+
+        when:
+        def report = discoverSources.execute(getDiscoverByHostArgs(), FUNCTION_PATH)
+
+        then:
+        !report.containsErrorMessages()
+        !report.getResult().csw().endpointUrl().isEmpty()
+        !report.getResult().wfs().endpointUrl().isEmpty()
+    }
+
+    def 'Fail when missing required fields'() {
+        when:
+        def report = discoverSources.execute([:], FUNCTION_PATH)
+
+        then:
+        report.getResult() == null
+        report.getErrorMessages().size() == 2
+        report.getErrorMessages().count {
+            it.getCode() == DefaultMessages.MISSING_REQUIRED_FIELD
+        } == 2
+        report.getErrorMessages()*.getPath() == [
+                [HOST_FIELD_PATH, HostnameField.DEFAULT_FIELD_NAME].flatten(),
+                [HOST_FIELD_PATH, PortField.DEFAULT_FIELD_NAME].flatten()
+        ]
+    }
+
+    def 'Returns all the possible error codes correctly'() {
+        setup:
+        def errorCodes = discoverSources.getFunctionErrorCodes()
+
+        expect:
+        errorCodes.size() == 1
+        errorCodes.contains(DefaultMessages.UNKNOWN_ENDPOINT)
+    }
+
+    static Map<String, Object> getDiscoverByHostArgs() {
+        return [
+                (HostField.DEFAULT_FIELD_NAME): new HostField().hostname('localhost').port(8993).getValue(),
+                (CREDENTIALS)                 : new CredentialsField().username(TEST_USERNAME).password(TEST_PASSWORD).getValue()
+        ]
+    }
+
+    def prepareCswSourceUtils(int statusCode, String responseBody) {
+        def cswUtils = new CswSourceUtils(Mock(ConfiguratorSuite), probeScheduler)
+        cswUtils.setRequestUtils(new TestRequestUtils(createMockWebClientBuilder(statusCode, responseBody), true))
+        return cswUtils
+    }
+
+    def prepareWfsSourceUtils(int statusCode, String responseBody) {
+        def wfsUtils = new WfsSourceUtils(Mock(ConfiguratorSuite), probeScheduler)
+        wfsUtils.setRequestUtils(new TestRequestUtils(createMockWebClientBuilder(statusCode, responseBody), true))
+        return wfsUtils
+    }
+
+    def prepareOpenSearchSourceUtils(int statusCode, String responseBody) {
+        def openSearchUtils = new OpenSearchSourceUtils(Mock(ConfiguratorSuite), probeScheduler)
+        openSearchUtils.setRequestUtils(new TestRequestUtils(createMockWebClientBuilder(statusCode, responseBody), true))
+        return openSearchUtils
+    }
+}
@@ -15,6 +15,7 @@ package org.codice.ddf.admin.sources.csw
 
 import org.codice.ddf.admin.api.ConfiguratorSuite
 import org.codice.ddf.admin.api.FieldProvider
+import org.codice.ddf.admin.api.ProbeScheduler
 import org.codice.ddf.admin.configurator.ConfiguratorFactory
 import org.codice.ddf.internal.admin.configurator.actions.FeatureActions
 import org.codice.ddf.internal.admin.configurator.actions.ServiceActions
@@ -31,7 +32,7 @@ class CswFieldProviderSpec extends Specification {
         configuratorSuite.getServiceActions() >> Mock(ServiceActions)
         configuratorSuite.getServiceReader() >> Mock(ServiceReader)
         configuratorSuite.getFeatureActions() >> Mock(FeatureActions)
-        cswFieldProvider = new CswFieldProvider(configuratorSuite)
+        cswFieldProvider = new CswFieldProvider(configuratorSuite, Mock(ProbeScheduler))
     }
 
     def 'Verify discovery fields immutability'() {
@@ -15,6 +15,7 @@ package org.codice.ddf.admin.sources.csw.discover
 
 import org.codice.ddf.admin.api.ConfiguratorSuite
 import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.common.concurrent.ProbeSchedulerImpl
 import org.codice.ddf.admin.common.fields.common.HostField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import org.codice.ddf.admin.sources.csw.CswSourceUtils
@@ -24,6 +25,9 @@ import spock.lang.Shared
 
 class DiscoverCswSourceSpec extends SourceCommonsSpec {
 
+    @Shared
+    ProbeSchedulerImpl probeScheduler = new ProbeSchedulerImpl()
+
     static final List<Object> FUNCTION_PATH = [DiscoverCswSource.FIELD_NAME]
 
     static TEST_CSW_URL = 'https://testHostName:12345/services/csw'
@@ -59,7 +63,11 @@ class DiscoverCswSourceSpec extends SourceCommonsSpec {
     DiscoverCswSource discoverCsw
 
     def setup() {
-        discoverCsw = new DiscoverCswSource(Mock(ConfiguratorSuite))
+        discoverCsw = new DiscoverCswSource(Mock(ConfiguratorSuite), probeScheduler)
+    }
+
+    def cleanupSpec() {
+        probeScheduler.close()
     }
 
     def 'Successfully discover DDF federation profile with URL'() {
@@ -256,10 +264,10 @@ class DiscoverCswSourceSpec extends SourceCommonsSpec {
 
     def 'Returns all the possible error codes correctly'(){
         setup:
-        DiscoverCswSource cannotConnectCsw = new DiscoverCswSource(Mock(ConfiguratorSuite))
+        DiscoverCswSource cannotConnectCsw = new DiscoverCswSource(Mock(ConfiguratorSuite), probeScheduler)
         cannotConnectCsw.setCswSourceUtils(prepareCswSourceUtils(200, badResponseBody, false))
 
-        DiscoverCswSource unknownEndpointCsw = new DiscoverCswSource(Mock(ConfiguratorSuite))
+        DiscoverCswSource unknownEndpointCsw = new DiscoverCswSource(Mock(ConfiguratorSuite), probeScheduler)
         unknownEndpointCsw.setCswSourceUtils(prepareCswSourceUtils(200, noOutputSchemaCswResponse, true))
 
         when:
@@ -275,7 +283,7 @@ class DiscoverCswSourceSpec extends SourceCommonsSpec {
 
     def prepareCswSourceUtils(int statusCode, String responseBody, boolean endpointIsReachable) {
         def requestUtils = new TestRequestUtils(createMockWebClientBuilder(statusCode, responseBody), endpointIsReachable)
-        def cswUtils = new CswSourceUtils(Mock(ConfiguratorSuite))
+        def cswUtils = new CswSourceUtils(Mock(ConfiguratorSuite), probeScheduler)
         cswUtils.setRequestUtils(requestUtils)
         return cswUtils
     }
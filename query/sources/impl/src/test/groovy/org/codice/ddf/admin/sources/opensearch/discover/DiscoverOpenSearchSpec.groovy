@@ -15,6 +15,7 @@ package org.codice.ddf.admin.sources.opensearch.discover
 
 import org.codice.ddf.admin.api.ConfiguratorSuite
 import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.common.concurrent.ProbeSchedulerImpl
 import org.codice.ddf.admin.common.fields.common.HostField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import org.codice.ddf.admin.sources.opensearch.OpenSearchSourceUtils
@@ -23,6 +24,9 @@ import spock.lang.Shared
 
 class DiscoverOpenSearchSpec extends SourceCommonsSpec {
 
+    @Shared
+    ProbeSchedulerImpl probeScheduler = new ProbeSchedulerImpl()
+
     static final List<Object> FUNCTION_PATH = [DiscoverOpenSearchSource.FIELD_NAME]
 
     @Shared
@@ -44,7 +48,11 @@ class DiscoverOpenSearchSpec extends SourceCommonsSpec {
     static URL_FIELD_PATH = [ADDRESS_FIELD_PATH, URL_NAME].flatten()
 
     def setup() {
-        discoverOpenSearch = new DiscoverOpenSearchSource(Mock(ConfiguratorSuite))
+        discoverOpenSearch = new DiscoverOpenSearchSource(Mock(ConfiguratorSuite), probeScheduler)
+    }
+
+    def cleanupSpec() {
+        probeScheduler.close()
     }
 
     def 'Successfully discover OpenSearch configuration using URL'() {
@@ -127,10 +135,10 @@ class DiscoverOpenSearchSpec extends SourceCommonsSpec {
 
     def 'Returns all the possible error codes correctly'(){
         setup:
-        DiscoverOpenSearchSource cannotConnectOpenSearch = new DiscoverOpenSearchSource(Mock(ConfiguratorSuite))
+        DiscoverOpenSearchSource cannotConnectOpenSearch = new DiscoverOpenSearchSource(Mock(ConfiguratorSuite), probeScheduler)
         cannotConnectOpenSearch.setOpenSearchSourceUtils(prepareOpenSearchSourceUtils(200, osResponseBody, false))
 
-        DiscoverOpenSearchSource unknownEndpointOpenSearch = new DiscoverOpenSearchSource(Mock(ConfiguratorSuite))
+        DiscoverOpenSearchSource unknownEndpointOpenSearch = new DiscoverOpenSearchSource(Mock(ConfiguratorSuite), probeScheduler)
         unknownEndpointOpenSearch.setOpenSearchSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody, true))
 
         when:
@@ -146,7 +154,7 @@ class DiscoverOpenSearchSpec extends SourceCommonsSpec {
 
     def prepareOpenSearchSourceUtils(int statusCode, String responseBody, boolean endpointIsReachable) {
         def requestUtils = new TestRequestUtils(createMockWebClientBuilder(statusCode, responseBody), endpointIsReachable)
-        def openSearchUtils = new OpenSearchSourceUtils(Mock(ConfiguratorSuite))
+        def openSearchUtils = new OpenSearchSourceUtils(Mock(ConfiguratorSuite), probeScheduler)
         openSearchUtils.setRequestUtils(requestUtils)
         return openSearchUtils
     }
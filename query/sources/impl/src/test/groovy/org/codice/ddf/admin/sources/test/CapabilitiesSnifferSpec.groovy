@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.sources.test
+
+import org.codice.ddf.admin.sources.utils.CapabilitiesSniffer
+import spock.lang.Specification
+
+import javax.xml.stream.XMLStreamException
+import java.nio.charset.StandardCharsets
+
+class CapabilitiesSnifferSpec extends Specification {
+
+    static final METACARD = 'urn:catalog:metacard'
+
+    static final GMD = 'http://www.isotc211.org/2005/gmd'
+
+    static final CSW = 'http://www.opengis.net/cat/csw/2.0.2'
+
+    def 'Reads the GetRecords output schemas of prefixed and default namespace documents'() {
+        when:
+        def outputSchemas = CapabilitiesSniffer.cswGetRecordsOutputSchemas(stream(capabilities), METACARD)
+
+        then:
+        outputSchemas == [CSW, GMD]
+
+        where:
+        capabilities << [
+                """<csw:Capabilities xmlns:csw="${CSW}" xmlns:ows="${CapabilitiesSniffer.OWS_NAMESPACE}">
+                  <ows:OperationsMetadata>
+                    <ows:Operation name="GetCapabilities">
+                      <ows:Parameter name="OutputSchema"><ows:Value>ignored</ows:Value></ows:Parameter>
+                    </ows:Operation>
+                    <ows:Operation name="GetRecords">
+                      <ows:Parameter name="typeNames"><ows:Value>csw:Record</ows:Value></ows:Parameter>
+                      <ows:Parameter name="OutputSchema">
+                        <ows:Value>${CSW}</ows:Value>
+                        <ows:Value> </ows:Value>
+                        <ows:Value>${GMD}</ows:Value>
+                      </ows:Parameter>
+                    </ows:Operation>
+                  </ows:OperationsMetadata>
+                </csw:Capabilities>""",
+                """<Capabilities xmlns="${CapabilitiesSniffer.OWS_NAMESPACE}">
+                  <OperationsMetadata>
+                    <Operation name="GetRecords">
+                      <Parameter name="outputSchema"><Value>${CSW}</Value><Value>${GMD}</Value></Parameter>
+                    </Operation>
+                  </OperationsMetadata>
+                </Capabilities>"""
+        ]
+    }
+
+    def 'Accepts both spellings of the output schema parameter name'() {
+        when:
+        def outputSchemas = CapabilitiesSniffer.cswGetRecordsOutputSchemas(
+                stream(getRecordsCapabilities("<ows:Parameter name=\"${parameterName}\"><ows:Value>${GMD}</ows:Value></ows:Parameter>")),
+                METACARD)
+
+        then:
+        outputSchemas == [GMD]
+
+        where:
+        parameterName << ['OutputSchema', 'outputSchema']
+    }
+
+    def 'Ignores output schemas of elements without the OWS namespace'() {
+        when:
+        def outputSchemas = CapabilitiesSniffer.cswGetRecordsOutputSchemas(stream("""
+                <Capabilities>
+                  <OperationsMetadata>
+                    <Operation name="GetRecords">
+                      <Parameter name="OutputSchema"><Value>${GMD}</Value></Parameter>
+                    </Operation>
+                  </OperationsMetadata>
+                </Capabilities>"""), METACARD)
+
+        then:
+        outputSchemas.isEmpty()
+    }
+
+    def 'Stops reading once the metacard output schema is found'() {
+        setup:
+        def capabilities = stream(getRecordsCapabilities("""
+                <ows:Parameter name="OutputSchema">
+                  <ows:Value>${CSW}</ows:Value>
+                  <ows:Value>${METACARD}</ows:Value>
+                  <ows:Value>${GMD}</ows:Value>
+                </ows:Parameter>""", '<not well formed'))
+
+        when:
+        def outputSchemas = CapabilitiesSniffer.cswGetRecordsOutputSchemas(capabilities, METACARD)
+
+        then:
+        outputSchemas == [CSW, METACARD]
+    }
+
+    def 'Stops reading at the end of the operations metadata'() {
+        when:
+        def outputSchemas = CapabilitiesSniffer.cswGetRecordsOutputSchemas(
+                stream(getRecordsCapabilities("<ows:Parameter name=\"OutputSchema\"><ows:Value>${GMD}</ows:Value></ows:Parameter>",
+                        '<not well formed')),
+                METACARD)
+
+        then:
+        outputSchemas == [GMD]
+    }
+
+    def 'Reads the version of WFS 2.0 capabilities'() {
+        expect:
+        CapabilitiesSniffer.wfsVersion(stream(
+                """<wfs:WFS_Capabilities xmlns:wfs="${CapabilitiesSniffer.WFS_2_0_NAMESPACE}" version="2.0.0"><not well formed""")) == '2.0.0'
+    }
+
+    def 'Does not read the version of capabilities that are not WFS 2.0'() {
+        expect:
+        CapabilitiesSniffer.wfsVersion(stream(capabilities)) == null
+
+        where:
+        capabilities << [
+                '<wfs:WFS_Capabilities xmlns:wfs="http://www.opengis.net/wfs" version="1.0.0"/>',
+                '<WFS_Capabilities version="2.0.0"/>',
+                """<wfs:Capabilities xmlns:wfs="${CapabilitiesSniffer.WFS_2_0_NAMESPACE}" version="2.0.0"/>"""
+        ]
+    }
+
+    def 'Finds the OpenSearch total results element'() {
+        expect:
+        CapabilitiesSniffer.hasOpenSearchTotalResults(stream(response)) == found
+
+        where:
+        response                                                                                                    | found
+        """<feed xmlns:os="${CapabilitiesSniffer.OPENSEARCH_NAMESPACE}"><os:totalResults>1</os:totalResults><not well formed""" | true
+        """<feed xmlns="${CapabilitiesSniffer.OPENSEARCH_NAMESPACE}"><totalResults>1</totalResults></feed>"""         | true
+        '<feed><totalResults>1</totalResults></feed>'                                                                | false
+    }
+
+    def 'Rejects documents that use entities declared in a DTD'() {
+        setup:
+        def secret = File.createTempFile('capabilities', '.txt')
+        secret.text = GMD
+        secret.deleteOnExit()
+
+        when:
+        def outputSchemas = CapabilitiesSniffer.cswGetRecordsOutputSchemas(stream("""<?xml version="1.0"?>
+                <!DOCTYPE Capabilities [
+                  <!ENTITY internal "${GMD}">
+                  <!ENTITY external SYSTEM "${secret.toURI()}">
+                ]>
+                <Capabilities xmlns:ows="${CapabilitiesSniffer.OWS_NAMESPACE}">
+                  <ows:OperationsMetadata>
+                    <ows:Operation name="GetRecords">
+                      <ows:Parameter name="OutputSchema"><ows:Value>&${entity};</ows:Value></ows:Parameter>
+                    </ows:Operation>
+                  </ows:OperationsMetadata>
+                </Capabilities>"""), METACARD)
+
+        then:
+        thrown(XMLStreamException)
+        outputSchemas == null
+
+        where:
+        entity << ['internal', 'external']
+    }
+
+    def getRecordsCapabilities(String parameters, String trailer = '') {
+        return """<csw:Capabilities xmlns:csw="${CSW}" xmlns:ows="${CapabilitiesSniffer.OWS_NAMESPACE}">
+                  <ows:OperationsMetadata>
+                    <ows:Operation name="GetRecords">${parameters}</ows:Operation>
+                  </ows:OperationsMetadata>
+                  ${trailer}
+                </csw:Capabilities>"""
+    }
+
+    def stream(String xml) {
+        return new ByteArrayInputStream(xml.trim().getBytes(StandardCharsets.UTF_8))
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.sources.test
+
+import org.apache.cxf.jaxrs.client.WebClient
+import org.codice.ddf.admin.common.fields.common.UrlField
+import org.codice.ddf.admin.common.report.message.DefaultMessages
+import org.codice.ddf.admin.common.report.Reports
+import org.codice.ddf.admin.sources.utils.RequestUtils
+import org.codice.ddf.admin.sources.utils.ResponseReader
+import org.codice.ddf.admin.sources.utils.UnreachableOrigins
+import spock.lang.Specification
+
+import javax.ws.rs.ProcessingException
+import javax.ws.rs.core.Response
+import java.net.ConnectException
+import java.net.NoRouteToHostException
+import java.net.SocketTimeoutException
+import java.net.UnknownHostException
+import java.util.concurrent.TimeUnit
+
+class RequestUtilsSpec extends Specification {
+
+    RequestUtils requestUtils = new RequestUtils()
+
+    long now = 0
+
+    UnreachableOrigins unreachableOrigins = new UnreachableOrigins(10, TimeUnit.SECONDS, 2, { now })
+
+    def 'Requests to an origin that failed to connect fail fast without being sent'() {
+        setup:
+        def failingClient = Mock(WebClient)
+        def nextClient = Mock(WebClient)
+        def otherOriginClient = Mock(WebClient)
+
+        when:
+        def failedReport = requestUtils.sendGetRequest(failingClient, url("https://${host}:8993/services/csw"))
+        def failFastReport = requestUtils.sendGetRequest(nextClient, url("https://${host}:8993/services/wfs"))
+        requestUtils.sendGetRequest(otherOriginClient, url("https://${host}:8994/services/csw"))
+
+        then:
+        1 * failingClient.get() >> { throw new ProcessingException(cause) }
+        0 * nextClient.get()
+        1 * otherOriginClient.get() >> { throw new ProcessingException(cause) }
+        failedReport.getErrorMessages()*.getCode() == [DefaultMessages.CANNOT_CONNECT]
+        failFastReport.getErrorMessages()*.getCode() == [DefaultMessages.CANNOT_CONNECT]
+
+        where:
+        host                  | cause
+        'refused.example'     | new ConnectException()
+        'unknown.example'     | new UnknownHostException()
+        'no-route.example'    | new NoRouteToHostException()
+    }
+
+    def 'Read timeouts are not remembered as connect failures'() {
+        setup:
+        def firstClient = Mock(WebClient)
+        def secondClient = Mock(WebClient)
+
+        when:
+        requestUtils.sendGetRequest(firstClient, url('https://timeout.example:8993/services/csw'))
+        def report = requestUtils.sendGetRequest(secondClient, url('https://timeout.example:8993/services/csw'))
+
+        then:
+        1 * firstClient.get() >> { throw new ProcessingException(new SocketTimeoutException()) }
+        1 * secondClient.get() >> { throw new ProcessingException(new SocketTimeoutException()) }
+        report.getErrorMessages()*.getCode() == [DefaultMessages.CANNOT_CONNECT]
+    }
+
+    def 'HTTP errors are not remembered as connect failures'() {
+        setup:
+        def response = Mock(Response)
+        response.getStatus() >> 500
+        response.readEntity(String.class) >> ''
+        def firstClient = Mock(WebClient)
+        def secondClient = Mock(WebClient)
+
+        when:
+        requestUtils.sendGetRequest(firstClient, url('https://error.example:8993/services/csw'))
+        def report = requestUtils.sendGetRequest(secondClient, url('https://error.example:8993/services/csw'))
+
+        then:
+        1 * firstClient.get() >> response
+        1 * secondClient.get() >> response
+        report.getResult().statusCode() == 500
+    }
+
+    def 'Small remainders of partly read responses are drained before the response is closed'() {
+        setup:
+        def body = new ByteArrayInputStream(new byte[bodySize])
+        def response = Mock(Response)
+        response.getStatus() >> 200
+        response.readEntity(InputStream.class) >> body
+        def webClient = Mock(WebClient)
+        webClient.get() >> response
+
+        when:
+        def report = requestUtils.sendGetRequest(webClient, url('https://drain.example:8993/services/csw'),
+                { status, stream -> Reports.from(stream.read()) } as ResponseReader)
+
+        then:
+        report.getResult() == 0
+        body.available() == remaining
+        1 * response.close()
+
+        where:
+        bodySize                                | remaining
+        1                                       | 0
+        RequestUtils.MAX_DRAINED_BYTES + 1      | 0
+        RequestUtils.MAX_DRAINED_BYTES + 1025   | 1024
+    }
+
+    def 'Unreachable origins expire after their TTL'() {
+        when:
+        unreachableOrigins.markUnreachable('https://host:8993')
+        now += TimeUnit.SECONDS.toNanos(9)
+
+        then:
+        unreachableOrigins.isUnreachable('https://host:8993')
+        !unreachableOrigins.isUnreachable('https://host:8994')
+
+        when:
+        now += TimeUnit.SECONDS.toNanos(1)
+
+        then:
+        !unreachableOrigins.isUnreachable('https://host:8993')
+        unreachableOrigins.size() == 0
+    }
+
+    def 'Failures are not remembered while the unreachable origins are full'() {
+        when:
+        unreachableOrigins.markUnreachable('https://host1:8993')
+        unreachableOrigins.markUnreachable('https://host2:8993')
+        unreachableOrigins.markUnreachable('https://host3:8993')
+
+        then:
+        unreachableOrigins.size() == 2
+        !unreachableOrigins.isUnreachable('https://host3:8993')
+
+        when: 'the remembered failures expired'
+        now += TimeUnit.SECONDS.toNanos(10)
+        unreachableOrigins.markUnreachable('https://host3:8993')
+
+        then:
+        unreachableOrigins.size() == 1
+        unreachableOrigins.isUnreachable('https://host3:8993')
+    }
+
+    def url(String url) {
+        return new UrlField().url(url)
+    }
+}
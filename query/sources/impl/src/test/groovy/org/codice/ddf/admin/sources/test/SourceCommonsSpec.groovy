@@ -36,6 +36,7 @@ import spock.lang.Specification
 
 import javax.ws.rs.core.MediaType
 import javax.ws.rs.core.Response
+import java.nio.charset.StandardCharsets
 
 class SourceCommonsSpec extends Specification {
 
@@ -176,6 +177,7 @@ class SourceCommonsSpec extends Specification {
         def mockResponse = Mock(Response)
         mockResponse.getStatus() >> statusCode
         mockResponse.readEntity(String.class) >> responseBody
+        mockResponse.readEntity(InputStream.class) >> { new ByteArrayInputStream(responseBody.getBytes(StandardCharsets.UTF_8)) }
         mockResponse.getMediaType() >> mediaType
 
         def mockWebClient = Mock(WebClient)
@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.sources.test
+
+import org.apache.cxf.jaxrs.client.WebClient
+import org.codice.ddf.admin.sources.utils.WebClientPool
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class WebClientPoolSpec extends Specification {
+
+    List<String> createdTemplates = []
+
+    WebClientPool.TemplateFactory templateFactory = { url, username, password, serviceClass ->
+        createdTemplates << url
+        WebClient.create(url).header('Template', url)
+    }
+
+    WebClientPool pool = new WebClientPool(128, 5, TimeUnit.MINUTES, templateFactory)
+
+    def 'Requests to the same origin share a template'() {
+        when:
+        def firstClient = pool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+        def secondClient = pool.getWebClient('https://host.example:8993/services/wfs?service=WFS', null, null, WebClient)
+
+        then:
+        createdTemplates == ['https://host.example:8993']
+        pool.size() == 1
+        firstClient.getCurrentURI().toString() == 'https://host.example:8993/services/csw'
+        secondClient.getCurrentURI().toString() == 'https://host.example:8993/services/wfs?service=WFS'
+    }
+
+    def 'Default ports are part of the origin'() {
+        when:
+        def client = pool.getWebClient('https://host.example/services/csw', null, null, WebClient)
+        pool.getWebClient('https://host.example:443/services/wfs', null, null, WebClient)
+
+        then:
+        createdTemplates == ['https://host.example:443']
+        client.getCurrentURI().toString() == 'https://host.example:443/services/csw'
+    }
+
+    def 'Requests to different origins or service classes do not share templates'() {
+        when:
+        pool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+        pool.getWebClient(url, null, null, serviceClass)
+
+        then:
+        createdTemplates == ['https://host.example:8993', origin]
+        pool.size() == 2
+
+        where:
+        url                                        | serviceClass | origin
+        'http://host.example:8993/services/csw'    | WebClient    | 'http://host.example:8993'
+        'https://other.example:8993/services/csw'  | WebClient    | 'https://other.example:8993'
+        'https://host.example:8994/services/csw'   | WebClient    | 'https://host.example:8994'
+        'https://host.example:8993/services/csw'   | Object       | 'https://host.example:8993'
+    }
+
+    def 'Templates are separated by credentials'() {
+        when:
+        pool.getWebClient('https://host.example:8993/services/csw', 'admin', 'admin', WebClient)
+        pool.getWebClient('https://host.example:8993/services/wfs', 'admin', 'admin', WebClient)
+        pool.getWebClient('https://host.example:8993/services/csw', 'admin', 'other', WebClient)
+        pool.getWebClient('https://host.example:8993/services/csw', 'other', 'admin', WebClient)
+        pool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+
+        then:
+        pool.size() == 4
+        createdTemplates.size() == 4
+    }
+
+    def 'Incomplete credentials share the template without credentials'() {
+        when:
+        pool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+        pool.getWebClient('https://host.example:8993/services/csw', 'admin', null, WebClient)
+        pool.getWebClient('https://host.example:8993/services/csw', '', 'admin', WebClient)
+
+        then:
+        pool.size() == 1
+    }
+
+    def 'Requests are sent with copies that do not share request state'() {
+        setup:
+        def firstClient = pool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+
+        when:
+        firstClient.query('request', 'GetCapabilities').header('Accept', 'text/xml')
+        def secondClient = pool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+
+        then:
+        !firstClient.is(secondClient)
+        firstClient.getCurrentURI().toString() == 'https://host.example:8993/services/csw?request=GetCapabilities'
+        secondClient.getCurrentURI().toString() == 'https://host.example:8993/services/csw'
+        secondClient.getHeaders().getFirst('Accept') == null
+        secondClient.getHeaders().getFirst('Template') == 'https://host.example:8993'
+    }
+
+    def 'Least recently used templates are evicted when the pool is full'() {
+        setup:
+        def smallPool = new WebClientPool(1, 5, TimeUnit.MINUTES, templateFactory)
+
+        when:
+        smallPool.getWebClient('https://first.example:8993/services/csw', null, null, WebClient)
+        smallPool.getWebClient('https://second.example:8993/services/csw', null, null, WebClient)
+        smallPool.getWebClient('https://first.example:8993/services/csw', null, null, WebClient)
+
+        then:
+        smallPool.size() == 1
+        createdTemplates == ['https://first.example:8993', 'https://second.example:8993', 'https://first.example:8993']
+    }
+
+    def 'Idle templates are evicted'() {
+        setup:
+        def idlePool = new WebClientPool(128, 1, TimeUnit.NANOSECONDS, templateFactory)
+
+        when:
+        idlePool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+        Thread.sleep(5)
+        idlePool.getWebClient('https://host.example:8993/services/csw', null, null, WebClient)
+
+        then:
+        createdTemplates.size() == 2
+    }
+
+    def 'URLs without an origin are not pooled'() {
+        when:
+        pool.getWebClient(url, null, null, WebClient)
+
+        then:
+        createdTemplates == [url]
+        pool.size() == 0
+
+        where:
+        url << ['services/csw', 'file:/services/csw']
+    }
+}
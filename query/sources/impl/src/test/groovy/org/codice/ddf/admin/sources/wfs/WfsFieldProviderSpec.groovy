@@ -15,6 +15,7 @@ package org.codice.ddf.admin.sources.wfs
 
 import org.codice.ddf.admin.api.ConfiguratorSuite
 import org.codice.ddf.admin.api.FieldProvider
+import org.codice.ddf.admin.api.ProbeScheduler
 import org.codice.ddf.admin.configurator.ConfiguratorFactory
 import org.codice.ddf.internal.admin.configurator.actions.FeatureActions
 import org.codice.ddf.internal.admin.configurator.actions.ManagedServiceActions
@@ -34,7 +35,7 @@ class WfsFieldProviderSpec extends Specification {
         configuratorSuite.serviceReader >> Mock(ServiceReader)
         configuratorSuite.featureActions >> Mock(FeatureActions)
 
-        wfsFieldProvider = new WfsFieldProvider(configuratorSuite)
+        wfsFieldProvider = new WfsFieldProvider(configuratorSuite, Mock(ProbeScheduler))
     }
 
     def 'Verify discovery fields immutability'() {
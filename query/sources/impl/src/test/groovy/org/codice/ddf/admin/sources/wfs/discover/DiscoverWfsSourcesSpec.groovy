@@ -15,6 +15,7 @@ package org.codice.ddf.admin.sources.wfs.discover
 
 import org.codice.ddf.admin.api.ConfiguratorSuite
 import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.common.concurrent.ProbeSchedulerImpl
 import org.codice.ddf.admin.common.fields.common.HostField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import org.codice.ddf.admin.sources.fields.WfsVersion
@@ -24,6 +25,9 @@ import spock.lang.Shared
 
 class DiscoverWfsSourcesSpec extends SourceCommonsSpec {
 
+    @Shared
+    ProbeSchedulerImpl probeScheduler = new ProbeSchedulerImpl()
+
     static final List<Object> FUNCTION_PATH = [DiscoverWfsSource.FIELD_NAME]
 
     @Shared
@@ -51,7 +55,11 @@ class DiscoverWfsSourcesSpec extends SourceCommonsSpec {
     static URL_FIELD_PATH = [ADDRESS_FIELD_PATH, URL_NAME].flatten()
 
     def setup() {
-        discoverWfs = new DiscoverWfsSource(Mock(ConfiguratorSuite))
+        discoverWfs = new DiscoverWfsSource(Mock(ConfiguratorSuite), probeScheduler)
+    }
+
+    def cleanupSpec() {
+        probeScheduler.close()
     }
 
     def 'Successfully discover WFS 1.0.0 configuration using URL'() {
@@ -177,10 +185,10 @@ class DiscoverWfsSourcesSpec extends SourceCommonsSpec {
 
     def 'Returns all the possible error codes correctly'(){
         setup:
-        DiscoverWfsSource cannotConnectWfs = new DiscoverWfsSource(Mock(ConfiguratorSuite))
+        DiscoverWfsSource cannotConnectWfs = new DiscoverWfsSource(Mock(ConfiguratorSuite), probeScheduler)
         cannotConnectWfs.setWfsSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody, false))
 
-        DiscoverWfsSource unknownEndpointWfs = new DiscoverWfsSource(Mock(ConfiguratorSuite))
+        DiscoverWfsSource unknownEndpointWfs = new DiscoverWfsSource(Mock(ConfiguratorSuite), probeScheduler)
         unknownEndpointWfs.setWfsSourceUtils(prepareOpenSearchSourceUtils(200, badResponseBody, true))
 
         when:
@@ -196,7 +204,7 @@ class DiscoverWfsSourcesSpec extends SourceCommonsSpec {
 
     def prepareOpenSearchSourceUtils(int statusCode, String responseBody, boolean endpointIsReachable) {
         def requestUtils = new TestRequestUtils(createMockWebClientBuilder(statusCode, responseBody), endpointIsReachable)
-        def wfsUtils = new WfsSourceUtils(Mock(ConfiguratorSuite))
+        def wfsUtils = new WfsSourceUtils(Mock(ConfiguratorSuite), probeScheduler)
         wfsUtils.setRequestUtils(requestUtils)
         return wfsUtils
     }